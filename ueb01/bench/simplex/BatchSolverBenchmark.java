@@ -0,0 +1,88 @@
+package simplex;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Misst den Durchsatz beim Lösen vieler kleiner LOPs mit {@link SimplexBatchSolver} abhängig von
+ * der Anzahl der Threads des Pools im Vergleich zum Lösen nacheinander im aufrufenden Thread.
+ *
+ * @author Cedric Heinrich, Clemens Heinrich
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class BatchSolverBenchmark {
+
+    /** Anzahl der Wiederholungen der Beispiel-LOPs je Stapel */
+    private static final int REPETITIONS = 200;
+
+    /** Anzahl der Threads des Pools */
+    @Param({ "1", "2", "4", "8" })
+    private int threads;
+
+    /** die zu lösenden LOPs */
+    private List<LinearProgram> programs;
+
+    /** Pool der Threads */
+    private ForkJoinPool pool;
+
+    /** Löser mit dem Pool */
+    private SimplexBatchSolver batchSolver;
+
+    /**
+     * Erzeugt die LOPs und den Pool.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        this.programs = new ArrayList<>();
+        for (int k = 0; k < REPETITIONS; k++) {
+            Collections.addAll(this.programs, BenchmarkValues.simplexTestPrograms());
+        }
+        this.pool = new ForkJoinPool(this.threads);
+        this.batchSolver = new SimplexBatchSolver(this.pool, new SimplexOptions());
+    }
+
+    /**
+     * Beendet den Pool.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.pool.shutdown();
+    }
+
+    /**
+     * @return die Ergebnisse des Stapels
+     */
+    @Benchmark
+    public List<SimplexBatchSolver.Result> batch() {
+        return this.batchSolver.solve(this.programs);
+    }
+
+    /**
+     * @return die Lösungen, nacheinander im aufrufenden Thread berechnet
+     */
+    @Benchmark
+    public List<Fraction[]> sequential() {
+        List<Fraction[]> solutions = new ArrayList<>(this.programs.size());
+        for (LinearProgram lp : this.programs) {
+            solutions.add(new SimplexSolver(lp).getSolution());
+        }
+        return solutions;
+    }
+
+}
@@ -0,0 +1,193 @@
+package simplex;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import simplex.LinearProgram.Restriction;
+import simplex.LinearProgram.Restriction.Type;
+import simplex.LinearProgram.SolveType;
+import simplex.SimplexSolver.SimplexState;
+
+/**
+ * Erzeugt Werte für die Benchmarks.
+ * 
+ * @author Cedric Heinrich, Clemens Heinrich
+ */
+final class BenchmarkValues {
+
+    /** Kleine Primzahlen, aus denen Nenner zusammengesetzt werden */
+    private static final long[] PRIMES = { 2, 3, 5, 7, 11, 13 };
+
+    /** größter Betrag der erzeugten Koeffizienten */
+    private static final int MAX_COEFFICIENT = 20;
+
+    /** kleinste rechte Seite der erzeugten &le;-Restriktionen */
+    private static final int MIN_RIGHT_SIDE = 100;
+
+    /** größte rechte Seite der erzeugten &le;-Restriktionen */
+    private static final int MAX_RIGHT_SIDE = 1000;
+
+    /** Anzahl zufällig belegter Koeffizienten je Restriktion dünnbesetzter LOPs */
+    private static final int SPARSE_ROW_ENTRIES = 3;
+
+    private BenchmarkValues() {
+        // hide constructor
+    }
+
+    /**
+     * Erzeugt Brüche, die wie die Zellen eines Tableaus nach einigen Pivotschritten verteilt sind:
+     * etwa die Hälfte ist 0 oder &plusmn;1, ein Viertel sind kleine ganze Zahlen und der Rest
+     * Brüche mit aus kleinen Primzahlen zusammengesetzten Nennern.
+     * 
+     * @param random Zufallsgenerator
+     * @param count Anzahl der Brüche
+     * @return die erzeugten Brüche
+     */
+    static Fraction[] tableauLikeFractions(Random random, int count) {
+        Fraction[] fractions = new Fraction[count];
+        for (int i = 0; i < count; i++) {
+            int kind = random.nextInt(8);
+            if (kind < 2) {
+                fractions[i] = Fraction.ZERO;
+            } else if (kind < 4) {
+                fractions[i] = random.nextBoolean() ? Fraction.ONE : Fraction.MINUS_ONE;
+            } else if (kind < 6) {
+                fractions[i] = new Fraction(random.nextInt(401) - 200);
+            } else {
+                long denominator = 1;
+                for (int k = random.nextInt(4); k >= 0; k--) {
+                    denominator *= PRIMES[random.nextInt(PRIMES.length)];
+                }
+                fractions[i] = new Fraction(random.nextInt(2001) - 1000, denominator);
+            }
+        }
+        return fractions;
+    }
+
+    /**
+     * Erzeugt ein zulässiges und beschränktes LOP mit size Restriktionen und size Variablen, das
+     * maximiert wird.
+     * 
+     * @param random Zufallsgenerator
+     * @param shape Struktur des LOP
+     * @param size Anzahl der Restriktionen und Variablen
+     * @return das erzeugte LOP
+     */
+    static LinearProgram generatedProgram(Random random, ProgramShape shape, int size) {
+        Restriction[] restrictions = new Restriction[size];
+        for (int i = 0; i < size; i++) {
+            long[] term = new long[size];
+            Type type = Type.LE;
+            long rightSide = MIN_RIGHT_SIDE + random.nextInt(MAX_RIGHT_SIDE - MIN_RIGHT_SIDE + 1);
+            switch (shape) {
+                case DENSE:
+                    for (int j = 0; j < size; j++) {
+                        term[j] = 1 + random.nextInt(MAX_COEFFICIENT);
+                    }
+                    break;
+                case SPARSE:
+                    // jede Variable kommt mindestens einmal vor, damit das LOP beschränkt ist
+                    term[i] = 1 + random.nextInt(MAX_COEFFICIENT);
+                    for (int k = 0; k < SPARSE_ROW_ENTRIES; k++) {
+                        term[random.nextInt(size)] = 1 + random.nextInt(MAX_COEFFICIENT);
+                    }
+                    break;
+                default:
+                    if (i == 0) {
+                        Arrays.fill(term, 1);
+                    } else {
+                        for (int j = 0; j < size; j++) {
+                            term[j] = random.nextInt(2 * MAX_COEFFICIENT + 1) - MAX_COEFFICIENT;
+                        }
+                        rightSide = 0;
+                    }
+                    break;
+            }
+            if (shape != ProgramShape.DEGENERATE && i % 4 == 3) {
+                type = Type.GE;
+                rightSide = 1;
+            }
+            restrictions[i] = r(term, type, rightSide);
+        }
+
+        long[] objective = new long[size];
+        for (int j = 0; j < size; j++) {
+            objective[j] = 1 + random.nextInt(MAX_COEFFICIENT);
+        }
+        return lp(SolveType.MAX, objective, restrictions);
+    }
+
+    /**
+     * Liefert die linearen Optimierungsprobleme aus SimplexTests.
+     * 
+     * @return die Beispielprobleme
+     */
+    static LinearProgram[] simplexTestPrograms() {
+        return new LinearProgram[] {
+            lp(SolveType.MIN, ints(2, 8), r(ints(4, 3), Type.LE, 320), r(ints(2, 4), Type.GE, 100),
+                    r(ints(3, 3), Type.EQ, 270)),
+            lp(SolveType.MAX, ints(3, 4), r(ints(1, 1), Type.LE, 4), r(ints(2, 1), Type.LE, 5)),
+            lp(SolveType.MIN, ints(-2, 1), r(ints(1, 2), Type.LE, 6), r(ints(3, 2), Type.LE, 12)),
+            lp(SolveType.MIN, ints(2, 5), r(ints(1, 2), Type.GE, 4), r(ints(3, 2), Type.GE, 3)),
+            lp(SolveType.MAX, ints(1, 1), r(ints(1, 1), Type.LE, 3), r(ints(1, 1), Type.LE, 2),
+                    r(ints(1, -1), Type.GE, 1)),
+            new LinearProgram(new Restriction[] { r(ints(1, 1), Type.LE, 6),
+                r(ints(3, 1), Type.LE, 15), r(ints(1, 3), Type.LE, 15) }, SolveType.MAX,
+                    new Fraction(1, 2), new Fraction(3, 2)), };
+    }
+
+    /**
+     * Sammelt die Werte aller Zellen, die beim schrittweisen Lösen der Beispielprobleme aus
+     * SimplexTests in den Tableaus auftreten.
+     * 
+     * @return die Werte der Tableauzellen
+     */
+    static Fraction[] simplexTestCells() {
+        List<Fraction> cells = new ArrayList<>();
+        for (LinearProgram lp : simplexTestPrograms()) {
+            SimplexSolver solver = new SimplexSolver(lp);
+            addCells(cells, solver);
+            while (solver.getState() != SimplexState.OPTIMAL
+                    && solver.getState() != SimplexState.UNSOLVABLE) {
+                solver.step();
+                addCells(cells, solver);
+            }
+        }
+        return cells.toArray(new Fraction[cells.size()]);
+    }
+
+    /** Fügt alle Zellen des aktuellen Tableaus zur Liste hinzu */
+    private static void addCells(List<Fraction> cells, SimplexSolver solver) {
+        for (Fraction[] row : solver.getTable()) {
+            cells.addAll(Arrays.asList(row));
+        }
+    }
+
+    /** Erstellt ein LOP mit ganzzahligen Koeffizienten */
+    private static LinearProgram lp(SolveType solveType, long[] objective,
+            Restriction... restrictions) {
+        return new LinearProgram(restrictions, solveType, fractions(objective));
+    }
+
+    /** Erstellt eine Restriktion mit ganzzahligen Koeffizienten */
+    private static Restriction r(long[] term, Type type, long rightSide) {
+        return new Restriction(fractions(term), type, new Fraction(rightSide));
+    }
+
+    /** Hilfsmethode zum Erstellen eines long-Arrays */
+    private static long[] ints(long... ints) {
+        return ints;
+    }
+
+    /** Wandelt ganze Zahlen in Brüche um */
+    private static Fraction[] fractions(long[] values) {
+        Fraction[] fractions = new Fraction[values.length];
+        for (int i = 0; i < values.length; i++) {
+            fractions[i] = new Fraction(values[i]);
+        }
+        return fractions;
+    }
+
+}
@@ -0,0 +1,112 @@
+package simplex;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Vergleicht Multiplikation und Addition von {@link Fraction} (Kürzen über Kreuz bzw. über das
+ * kleinste gemeinsame Vielfache) mit der bisherigen Implementierung, die erst das volle Produkt
+ * bildet und anschließend im Konstruktor kürzt.
+ * 
+ * @author Cedric Heinrich, Clemens Heinrich
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class FractionArithmeticBenchmark {
+
+    /** Anzahl der Operandenpaare */
+    private static final int SIZE = 1024;
+
+    /** erste Operanden */
+    private Fraction[] left;
+
+    /** zweite Operanden */
+    private Fraction[] right;
+
+    /**
+     * Erzeugt Operanden, die wie Tableauzellen nach einigen Pivotschritten verteilt sind.
+     */
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        this.left = BenchmarkValues.tableauLikeFractions(random, SIZE);
+        this.right = BenchmarkValues.tableauLikeFractions(random, SIZE);
+    }
+
+    /**
+     * @param bh Senke für die Ergebnisse
+     */
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void multiplyCrossReduced(Blackhole bh) {
+        for (int i = 0; i < SIZE; i++) {
+            bh.consume(this.left[i].multiplyBy(this.right[i]));
+        }
+    }
+
+    /**
+     * @param bh Senke für die Ergebnisse
+     */
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void multiplyReducedAfterwards(Blackhole bh) {
+        for (int i = 0; i < SIZE; i++) {
+            Fraction a = this.left[i];
+            Fraction b = this.right[i];
+            // bisherige Implementierung: a/b * c/d = a*c/b*d
+            bh.consume(new Fraction(a.getNumerator() * b.getNumerator(),
+                    a.getDenominator() * b.getDenominator()));
+        }
+    }
+
+    /**
+     * @param bh Senke für die Ergebnisse
+     */
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void addLcm(Blackhole bh) {
+        for (int i = 0; i < SIZE; i++) {
+            bh.consume(this.left[i].add(this.right[i]));
+        }
+    }
+
+    /**
+     * @param bh Senke für die Ergebnisse
+     */
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void addFullProduct(Blackhole bh) {
+        for (int i = 0; i < SIZE; i++) {
+            Fraction a = this.left[i];
+            Fraction b = this.right[i];
+            // bisherige Implementierung: a/b + c/d = a*d/b*d + c*b/d*b
+            bh.consume(new Fraction(
+                    a.getNumerator() * b.getDenominator() + b.getNumerator() * a.getDenominator(),
+                    a.getDenominator() * b.getDenominator()));
+        }
+    }
+
+    /**
+     * @param bh Senke für die Ergebnisse
+     */
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void subtractProduct(Blackhole bh) {
+        // Zellenaktualisierung aus reduceRows: a - p * f
+        for (int i = 1; i < SIZE; i++) {
+            bh.consume(this.left[i].subtract(this.right[i].multiplyBy(this.right[i - 1])));
+        }
+    }
+
+}
@@ -0,0 +1,106 @@
+package simplex;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Vergleicht den binären GCD aus {@link Fraction#gcd(long, long)} mit dem bisherigen rekursiven
+ * Euklid.
+ * 
+ * @author Cedric Heinrich, Clemens Heinrich
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class GcdBenchmark {
+
+    /** Anzahl der Operandenpaare */
+    private static final int SIZE = 1024;
+
+    /**
+     * Verteilung der Operanden: SIMPLEX_TESTS kombiniert Zähler und Nenner der Tableauzellen, die
+     * beim Lösen der Beispielprobleme aus SimplexTests auftreten, wie beim Kürzen und beim Kürzen
+     * über Kreuz. RANDOM_LARGE verwendet gleichverteilte Zahlen über den gesamten long-Bereich.
+     */
+    @Param({ "SIMPLEX_TESTS", "RANDOM_LARGE" })
+    private String distribution;
+
+    /** erste Operanden */
+    private long[] left;
+
+    /** zweite Operanden */
+    private long[] right;
+
+    /**
+     * Erzeugt die Operanden für die eingestellte Verteilung.
+     */
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        this.left = new long[SIZE];
+        this.right = new long[SIZE];
+        if ("SIMPLEX_TESTS".equals(this.distribution)) {
+            Fraction[] cells = BenchmarkValues.simplexTestCells();
+            for (int i = 0; i < SIZE; i++) {
+                Fraction a = cells[random.nextInt(cells.length)];
+                Fraction b = cells[random.nextInt(cells.length)];
+                this.left[i] = a.getNumerator();
+                this.right[i] = random.nextBoolean() ? a.getDenominator() : b.getDenominator();
+            }
+        } else {
+            for (int i = 0; i < SIZE; i++) {
+                this.left[i] = random.nextLong();
+                this.right[i] = random.nextLong() | 1;
+            }
+        }
+    }
+
+    /**
+     * @param bh Senke für die Ergebnisse
+     */
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void binary(Blackhole bh) {
+        for (int i = 0; i < SIZE; i++) {
+            bh.consume(Fraction.gcd(this.left[i], this.right[i]));
+        }
+    }
+
+    /**
+     * @param bh Senke für die Ergebnisse
+     */
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void recursiveEuclid(Blackhole bh) {
+        for (int i = 0; i < SIZE; i++) {
+            bh.consume(euclid(this.left[i], this.right[i]));
+        }
+    }
+
+    /**
+     * Bisherige Implementierung: GCD nach Euklid mit Rekursion.
+     * 
+     * @param num1 die erste Zahl
+     * @param num2 die zweite Zahl (ungleich 0)
+     * @return der größte gemeinsame Teiler (mit Vorzeichen)
+     */
+    private static long euclid(long num1, long num2) {
+        if ((num1 % num2) == 0) {
+            return num2;
+        } else {
+            return euclid(num2, num1 % num2);
+        }
+    }
+
+}
@@ -0,0 +1,147 @@
+package simplex;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import simplex.SimplexOptions.TableauStorage;
+
+/**
+ * Vergleicht die Wahl von Pivotspalte und Pivotzeile mit {@link Fraction#compareTo(Fraction)},
+ * das über Kreuz multipliziert, mit dem bisherigen Vergleich über das Vorzeichen der Differenz
+ * (subtract(other).signum()), der je Vergleich einen gekürzten Bruch anlegt.
+ *
+ * @author Cedric Heinrich, Clemens Heinrich
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PivotSelectionBenchmark {
+
+    /** Anzahl der Spalten bzw. Zeilen, unter denen gewählt wird */
+    private static final int SIZE = 1024;
+
+    /** Anzahl der Bits, um die große Zähler und Nenner verschoben werden */
+    private static final int LARGE_SHIFT = 4;
+
+    /**
+     * Verteilung der Werte: TABLEAU wie die Zellen eines Tableaus nach einigen Pivotschritten,
+     * LARGE mit Zählern und Nennern nahe dem long-Bereich, deren Kreuzprodukte 128 Bit benötigen.
+     */
+    @Param({ "TABLEAU", "LARGE" })
+    private String distribution;
+
+    /** Bewertungen der Spalten */
+    private Fraction[] scores;
+
+    /** Tableau mit der Pivotspalte in Spalte 0 und der rechten Seite in Spalte 1 */
+    private Tableau table;
+
+    /** Basisvariablen je Zeile */
+    private int[] baseVars;
+
+    /**
+     * Erzeugt Bewertungen und Tableau für die eingestellte Verteilung.
+     */
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        Fraction[] values = "TABLEAU".equals(this.distribution)
+                ? BenchmarkValues.tableauLikeFractions(random, 3 * SIZE)
+                : largeFractions(random, 3 * SIZE);
+        this.scores = new Fraction[SIZE];
+        System.arraycopy(values, 0, this.scores, 0, SIZE);
+
+        this.table = new SimplexOptions().setTableauStorage(TableauStorage.FRACTION)
+                .createTableau(SIZE + 1, 2, 2L * SIZE);
+        this.baseVars = new int[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            Fraction entry = values[SIZE + i];
+            Fraction rightSide = values[2 * SIZE + i];
+            this.table.setEntry(i, 0, entry.signum() < 0 ? entry.multiplyBy(Fraction.MINUS_ONE)
+                    : entry);
+            this.table.setEntry(i, 1, rightSide.signum() < 0
+                    ? rightSide.multiplyBy(Fraction.MINUS_ONE) : rightSide);
+            this.baseVars[i] = i + 1;
+        }
+        this.table.setEntry(SIZE, 0, Fraction.ZERO);
+        this.table.setEntry(SIZE, 1, Fraction.ZERO);
+    }
+
+    /**
+     * @return Index der Pivotspalte nach Dantzig
+     */
+    @Benchmark
+    public int selectColumn() {
+        return new DantzigRule().selectColumn(this.table, this.scores, SIZE);
+    }
+
+    /**
+     * @return Index der Pivotspalte nach Dantzig mit dem bisherigen Vergleich
+     */
+    @Benchmark
+    public int selectColumnBySubtract() {
+        int maxIndex = PivotRule.INVALID_INDEX;
+        Fraction maxValue = Fraction.ZERO;
+        for (int j = 0; j < SIZE; j++) {
+            if (this.scores[j].subtract(maxValue).signum() > 0) {
+                maxIndex = j;
+                maxValue = this.scores[j];
+            }
+        }
+        return maxIndex;
+    }
+
+    /**
+     * @return Index der Pivotzeile mit dem kleinsten Quotienten
+     */
+    @Benchmark
+    public int selectRow() {
+        return PivotRule.minRatioRow(this.table, 0, this.baseVars, false);
+    }
+
+    /**
+     * @return Index der Pivotzeile mit dem kleinsten Quotienten mit dem bisherigen Vergleich
+     */
+    @Benchmark
+    public int selectRowBySubtract() {
+        int minIndex = PivotRule.INVALID_INDEX;
+        Fraction minValue = null;
+        for (int i = 0; i < SIZE; i++) {
+            Fraction entry = this.table.getEntry(i, 0);
+            if (entry.signum() > 0) {
+                Fraction quotient = this.table.getEntry(i, 1).divideBy(entry);
+                if (minValue == null || quotient.subtract(minValue).signum() < 0) {
+                    minIndex = i;
+                    minValue = quotient;
+                }
+            }
+        }
+        return minIndex;
+    }
+
+    /**
+     * Erzeugt Brüche mit Zählern und Nennern knapp unterhalb von 2^59.
+     *
+     * @param random Zufallsgenerator
+     * @param count Anzahl der Brüche
+     * @return die erzeugten Brüche
+     */
+    private static Fraction[] largeFractions(Random random, int count) {
+        Fraction[] fractions = new Fraction[count];
+        for (int i = 0; i < count; i++) {
+            fractions[i] = new Fraction(random.nextLong() >> LARGE_SHIFT,
+                    (random.nextLong() >>> LARGE_SHIFT) | 1);
+        }
+        return fractions;
+    }
+
+}
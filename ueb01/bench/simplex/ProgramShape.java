@@ -0,0 +1,24 @@
+package simplex;
+
+/**
+ * Struktur der von {@link BenchmarkValues#generatedProgram} erzeugten LOPs
+ *
+ * @author Cedric Heinrich, Clemens Heinrich
+ */
+public enum ProgramShape {
+
+    /**
+     * alle Koeffizienten positiv, jede vierte Restriktion eine &ge;-Restriktion mit rechter
+     * Seite 1, sodass zuerst Phase 1 ausgeführt wird
+     */
+    DENSE,
+    /** wie DENSE, aber je Restriktion nur wenige von 0 verschiedene Koeffizienten */
+    SPARSE,
+    /**
+     * Restriktionen mit gemischten Vorzeichen und rechter Seite 0, beschränkt durch eine
+     * Restriktion über die Summe aller Variablen, sodass viele Pivotschritte entartet sind
+     */
+    DEGENERATE
+
+}
+
@@ -0,0 +1,105 @@
+package simplex;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import simplex.SimplexOptions.TableauStorage;
+
+/**
+ * Misst die Reduktion aller Zeilen eines großen Tableaus in einem Simplexschritt abhängig von der
+ * Anzahl der Threads des Pools. threads = 0 reduziert ohne Pool nacheinander im aufrufenden
+ * Thread, threads = 1 zeigt den Mehraufwand der Aufteilung.
+ *
+ * @author Cedric Heinrich, Clemens Heinrich
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class RowReductionBenchmark {
+
+    /** Anzahl der Spalten des Tableaus */
+    private static final int WIDTH = 256;
+
+    /** Anzahl der Zeilen des Tableaus */
+    @Param({ "1024", "4096" })
+    private int rows;
+
+    /** Anzahl der Threads des Pools, 0 für die Reduktion ohne Pool */
+    @Param({ "0", "1", "2", "4", "8" })
+    private int threads;
+
+    /** Art der Speicherung des Tableaus */
+    @Param({ "FRACTION", "PRIMITIVE" })
+    private TableauStorage storage;
+
+    /** Werte der Zellen des Ausgangstableaus */
+    private Fraction[][] cells;
+
+    /** Pool für die parallele Reduktion oder null */
+    private ForkJoinPool pool;
+
+    /** Tableau, dessen Pivotzeile bereits normiert ist */
+    private Tableau table;
+
+    /**
+     * Erzeugt die Zellen des Tableaus und den Pool.
+     */
+    @Setup(Level.Trial)
+    public void setupTrial() {
+        Random random = new Random(42);
+        this.cells = new Fraction[this.rows][];
+        for (int i = 0; i < this.rows; i++) {
+            this.cells[i] = BenchmarkValues.tableauLikeFractions(random, WIDTH);
+        }
+        // Pivotelement darf nicht 0 sein
+        this.cells[0][0] = new Fraction(3, 2);
+        this.pool = this.threads > 0 ? new ForkJoinPool(this.threads) : null;
+    }
+
+    /**
+     * Belegt das Tableau neu und normiert die Pivotzeile.
+     */
+    @Setup(Level.Invocation)
+    public void setupInvocation() {
+        this.table = new SimplexOptions().setTableauStorage(this.storage)
+                .createTableau(this.rows, WIDTH, 0);
+        for (int i = 0; i < this.rows; i++) {
+            for (int j = 0; j < WIDTH; j++) {
+                this.table.setEntry(i, j, this.cells[i][j]);
+            }
+        }
+        this.table.scaleRow(0, 0);
+    }
+
+    /**
+     * Beendet den Pool.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (this.pool != null) {
+            this.pool.shutdown();
+        }
+    }
+
+    /**
+     * @return das reduzierte Tableau
+     */
+    @Benchmark
+    public Tableau reduceRows() {
+        RowReductionTask.reduceRows(this.table, 0, 0, this.pool, 0);
+        return this.table;
+    }
+
+}
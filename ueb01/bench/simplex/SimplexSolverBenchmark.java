@@ -0,0 +1,104 @@
+package simplex;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import simplex.SimplexOptions.TableauStorage;
+import simplex.SimplexSolver.SimplexState;
+
+/**
+ * Misst Aufbau des Ausgangstableaus, einen einzelnen Simplexschritt und das vollständige Lösen
+ * für erzeugte dichte, dünnbesetzte und entartete LOPs zunehmender Größe.
+ *
+ * @author Cedric Heinrich, Clemens Heinrich
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SimplexSolverBenchmark {
+
+    /** Struktur des LOP */
+    @Param({ "DENSE", "SPARSE", "DEGENERATE" })
+    private ProgramShape shape;
+
+    /** Anzahl der Restriktionen und Variablen */
+    @Param({ "10", "20", "40" })
+    private int size;
+
+    /** Art der Speicherung des Tableaus */
+    @Param({ "FRACTION", "PRIMITIVE", "SPARSE" })
+    private TableauStorage storage;
+
+    /** das zu lösende LOP */
+    private LinearProgram lp;
+
+    /** Einstellungen der Automaten */
+    private SimplexOptions options;
+
+    /**
+     * Erzeugt das LOP.
+     */
+    @Setup(Level.Trial)
+    public void setupTrial() {
+        this.lp = BenchmarkValues.generatedProgram(new Random(42), this.shape, this.size);
+        this.options = new SimplexOptions().setTableauStorage(this.storage);
+    }
+
+    /**
+     * @return Automat im Ausgangstableau
+     */
+    @Benchmark
+    public SimplexSolver construct() {
+        return new SimplexSolver(this.lp, this.options);
+    }
+
+    /**
+     * @param initial Automat im Ausgangstableau
+     * @return Zustand nach dem ersten Schritt
+     */
+    @Benchmark
+    public SimplexState step(InitialSolver initial) {
+        return initial.solver.step();
+    }
+
+    /**
+     * @return optimale Koeffizienten und Wert der Zielfunktion
+     */
+    @Benchmark
+    public Fraction[] solve() {
+        return new SimplexSolver(this.lp, this.options).getSolution();
+    }
+
+    /**
+     * Automat im Ausgangstableau, der vor jedem Aufruf von {@link SimplexSolverBenchmark#step}
+     * neu erstellt wird, damit die anderen Benchmarks diesen Mehraufwand nicht tragen
+     */
+    @State(Scope.Thread)
+    public static class InitialSolver {
+
+        /** Automat im Ausgangstableau */
+        private SimplexSolver solver;
+
+        /**
+         * Erstellt den Automaten neu.
+         *
+         * @param benchmark Benchmark mit LOP und Einstellungen
+         */
+        @Setup(Level.Invocation)
+        public void setup(SimplexSolverBenchmark benchmark) {
+            this.solver = new SimplexSolver(benchmark.lp, benchmark.options);
+        }
+
+    }
+
+}
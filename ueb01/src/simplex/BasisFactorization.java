@@ -0,0 +1,269 @@
+package simplex;
+
+import java.util.Arrays;
+
+/**
+ * Exakte LU-Zerlegung P * B = L * U einer quadratischen Basismatrix B mit Fraction-Werten. Die
+ * Zerlegung wird einmal berechnet und kann dann beliebig oft zum Lösen der Gleichungssysteme
+ * B * x = b und x * B = c verwendet werden, ohne B zu invertieren.
+ *
+ * Wird eine Spalte der Basis ausgetauscht, muss die Zerlegung nicht neu berechnet werden: Mit
+ * {@link #update(int, Fraction[])} wird der Austausch in Produktform als Eta-Matrix gespeichert,
+ * die beim Lösen zusätzlich angewendet wird. Da jede Eta-Matrix das Lösen verteuert, sollte die
+ * Zerlegung nach einigen Austauschen neu berechnet werden (siehe {@link #getUpdateCount()}).
+ *
+ * @author Cedric Heinrich, Clemens Heinrich
+ */
+final class BasisFactorization {
+
+    /** L (unterhalb der Diagonalen, Diagonale 1) und U (ab der Diagonalen) in einer Matrix */
+    private final Fraction[][] lu;
+
+    /** Zeile von B, die nach der Zeilenvertauschung an der jeweiligen Position steht */
+    private final int[] permutation;
+
+    /** true, wenn B singulär ist */
+    private final boolean singular;
+
+    /** Position der ausgetauschten Basisspalte je Eta-Matrix */
+    private int[] etaPositions = new int[0];
+
+    /** die von der Einheitsmatrix abweichende Spalte je Eta-Matrix */
+    private Fraction[][] etaColumns = new Fraction[0][];
+
+    /** Anzahl der gespeicherten Eta-Matrizen */
+    private int updateCount;
+
+    /**
+     * Berechnet die LU-Zerlegung mit Gauß-Elimination. Als Pivotelement wird in jeder Spalte der
+     * erste von 0 verschiedene Wert gewählt, da exakt gerechnet wird.
+     *
+     * @param matrix die quadratische Basismatrix mit den Zeilen in der ersten Dimension, wird
+     *            nicht verändert
+     * @pre matrix.length &gt; 0 &amp;&amp; matrix.length == matrix[0].length
+     */
+    BasisFactorization(Fraction[][] matrix) {
+        int size = matrix.length;
+        this.lu = new Fraction[size][];
+        this.permutation = new int[size];
+        for (int i = 0; i < size; i++) {
+            assert matrix[i].length == size;
+
+            this.lu[i] = matrix[i].clone();
+            this.permutation[i] = i;
+        }
+
+        boolean isSingular = false;
+        for (int k = 0; k < size && !isSingular; k++) {
+            int pivot = k;
+            while (pivot < size && this.lu[pivot][k].signum() == 0) {
+                pivot++;
+            }
+            if (pivot == size) {
+                isSingular = true;
+            } else {
+                swapRows(k, pivot);
+                eliminate(k);
+            }
+        }
+        this.singular = isSingular;
+    }
+
+    /**
+     * @return true, wenn die Basismatrix singulär ist und sich die Gleichungssysteme nicht lösen
+     *         lassen
+     */
+    boolean isSingular() {
+        return this.singular;
+    }
+
+    /**
+     * Löst das Gleichungssystem B * x = b.
+     *
+     * @param rhs die rechte Seite b, wird nicht verändert
+     * @return die Lösung x
+     * @pre !isSingular()
+     */
+    Fraction[] solve(Fraction[] rhs) {
+        assert !this.singular;
+
+        int size = this.lu.length;
+        Fraction[] x = new Fraction[size];
+        // L * y = P * b (vorwärts)
+        for (int i = 0; i < size; i++) {
+            Fraction sum = rhs[this.permutation[i]];
+            for (int k = 0; k < i; k++) {
+                sum = subtractProduct(sum, this.lu[i][k], x[k]);
+            }
+            x[i] = sum;
+        }
+        // U * x = y (rückwärts)
+        for (int i = size - 1; i >= 0; i--) {
+            Fraction sum = x[i];
+            for (int k = i + 1; k < size; k++) {
+                sum = subtractProduct(sum, this.lu[i][k], x[k]);
+            }
+            x[i] = sum.divideBy(this.lu[i][i]);
+        }
+        // x = E_k * ... * E_1 * x
+        for (int e = 0; e < this.updateCount; e++) {
+            int position = this.etaPositions[e];
+            Fraction[] eta = this.etaColumns[e];
+            Fraction pivotValue = x[position];
+            if (pivotValue.signum() != 0) {
+                for (int i = 0; i < size; i++) {
+                    x[i] = i == position ? eta[i].multiplyBy(pivotValue)
+                            : addProduct(x[i], eta[i], pivotValue);
+                }
+            }
+        }
+        return x;
+    }
+
+    /**
+     * Löst das Gleichungssystem x * B = c, d.h. B^T * x = c.
+     *
+     * @param rhs die rechte Seite c, wird nicht verändert
+     * @return die Lösung x
+     * @pre !isSingular()
+     */
+    Fraction[] solveTransposed(Fraction[] rhs) {
+        assert !this.singular;
+
+        int size = this.lu.length;
+        // c = c * E_k * ... * E_1, dabei ändert sich nur der Wert an der Position der Eta-Spalte
+        Fraction[] c = rhs;
+        for (int e = this.updateCount - 1; e >= 0; e--) {
+            Fraction[] eta = this.etaColumns[e];
+            Fraction sum = Fraction.ZERO;
+            for (int i = 0; i < size; i++) {
+                sum = addProduct(sum, c[i], eta[i]);
+            }
+            if (c == rhs) {
+                c = rhs.clone();
+            }
+            c[this.etaPositions[e]] = sum;
+        }
+        Fraction[] z = new Fraction[size];
+        // U^T * z = c (vorwärts)
+        for (int i = 0; i < size; i++) {
+            Fraction sum = c[i];
+            for (int k = 0; k < i; k++) {
+                sum = subtractProduct(sum, this.lu[k][i], z[k]);
+            }
+            z[i] = sum.divideBy(this.lu[i][i]);
+        }
+        // L^T * w = z (rückwärts), danach x = P^T * w
+        Fraction[] x = new Fraction[size];
+        for (int i = size - 1; i >= 0; i--) {
+            Fraction sum = z[i];
+            for (int k = i + 1; k < size; k++) {
+                sum = subtractProduct(sum, this.lu[k][i], z[k]);
+            }
+            z[i] = sum;
+            x[this.permutation[i]] = sum;
+        }
+        return x;
+    }
+
+    /**
+     * Tauscht die Basisspalte an einer Position gegen eine neue Spalte a aus. Übergeben wird
+     * nicht a selbst, sondern die bereits mit der bisherigen Basis gelöste Spalte d = B^-1 * a,
+     * die beim Simplexschritt ohnehin für die Wahl der Pivotzeile berechnet wird.
+     *
+     * @param position Position der ausgetauschten Basisspalte
+     * @param column die Lösung d von B * d = a für die neue Spalte a
+     * @pre !isSingular()
+     * @pre column[position] != 0
+     */
+    void update(int position, Fraction[] column) {
+        assert !this.singular;
+        assert column[position].signum() != 0;
+
+        // Eta-Spalte: 1 / d_r an der Position r, ansonsten -d_i / d_r
+        Fraction pivotValue = column[position];
+        Fraction factor = Fraction.MINUS_ONE.divideBy(pivotValue);
+        Fraction[] eta = new Fraction[column.length];
+        for (int i = 0; i < eta.length; i++) {
+            eta[i] = i == position ? Fraction.ONE.divideBy(pivotValue)
+                    : column[i].multiplyBy(factor);
+        }
+        if (this.updateCount == this.etaColumns.length) {
+            int capacity = Math.max(1, 2 * this.updateCount);
+            this.etaPositions = Arrays.copyOf(this.etaPositions, capacity);
+            this.etaColumns = Arrays.copyOf(this.etaColumns, capacity);
+        }
+        this.etaPositions[this.updateCount] = position;
+        this.etaColumns[this.updateCount] = eta;
+        this.updateCount++;
+    }
+
+    /**
+     * @return Anzahl der mit {@link #update(int, Fraction[])} gespeicherten Austausche seit der
+     *         Zerlegung
+     */
+    int getUpdateCount() {
+        return this.updateCount;
+    }
+
+    /**
+     * Vertauscht zwei Zeilen der Zerlegung.
+     *
+     * @param row1 Index der ersten Zeile
+     * @param row2 Index der zweiten Zeile
+     */
+    private void swapRows(int row1, int row2) {
+        if (row1 != row2) {
+            Fraction[] cells = this.lu[row1];
+            this.lu[row1] = this.lu[row2];
+            this.lu[row2] = cells;
+            int idx = this.permutation[row1];
+            this.permutation[row1] = this.permutation[row2];
+            this.permutation[row2] = idx;
+        }
+    }
+
+    /**
+     * Eliminiert die Spalte k unterhalb der Diagonalen und speichert die Faktoren in L.
+     *
+     * @param k Index der Spalte (und Zeile) des Pivotelements
+     */
+    private void eliminate(int k) {
+        Fraction[] pivotCells = this.lu[k];
+        for (int i = k + 1; i < this.lu.length; i++) {
+            Fraction[] cells = this.lu[i];
+            if (cells[k].signum() != 0) {
+                Fraction factor = cells[k].divideBy(pivotCells[k]);
+                for (int j = k + 1; j < cells.length; j++) {
+                    cells[j] = subtractProduct(cells[j], factor, pivotCells[j]);
+                }
+                cells[k] = factor;
+            }
+        }
+    }
+
+    /**
+     * Berechnet a - b * c und lässt dabei Produkte mit 0 aus.
+     *
+     * @param a Minuend
+     * @param b erster Faktor
+     * @param c zweiter Faktor
+     * @return a - b * c
+     */
+    private static Fraction subtractProduct(Fraction a, Fraction b, Fraction c) {
+        return b.signum() == 0 || c.signum() == 0 ? a : a.subtract(b.multiplyBy(c));
+    }
+
+    /**
+     * Berechnet a + b * c und lässt dabei Produkte mit 0 aus.
+     *
+     * @param a Summand
+     * @param b erster Faktor
+     * @param c zweiter Faktor
+     * @return a + b * c
+     */
+    private static Fraction addProduct(Fraction a, Fraction b, Fraction c) {
+        return b.signum() == 0 || c.signum() == 0 ? a : a.add(b.multiplyBy(c));
+    }
+
+}
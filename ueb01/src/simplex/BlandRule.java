@@ -0,0 +1,28 @@
+package simplex;
+
+/**
+ * Regel von Bland: Pivotspalte ist die Spalte mit dem kleinsten Index und positiver Bewertung,
+ * bei gleichen Quotienten wird die Zeile mit dem kleinsten Index der Basisvariablen gewählt.
+ * Damit kann der Algorithmus auch bei degenerierten Problemen nicht zyklisch dieselben Basen
+ * durchlaufen, benötigt aber oft mehr Schritte als die Regel von Dantzig.
+ *
+ * @author Cedric Heinrich, Clemens Heinrich
+ */
+final class BlandRule implements PivotRule {
+
+    @Override
+    public int selectColumn(Tableau table, Fraction[] scores, int numColumns) {
+        for (int j = 0; j < numColumns; j++) {
+            if (scores[j].signum() > 0) {
+                return j;
+            }
+        }
+        return INVALID_INDEX;
+    }
+
+    @Override
+    public int selectRow(Tableau table, int pivotCol, int[] baseVars) {
+        return PivotRule.minRatioRow(table, pivotCol, baseVars, true);
+    }
+
+}
@@ -0,0 +1,576 @@
+package simplex;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+import simplex.LinearProgram.Restriction;
+import simplex.LinearProgram.Restriction.Type;
+import simplex.LinearProgram.SolveType;
+
+/**
+ * Löst ein gemischt-ganzzahliges lineares Optimierungsproblem mit Branch and Bound: Die
+ * LP-Relaxierung jedes Knotens wird mit {@link SimplexSolver} gelöst; ist eine ganzzahlige
+ * Variable gebrochen, wird in zwei Knoten mit der zusätzlichen Restriktion x &le; &lfloor;v&rfloor;
+ * bzw. x &ge; &lceil;v&rceil; verzweigt (die am stärksten gebrochene Variable zuerst).
+ * Knoten, deren Schranke nicht besser als die beste bisher gefundene ganzzahlige Lösung
+ * (Inkumbente) ist, werden verworfen.
+ *
+ * Die Kindknoten starten von der optimalen Basis des Elternknotens: der erste übernimmt dessen
+ * Automaten und fügt die Restriktion mit {@link SimplexSolver#addRestriction} hinzu, der zweite
+ * startet mit {@link SimplexSolver#SimplexSolver(LinearProgram, SimplexOptions, int[])} von der
+ * um die neue Schlupfvariable erweiterten Basis. In beiden Fällen genügen meist wenige duale
+ * Simplexschritte.
+ *
+ * Die offenen Knoten liegen in einer gemeinsamen Prioritätswarteschlange, aus der so viele
+ * Aufgaben im Fork/Join-Pool, wie dieser Threads hat, jeweils den nächsten Knoten entnehmen und
+ * ihre Kindknoten zurücklegen, sodass sich die Threads die Arbeit teilen. Die Reihenfolge wird mit
+ * {@link NodeSelection} festgelegt. Die Inkumbente wird von allen Threads geteilt.
+ *
+ * @author Cedric Heinrich, Clemens Heinrich
+ */
+public final class BranchAndBoundSolver {
+
+    /**
+     * Reihenfolge, in der die offenen Knoten bearbeitet werden
+     */
+    public enum NodeSelection {
+        /** Knoten mit der besten Schranke zuerst, bearbeitet die wenigsten Knoten */
+        BEST_FIRST,
+        /** zuletzt erzeugter Knoten zuerst, findet früh ganzzahlige Lösungen */
+        DEPTH_FIRST
+    }
+
+    /**
+     * Ergebnis des Lösens
+     */
+    public enum Status {
+        /** optimale ganzzahlige Lösung gefunden */
+        OPTIMAL,
+        /** keine ganzzahlige Lösung (unzulässig oder unbeschränkte Relaxierung) */
+        UNSOLVABLE,
+        /** Knoten- oder Zeitgrenze erreicht, die Lösung ist ggf. nicht optimal */
+        LIMIT_REACHED
+    }
+
+    /** Dauer, die ein Thread ohne offene Knoten wartet, bis er erneut nachsieht */
+    private static final long IDLE_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    /** anfängliche Kapazität der Warteschlange offener Knoten */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /** das zu lösende LOP */
+    private final LinearProgram lp;
+
+    /** je Entscheidungsvariable true, wenn sie ganzzahlig sein muss */
+    private final boolean[] integerVariables;
+
+    /** Einstellungen der Automaten der Knoten */
+    private final SimplexOptions options;
+
+    /** Pool, in dem die Knoten bearbeitet werden */
+    private ForkJoinPool pool = ForkJoinPool.commonPool();
+
+    /** Reihenfolge der offenen Knoten */
+    private NodeSelection nodeSelection = NodeSelection.BEST_FIRST;
+
+    /** Höchstzahl zu bearbeitender Knoten */
+    private long nodeLimit = Long.MAX_VALUE;
+
+    /** Höchstdauer in Nanosekunden */
+    private long timeLimitNanos = Long.MAX_VALUE;
+
+    /** Ergebnis oder null, solange nicht gelöst wurde */
+    private Status status;
+
+    /** beste ganzzahlige Lösung oder null */
+    private final AtomicReference<Fraction[]> incumbent = new AtomicReference<>();
+
+    /** Anzahl der bearbeiteten Knoten */
+    private final AtomicLong nodeCount = new AtomicLong();
+
+    /**
+     * Erstellt einen Löser für das übergebene LOP, in dem die markierten Variablen ganzzahlig
+     * sein müssen.
+     *
+     * @param lp das LOP, wird nicht verändert
+     * @param integerVariables je Entscheidungsvariable true, wenn sie ganzzahlig sein muss
+     * @param options Einstellungen der Automaten der Knoten, werden nur gelesen
+     * @pre lp != null
+     * @pre integerVariables != null &amp;&amp; integerVariables.length ==
+     *      lp.getObjectiveTerm().length
+     * @pre options != null
+     */
+    public BranchAndBoundSolver(LinearProgram lp, boolean[] integerVariables,
+            SimplexOptions options) {
+        assert lp != null;
+        assert integerVariables != null
+                && integerVariables.length == lp.getObjectiveTerm().length;
+        assert options != null;
+
+        this.lp = lp;
+        this.integerVariables = integerVariables.clone();
+        this.options = options;
+    }
+
+    /**
+     * Setzt den Pool, in dem die Knoten parallel bearbeitet werden (Standard:
+     * {@link ForkJoinPool#commonPool()}).
+     *
+     * @param pool der Pool
+     * @return dieser Löser
+     * @pre pool != null
+     */
+    public BranchAndBoundSolver setPool(ForkJoinPool pool) {
+        assert pool != null;
+
+        this.pool = pool;
+        return this;
+    }
+
+    /**
+     * Setzt die Reihenfolge der offenen Knoten (Standard: {@link NodeSelection#BEST_FIRST}).
+     *
+     * @param nodeSelection die Reihenfolge
+     * @return dieser Löser
+     * @pre nodeSelection != null
+     */
+    public BranchAndBoundSolver setNodeSelection(NodeSelection nodeSelection) {
+        assert nodeSelection != null;
+
+        this.nodeSelection = nodeSelection;
+        return this;
+    }
+
+    /**
+     * Setzt die Höchstzahl der zu bearbeitenden Knoten (Standard: unbegrenzt).
+     *
+     * @param nodeLimit Höchstzahl der Knoten
+     * @return dieser Löser
+     * @pre nodeLimit &gt; 0
+     */
+    public BranchAndBoundSolver setNodeLimit(long nodeLimit) {
+        assert nodeLimit > 0;
+
+        this.nodeLimit = nodeLimit;
+        return this;
+    }
+
+    /**
+     * Setzt die Höchstdauer des Lösens (Standard: unbegrenzt). Sie wird vor jedem Knoten geprüft,
+     * ein begonnener Knoten wird noch fertig bearbeitet.
+     *
+     * @param timeLimit Höchstdauer
+     * @param unit Einheit der Höchstdauer
+     * @return dieser Löser
+     * @pre timeLimit &gt; 0
+     * @pre unit != null
+     */
+    public BranchAndBoundSolver setTimeLimit(long timeLimit, TimeUnit unit) {
+        assert timeLimit > 0;
+        assert unit != null;
+
+        this.timeLimitNanos = unit.toNanos(timeLimit);
+        return this;
+    }
+
+    /**
+     * Löst das Problem und wartet, bis alle Knoten bearbeitet sind oder eine Grenze erreicht ist.
+     * Ein weiterer Aufruf liefert das vorhandene Ergebnis.
+     *
+     * @return das Ergebnis
+     */
+    public Status solve() {
+        if (this.status == null) {
+            Search search = new Search();
+            search.offer(new Node(this.lp, null, null, null, null, 0));
+            RecursiveAction[] workers = new RecursiveAction[this.pool.getParallelism()];
+            for (int i = 0; i < workers.length; i++) {
+                workers[i] = new Worker(search);
+            }
+            this.pool.invoke(new RecursiveAction() {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected void compute() {
+                    invokeAll(workers);
+                }
+            });
+
+            if (search.limitReached.get()) {
+                this.status = Status.LIMIT_REACHED;
+            } else {
+                this.status = this.incumbent.get() == null ? Status.UNSOLVABLE : Status.OPTIMAL;
+            }
+        }
+        return this.status;
+    }
+
+    /**
+     * Löst das Problem und liefert die beste gefundene ganzzahlige Lösung.
+     *
+     * @return Koeffizienten und Wert der Zielfunktion wie {@link SimplexSolver#getSolution()} oder
+     *         null, wenn keine ganzzahlige Lösung gefunden wurde
+     */
+    public Fraction[] getSolution() {
+        solve();
+        Fraction[] solution = this.incumbent.get();
+        return solution == null ? null : solution.clone();
+    }
+
+    /**
+     * @return Anzahl der bisher bearbeiteten Knoten, d.h. gelösten LP-Relaxierungen
+     */
+    public long getNodeCount() {
+        return this.nodeCount.get();
+    }
+
+    /**
+     * Bearbeitet einen Knoten: löst seine LP-Relaxierung, aktualisiert ggf. die Inkumbente und
+     * legt die Kindknoten ab.
+     *
+     * @param search die laufende Suche
+     * @param node der Knoten
+     */
+    private void process(Search search, Node node) {
+        if (!isBetter(node.bound, this.incumbent.get())) {
+            return;
+        }
+        SimplexSolver solver = node.createSolver(this.options);
+        Fraction[] solution = solver.getSolution();
+        if (solution == null || !isBetter(solution[solution.length - 1], this.incumbent.get())) {
+            return;
+        }
+
+        int branchVariable = selectBranchVariable(solution);
+        if (branchVariable < 0) {
+            updateIncumbent(solution);
+            return;
+        }
+
+        Fraction value = solution[branchVariable];
+        Fraction floor = floor(value);
+        Fraction objective = solution[solution.length - 1];
+        Fraction[] term = new Fraction[solution.length - 1];
+        Arrays.fill(term, Fraction.ZERO);
+        term[branchVariable] = Fraction.ONE;
+        Restriction down = new Restriction(term, Type.LE, floor);
+        Restriction up = new Restriction(term, Type.GE, floor.add(Fraction.ONE));
+
+        // Basis des Elternknotens mit der Schlupfvariablen der neuen Zeile als Basisvariable
+        int[] parentBasis = solver.getBaseVars();
+        int[] basis = Arrays.copyOf(parentBasis, parentBasis.length + 1);
+        basis[parentBasis.length] = term.length + parentBasis.length;
+
+        // der zuerst bearbeitete Knoten übernimmt den Automaten des Elternknotens
+        boolean downFirst = value.subtract(floor).compareTo(new Fraction(1, 2)) < 0;
+        Node first = new Node(extend(node.lp, downFirst ? down : up), solver,
+                downFirst ? down : up, null, objective, node.depth + 1);
+        Node second = new Node(extend(node.lp, downFirst ? up : down), null, null, basis,
+                objective, node.depth + 1);
+        search.offer(second);
+        search.offer(first);
+    }
+
+    /**
+     * @param solution Lösung der LP-Relaxierung
+     * @return Index der ganzzahligen Variablen, deren Wert am weitesten von einer ganzen Zahl
+     *         entfernt ist, oder -1, wenn alle ganzzahligen Variablen ganzzahlig sind
+     */
+    private int selectBranchVariable(Fraction[] solution) {
+        int best = -1;
+        Fraction bestDistance = Fraction.ZERO;
+        Fraction half = new Fraction(1, 2);
+        for (int j = 0; j < this.integerVariables.length; j++) {
+            if (this.integerVariables[j]) {
+                Fraction fractional = solution[j].subtract(floor(solution[j]));
+                if (fractional.signum() != 0) {
+                    Fraction distance = fractional.compareTo(half) > 0
+                            ? Fraction.ONE.subtract(fractional) : fractional;
+                    if (distance.compareTo(bestDistance) > 0) {
+                        best = j;
+                        bestDistance = distance;
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Ersetzt die Inkumbente, solange die übergebene Lösung besser ist.
+     *
+     * @param solution ganzzahlige Lösung
+     */
+    private void updateIncumbent(Fraction[] solution) {
+        Fraction value = solution[solution.length - 1];
+        Fraction[] current = this.incumbent.get();
+        while (isBetter(value, current) && !this.incumbent.compareAndSet(current, solution)) {
+            current = this.incumbent.get();
+        }
+    }
+
+    /**
+     * @param value Wert der Zielfunktion oder null für eine unbekannte Schranke
+     * @param solution Inkumbente oder null
+     * @return true, wenn der Wert besser als der Wert der Inkumbenten ist
+     */
+    private boolean isBetter(Fraction value, Fraction[] solution) {
+        if (value == null || solution == null) {
+            return true;
+        }
+        int cmp = value.compareTo(solution[solution.length - 1]);
+        return SolveType.MAX.equals(this.lp.getSolveType()) ? cmp > 0 : cmp < 0;
+    }
+
+    /**
+     * @param lp ein LOP
+     * @param restriction zusätzliche Restriktion
+     * @return das LOP mit der zusätzlichen Restriktion am Ende
+     */
+    private static LinearProgram extend(LinearProgram lp, Restriction restriction) {
+        Restriction[] restrictions =
+                Arrays.copyOf(lp.getRestrictions(), lp.getRestrictions().length + 1);
+        restrictions[restrictions.length - 1] = restriction;
+        return new LinearProgram(restrictions, lp.getSolveType(), lp.getObjectiveTerm());
+    }
+
+    /**
+     * @param value ein Bruch
+     * @return die größte ganze Zahl, die nicht größer als der Bruch ist
+     */
+    private static Fraction floor(Fraction value) {
+        if (!value.isBig()) {
+            return Fraction.valueOf(Math.floorDiv(value.getNumerator(), value.getDenominator()));
+        }
+        BigInteger[] quotient =
+                value.getBigNumerator().divideAndRemainder(value.getBigDenominator());
+        BigInteger floor = quotient[1].signum() < 0 ? quotient[0].subtract(BigInteger.ONE)
+                : quotient[0];
+        return new Fraction(floor, BigInteger.ONE);
+    }
+
+    /**
+     * Offener Knoten des Suchbaums
+     */
+    private static final class Node {
+
+        /** LOP des Knotens */
+        private final LinearProgram lp;
+
+        /** optimaler Automat des Elternknotens, der übernommen wird, oder null */
+        private final SimplexSolver parentSolver;
+
+        /** dem Automaten des Elternknotens hinzuzufügende Restriktion oder null */
+        private final Restriction restriction;
+
+        /** Startbasis für einen neuen Automaten oder null */
+        private final int[] basis;
+
+        /** Wert der Relaxierung des Elternknotens oder null beim Wurzelknoten */
+        private final Fraction bound;
+
+        /** Tiefe im Suchbaum */
+        private final int depth;
+
+        /** Reihenfolge der Erzeugung, wird beim Ablegen vergeben */
+        private long sequence;
+
+        /**
+         * @param lp LOP des Knotens
+         * @param parentSolver optimaler Automat des Elternknotens oder null
+         * @param restriction dem Automaten des Elternknotens hinzuzufügende Restriktion oder null
+         * @param basis Startbasis für einen neuen Automaten oder null
+         * @param bound Wert der Relaxierung des Elternknotens oder null
+         * @param depth Tiefe im Suchbaum
+         */
+        private Node(LinearProgram lp, SimplexSolver parentSolver, Restriction restriction,
+                int[] basis, Fraction bound, int depth) {
+            this.lp = lp;
+            this.parentSolver = parentSolver;
+            this.restriction = restriction;
+            this.basis = basis;
+            this.bound = bound;
+            this.depth = depth;
+        }
+
+        /**
+         * @param options Einstellungen neuer Automaten
+         * @return Automat für die LP-Relaxierung des Knotens
+         */
+        private SimplexSolver createSolver(SimplexOptions options) {
+            if (this.parentSolver != null) {
+                this.parentSolver.addRestriction(this.restriction);
+                return this.parentSolver;
+            }
+            return this.basis == null ? new SimplexSolver(this.lp, options)
+                    : new SimplexSolver(this.lp, options, this.basis);
+        }
+
+    }
+
+    /**
+     * Gemeinsamer Zustand der Threads während einer Suche
+     */
+    private final class Search {
+
+        /** offene Knoten */
+        private final PriorityBlockingQueue<Node> open;
+
+        /** Zähler für die Reihenfolge der Erzeugung */
+        private final AtomicLong sequence = new AtomicLong();
+
+        /** Anzahl der Threads, die gerade einen Knoten bearbeiten oder einen entnehmen */
+        private final AtomicInteger active = new AtomicInteger();
+
+        /** true, wenn eine Grenze erreicht wurde */
+        private final AtomicBoolean limitReached = new AtomicBoolean();
+
+        /** Zeitpunkt, zu dem die Zeitgrenze erreicht ist */
+        private final long deadline;
+
+        /**
+         * Erstellt eine leere Suche.
+         */
+        private Search() {
+            this.open = new PriorityBlockingQueue<>(INITIAL_CAPACITY, createComparator());
+            long now = System.nanoTime();
+            long limit = BranchAndBoundSolver.this.timeLimitNanos;
+            this.deadline = limit > Long.MAX_VALUE - now ? Long.MAX_VALUE : now + limit;
+        }
+
+        /**
+         * @return Reihenfolge der Knoten gemäß der eingestellten Auswahl, bei Gleichheit der
+         *         zuletzt erzeugte zuerst
+         */
+        private Comparator<Node> createComparator() {
+            final boolean bestFirst =
+                    NodeSelection.BEST_FIRST.equals(BranchAndBoundSolver.this.nodeSelection);
+            final boolean max =
+                    SolveType.MAX.equals(BranchAndBoundSolver.this.lp.getSolveType());
+            return new Comparator<Node>() {
+                @Override
+                public int compare(Node a, Node b) {
+                    int cmp = 0;
+                    if (bestFirst && a.bound != null && b.bound != null) {
+                        cmp = max ? b.bound.compareTo(a.bound) : a.bound.compareTo(b.bound);
+                    } else if (!bestFirst) {
+                        cmp = Integer.compare(b.depth, a.depth);
+                    }
+                    return cmp != 0 ? cmp : Long.compare(b.sequence, a.sequence);
+                }
+            };
+        }
+
+        /**
+         * Legt einen offenen Knoten ab.
+         *
+         * @param node der Knoten
+         */
+        private void offer(Node node) {
+            node.sequence = this.sequence.getAndIncrement();
+            this.open.offer(node);
+        }
+
+        /**
+         * Entnimmt den nächsten Knoten und zählt ihn, sofern keine Grenze erreicht ist. Der
+         * aufrufende Thread gilt danach als aktiv, bis er {@link #done()} aufruft.
+         *
+         * @return der Knoten oder null, wenn kein Knoten offen ist
+         */
+        private Node poll() {
+            this.active.incrementAndGet();
+            Node node = this.open.poll();
+            if (node != null && (System.nanoTime() - this.deadline > 0 || !countNode())) {
+                this.limitReached.set(true);
+                this.open.clear();
+                node = null;
+            }
+            if (node == null) {
+                this.active.decrementAndGet();
+            }
+            return node;
+        }
+
+        /**
+         * Zählt einen weiteren Knoten, sofern die Knotengrenze dies zulässt.
+         *
+         * @return true, wenn der Knoten gezählt wurde
+         */
+        private boolean countNode() {
+            AtomicLong count = BranchAndBoundSolver.this.nodeCount;
+            long current = count.get();
+            while (current < BranchAndBoundSolver.this.nodeLimit) {
+                if (count.compareAndSet(current, current + 1)) {
+                    return true;
+                }
+                current = count.get();
+            }
+            return false;
+        }
+
+        /**
+         * Beendet die Bearbeitung eines mit {@link #poll()} entnommenen Knotens.
+         */
+        private void done() {
+            this.active.decrementAndGet();
+        }
+
+        /**
+         * @return true, wenn kein Knoten offen ist und kein Thread mehr Knoten ablegen kann
+         */
+        private boolean isFinished() {
+            return this.active.get() == 0 && this.open.isEmpty();
+        }
+
+    }
+
+    /**
+     * Bearbeitet offene Knoten, bis die Suche beendet ist.
+     */
+    private final class Worker extends RecursiveAction {
+
+        /** Versionsnummer für die Serialisierung */
+        private static final long serialVersionUID = 1L;
+
+        /** die laufende Suche */
+        private final transient Search search;
+
+        /**
+         * @param search die laufende Suche
+         */
+        private Worker(Search search) {
+            this.search = search;
+        }
+
+        @Override
+        protected void compute() {
+            while (true) {
+                Node node = this.search.poll();
+                if (node != null) {
+                    try {
+                        process(this.search, node);
+                    } finally {
+                        this.search.done();
+                    }
+                } else if (this.search.isFinished()) {
+                    return;
+                } else {
+                    // andere Threads bearbeiten noch Knoten, deren Kindknoten folgen können
+                    LockSupport.parkNanos(IDLE_NANOS);
+                }
+            }
+        }
+
+    }
+
+}
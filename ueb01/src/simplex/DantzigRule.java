@@ -0,0 +1,47 @@
+package simplex;
+
+/**
+ * Regel von Dantzig, wie sie die Aufgabenstellung vorgibt: Pivotspalte ist die erste Spalte mit
+ * der größten Bewertung, Pivotzeile die erste Zeile mit dem kleinsten Quotienten, der größer als 0
+ * ist. Zeilen mit der rechten Seite 0 werden dabei nicht gewählt.
+ *
+ * @author Cedric Heinrich, Clemens Heinrich
+ */
+final class DantzigRule implements PivotRule {
+
+    @Override
+    public int selectColumn(Tableau table, Fraction[] scores, int numColumns) {
+        int maxIndex = INVALID_INDEX;
+        Fraction maxValue = Fraction.ZERO;
+        for (int j = 0; j < numColumns; j++) {
+            // Prüfung auf neues Maximum
+            if (scores[j].compareTo(maxValue) > 0) {
+                maxIndex = j;
+                maxValue = scores[j];
+            }
+        }
+        return maxIndex;
+    }
+
+    @Override
+    public int selectRow(Tableau table, int pivotCol, int[] baseVars) {
+        int rhsCol = table.getWidth() - 1;
+        Fraction minValue = null;
+        int minIndex = INVALID_INDEX;
+        // Iteration über alle möglichen Reihen
+        for (int i = 0; i < baseVars.length; i++) {
+            // Division durch 0 abfangen
+            if (!table.isZero(i, pivotCol)) {
+                Fraction quotient = table.getEntry(i, rhsCol).divideBy(table.getEntry(i, pivotCol));
+                // Prüfung auf neues Minimum das > 0 ist
+                if (quotient.signum() > 0
+                        && (minValue == null || minValue.compareTo(quotient) > 0)) {
+                    minValue = quotient;
+                    minIndex = i;
+                }
+            }
+        }
+        return minIndex;
+    }
+
+}
@@ -0,0 +1,70 @@
+package simplex;
+
+import java.util.Arrays;
+
+/**
+ * Devex-Regel nach Harris: Annäherung an {@link SteepestEdgeRule}, bei der die Gewichte der
+ * Spalten nicht in jedem Schritt aus dem ganzen Tableau berechnet, sondern nach jedem Pivotschritt
+ * nur mit den Werten der Pivotzeile aktualisiert werden. Pivotspalte ist die Spalte mit dem
+ * größten Wert von score_j^2 / w_j, zu Beginn sind alle Gewichte 1.
+ *
+ * @author Cedric Heinrich, Clemens Heinrich
+ */
+final class DevexRule implements PivotRule {
+
+    /** Gewichte je Spalte, werden bei Bedarf angelegt */
+    private double[] weights = new double[0];
+
+    @Override
+    public int selectColumn(Tableau table, Fraction[] scores, int numColumns) {
+        ensureWeights(numColumns);
+
+        int maxIndex = INVALID_INDEX;
+        double maxValue = 0;
+        for (int j = 0; j < numColumns; j++) {
+            if (scores[j].signum() > 0) {
+                double score = scores[j].getAsFPN();
+                double value = score * score / this.weights[j];
+                if (maxIndex == INVALID_INDEX || value > maxValue) {
+                    maxIndex = j;
+                    maxValue = value;
+                }
+            }
+        }
+        return maxIndex;
+    }
+
+    /**
+     * Aktualisiert die Gewichte: w_j = max(w_j, (a_rj / a_rq)^2 * w_q) für die übrigen Spalten
+     * und w_q = max(w_q / a_rq^2, 1) für die Pivotspalte q.
+     */
+    @Override
+    public void beforePivot(Tableau table, int pivotRow, int pivotCol, int numColumns) {
+        ensureWeights(numColumns);
+
+        double pivotElement = table.getEntry(pivotRow, pivotCol).getAsFPN();
+        double pivotWeight = this.weights[pivotCol];
+        for (int j = table.nextNonZero(pivotRow, 0); j < numColumns;
+                j = table.nextNonZero(pivotRow, j + 1)) {
+            if (j != pivotCol) {
+                double ratio = table.getEntry(pivotRow, j).getAsFPN() / pivotElement;
+                this.weights[j] = Math.max(this.weights[j], ratio * ratio * pivotWeight);
+            }
+        }
+        this.weights[pivotCol] = Math.max(pivotWeight / (pivotElement * pivotElement), 1);
+    }
+
+    /**
+     * Legt die Gewichte mit dem Wert 1 an, falls noch nicht geschehen.
+     *
+     * @param numColumns Anzahl der Spalten
+     */
+    private void ensureWeights(int numColumns) {
+        if (this.weights.length < numColumns) {
+            int oldLength = this.weights.length;
+            this.weights = Arrays.copyOf(this.weights, numColumns);
+            Arrays.fill(this.weights, oldLength, numColumns, 1);
+        }
+    }
+
+}
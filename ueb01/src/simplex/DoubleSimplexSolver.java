@@ -0,0 +1,415 @@
+package simplex;
+
+import simplex.SimplexOptions.PivotStrategy;
+import simplex.SimplexSolver.SimplexState;
+
+/**
+ * Ein Automat, der lineare Optimierungsprobleme mit demselben Algorithmus wie
+ * {@link SimplexSolver} löst, das Tableau aber als double-Matrix speichert. Pivotspalte und
+ * Pivotzeile werden dabei mit der Toleranz aus {@link SimplexOptions#getTolerance()} gewählt:
+ * Werte, deren Betrag die Toleranz nicht überschreitet, gelten als 0. Gewählt wird mit
+ * {@link PivotStrategy#BLAND} nach der Regel von Bland, ansonsten die Spalte mit dem größten Wert.
+ * Nach {@value #DEGENERATE_PIVOTS_BEFORE_BLAND} entarteten Pivotschritten in Folge wird bis zum
+ * nächsten nicht entarteten Schritt ebenfalls nach Bland gewählt, damit der Algorithmus nicht
+ * zyklisch dieselben Basen durchläuft.
+ *
+ * Hat der Algorithmus eine Basis gefunden, wird diese einmal exakt überprüft: Das
+ * Gleichungssystem der Basismatrix wird mit Fraction-Werten gelöst (siehe
+ * {@link BasisFactorization}), anschließend wird geprüft, ob die Basis zulässig und optimal ist.
+ * Nur dann gilt der Zustand SimplexState.OPTIMAL und {@link #getSolution()} liefert die exakt
+ * berechneten Werte. Andernfalls (Rundungsfehler, singuläre Basis), bei einem als unlösbar
+ * erkannten Problem sowie nach mehr als {@value #ITERATIONS_PER_VARIABLE} Schritten je Variable
+ * und Restriktion, falls Rundungsfehler doch zu einem Zyklus führen, wird das Ergebnis repariert,
+ * indem das Problem mit einem {@link SimplexSolver} exakt gelöst wird.
+ *
+ * @author Cedric Heinrich, Clemens Heinrich
+ */
+public class DoubleSimplexSolver implements LinearProgramSolver {
+
+    /** Ungültiger Index um Fehler anzudeuten: {@value #INVALID_INDEX} */
+    private static final int INVALID_INDEX = -1;
+
+    /**
+     * Anzahl entarteter Pivotschritte in Folge, ab der nach der Regel von Bland gewählt wird:
+     * {@value #DEGENERATE_PIVOTS_BEFORE_BLAND}
+     */
+    private static final int DEGENERATE_PIVOTS_BEFORE_BLAND = 8;
+
+    /**
+     * Schritte je Variable und Restriktion, nach denen das Ergebnis exakt nachberechnet wird:
+     * {@value #ITERATIONS_PER_VARIABLE}
+     */
+    private static final int ITERATIONS_PER_VARIABLE = 50;
+
+    /** Standardform des LOP */
+    private final StandardForm form;
+
+    /** Einstellungen für die exakte Reparatur */
+    private final SimplexOptions options;
+
+    /** Toleranz, bis zu der ein Wert als 0 gilt */
+    private final double tolerance;
+
+    /** Anzahl der Schritte, nach denen das Ergebnis exakt nachberechnet wird */
+    private final int iterationLimit;
+
+    /** Simplex-Tableau mit den Zeilen in der ersten und den Spalten in der zweiten Dimension */
+    private final double[][] table;
+
+    /** Indices des Basisvariablen */
+    private int[] baseVars;
+
+    /** Anzahl der bisher ausgeführten Pivotschritte */
+    private int iterationCount;
+
+    /** Anzahl der zuletzt in Folge ausgeführten entarteten Pivotschritte */
+    private int degeneratePivots;
+
+    /** aktueller Zustand der Simplex-Tableaus */
+    private SimplexState state;
+
+    /** exakte Lösung, sobald der Automat den Zustand OPTIMAL erreicht hat */
+    private Fraction[] solution;
+
+    /** true, wenn das Ergebnis exakt nachberechnet werden musste */
+    private boolean repaired;
+
+    /**
+     * Erstellt einen Automaten aus dem übergebenen linearer Optimierungsproblem. Der Automat
+     * verbleibt im Ausgangstableau, d.h. es werden noch keine Optimierungsschritte durchgeführt.
+     *
+     * @param lp lineares Problem, das optimiert werden soll
+     * @pre lp != null
+     */
+    public DoubleSimplexSolver(LinearProgram lp) {
+        this(lp, new SimplexOptions());
+    }
+
+    /**
+     * Erstellt einen Automaten aus dem übergebenen linearer Optimierungsproblem mit den übergebenen
+     * Einstellungen. Neben der Toleranz werden die Einstellungen für eine ggf. notwendige exakte
+     * Reparatur verwendet.
+     *
+     * @param lp lineares Problem, das optimiert werden soll
+     * @param options Einstellungen des Automaten
+     * @pre lp != null
+     * @pre options != null
+     */
+    public DoubleSimplexSolver(LinearProgram lp, SimplexOptions options) {
+        assert lp != null;
+        assert options != null;
+
+        this.form = new StandardForm(lp);
+        this.options = options;
+        this.tolerance = options.getTolerance();
+        int numRows = this.form.getNumRows();
+        int numColumns = this.form.getNumColumns();
+        // +1 für Zielfunktion bzw. RHS
+        this.table = new double[numRows + 1][numColumns + 1];
+        for (int i = 0; i < numRows; i++) {
+            for (int j = 0; j < numColumns; j++) {
+                this.table[i][j] = this.form.getEntry(i, j).getAsFPN();
+            }
+            this.table[i][numColumns] = this.form.getRightSide(i).getAsFPN();
+        }
+        for (int j = 0; j < numColumns; j++) {
+            this.table[numRows][j] = this.form.getCost(j).getAsFPN();
+        }
+        this.baseVars = this.form.getInitialBasis();
+        this.iterationLimit = ITERATIONS_PER_VARIABLE * (numRows + numColumns);
+
+        // wie SimplexSolver#determineInitialState
+        if (isValidSolution()) {
+            this.state = SimplexState.VALID_SOLUTION;
+        } else if (restrictionsHaveNegativeRHS()) {
+            this.state = SimplexState.UNSOLVABLE;
+        } else {
+            this.state = SimplexState.INVALID_SOLUTION;
+        }
+    }
+
+    @Override
+    public SimplexState getState() {
+        return this.state;
+    }
+
+    @Override
+    public int getIterationCount() {
+        return this.iterationCount;
+    }
+
+    /**
+     * @return Referenz auf die Indices der Basisvariablen
+     */
+    @Override
+    public int[] getBaseVars() {
+        return this.baseVars;
+    }
+
+    /**
+     * @return true, wenn die mit double-Werten gefundene Basis die exakte Prüfung nicht bestanden
+     *         hat oder das Problem als unlösbar erkannt wurde und das Ergebnis deshalb mit einem
+     *         {@link SimplexSolver} nachberechnet wurde
+     */
+    public boolean isRepaired() {
+        return this.repaired;
+    }
+
+    @Override
+    public Fraction[] getSolution() {
+        solve();
+
+        return SimplexState.UNSOLVABLE.equals(this.state) ? null : this.solution.clone();
+    }
+
+    @Override
+    public SimplexState solve() {
+        while (!SimplexState.OPTIMAL.equals(this.state)
+                && !SimplexState.UNSOLVABLE.equals(this.state)) {
+            step();
+        }
+
+        return this.state;
+    }
+
+    /**
+     * Führt einen Schritt des Simplex-Algorithmus wie {@link SimplexSolver#step()} aus. Wird
+     * dabei keine Pivotspalte oder Pivotzeile gefunden oder ist die Anzahl der Schritte
+     * überschritten, wird das Ergebnis exakt überprüft bzw. nachberechnet, bevor der Zustand
+     * OPTIMAL oder UNSOLVABLE gesetzt wird.
+     */
+    @Override
+    public SimplexState step() {
+        if (this.iterationCount >= this.iterationLimit
+                && !SimplexState.OPTIMAL.equals(this.state)
+                && !SimplexState.UNSOLVABLE.equals(this.state)) {
+            repair();
+        } else if (!SimplexState.OPTIMAL.equals(this.state)
+                && !SimplexState.UNSOLVABLE.equals(this.state)) {
+            boolean bland = PivotStrategy.BLAND.equals(this.options.getPivotStrategy())
+                    || this.degeneratePivots >= DEGENERATE_PIVOTS_BEFORE_BLAND;
+
+            // 1. Auswahl der Pivotspalte
+            int pivotColIndex = SimplexState.VALID_SOLUTION.equals(this.state)
+                    ? getPivotColForValidSolution(bland)
+                    : getPivotColForInvalidSolution(bland);
+            // 2. Auswahl der Pivotzeile
+            int pivotRowIndex = getPivotRowIndex(pivotColIndex, bland);
+
+            if (pivotColIndex != INVALID_INDEX && pivotRowIndex != INVALID_INDEX) {
+                // 3. Austausch der Variablen, 4. Normierung, 5. Reduktion
+                double rightSide = this.table[pivotRowIndex][this.form.getNumColumns()];
+                this.degeneratePivots = rightSide > this.tolerance ? 0 : this.degeneratePivots + 1;
+                this.baseVars[pivotRowIndex] = pivotColIndex;
+                pivot(pivotRowIndex, pivotColIndex);
+                this.iterationCount++;
+
+                this.state = isValidSolution() ? SimplexState.VALID_SOLUTION
+                        : SimplexState.INVALID_SOLUTION;
+            } else if (pivotColIndex == INVALID_INDEX
+                    && SimplexState.VALID_SOLUTION.equals(this.state)) {
+                verify();
+            } else {
+                repair();
+            }
+        }
+
+        return this.state;
+    }
+
+    /**
+     * Prüft die gefundene Basis exakt und setzt den Zustand OPTIMAL mit der exakten Lösung.
+     * Besteht die Basis die Prüfung nicht, wird das Ergebnis repariert.
+     */
+    private void verify() {
+        BasisFactorization factorization =
+                new BasisFactorization(this.form.getBasisMatrix(this.baseVars));
+        if (factorization.isSingular()) {
+            repair();
+            return;
+        }
+
+        int numRows = this.form.getNumRows();
+        Fraction[] rhs = new Fraction[numRows];
+        Fraction[] baseCosts = new Fraction[numRows];
+        for (int i = 0; i < numRows; i++) {
+            rhs[i] = this.form.getRightSide(i);
+            baseCosts[i] = this.form.getCost(this.baseVars[i]);
+        }
+
+        // zulässig: alle Basisvariablen >= 0
+        Fraction[] values = factorization.solve(rhs);
+        for (Fraction value : values) {
+            if (value.signum() < 0) {
+                repair();
+                return;
+            }
+        }
+
+        // optimal: keine Spalte mit positiven reduzierten Kosten c_j - y * A_j
+        Fraction[] duals = factorization.solveTransposed(baseCosts);
+        for (int j = 0; j < this.form.getOffsetArtificialVariable(); j++) {
+            Fraction reducedCost = this.form.getCost(j).subtract(this.form.dot(duals, j));
+            if (reducedCost.signum() > 0) {
+                repair();
+                return;
+            }
+        }
+
+        this.solution = this.form.toSolution(this.baseVars, values);
+        this.state = SimplexState.OPTIMAL;
+    }
+
+    /**
+     * Löst das Problem exakt mit einem {@link SimplexSolver} und übernimmt dessen Ergebnis. Der
+     * exakte Automat startet dabei von der gefundenen Basis aus, die meist nur wenige Schritte
+     * von der optimalen entfernt ist.
+     */
+    private void repair() {
+        SimplexSolver exact =
+                new SimplexSolver(this.form.getLinearProgram(), this.options, this.baseVars);
+        this.state = exact.solve();
+        this.baseVars = exact.getBaseVars();
+        this.solution = exact.getSolution();
+        this.iterationCount += exact.getIterationCount();
+        this.repaired = true;
+    }
+
+    /**
+     * Liefert den Index der Pivotspalte im Zustand {@link SimplexState#INVALID_SOLUTION}: die
+     * Spalte mit der größten Summe über alle Zeilen, deren Basisvariable künstlich ist, bzw.
+     * nach Bland die erste Spalte mit positiver Summe.
+     *
+     * @param bland true, wenn nach der Regel von Bland gewählt wird
+     * @return den Index der Pivotspalte oder {@link #INVALID_INDEX}
+     */
+    private int getPivotColForInvalidSolution(boolean bland) {
+        int maxIndex = INVALID_INDEX;
+        double maxValue = this.tolerance;
+        for (int j = 0; j < this.form.getOffsetArtificialVariable(); j++) {
+            double sum = 0;
+            for (int i = 0; i < this.baseVars.length; i++) {
+                if (this.baseVars[i] >= this.form.getOffsetArtificialVariable()) {
+                    sum += this.table[i][j];
+                }
+            }
+            if (sum > maxValue) {
+                maxIndex = j;
+                maxValue = sum;
+                if (bland) {
+                    break;
+                }
+            }
+        }
+        return maxIndex;
+    }
+
+    /**
+     * Liefert den Index der Pivotspalte im Zustand {@link SimplexState#VALID_SOLUTION}: die
+     * Spalte mit dem größten Koeffizienten in der Zielfunktionszeile bzw. nach Bland die erste
+     * Spalte mit positivem Koeffizienten.
+     *
+     * @param bland true, wenn nach der Regel von Bland gewählt wird
+     * @return den Index der Pivotspalte oder {@link #INVALID_INDEX}
+     */
+    private int getPivotColForValidSolution(boolean bland) {
+        double[] objectiveRow = this.table[this.form.getNumRows()];
+        int maxIndex = INVALID_INDEX;
+        double maxValue = this.tolerance;
+        for (int j = 0; j < this.form.getOffsetArtificialVariable(); j++) {
+            if (objectiveRow[j] > maxValue) {
+                maxIndex = j;
+                maxValue = objectiveRow[j];
+                if (bland) {
+                    break;
+                }
+            }
+        }
+        return maxIndex;
+    }
+
+    /**
+     * Liefert den Index der Pivotzeile mit dem kleinsten nicht-negativen Quotienten aus rechter
+     * Seite und einem Wert der Pivotspalte, der größer als die Toleranz ist. Nach Bland wird bei
+     * bis auf die Toleranz gleichen Quotienten die Zeile mit der kleinsten Basisvariablen gewählt,
+     * ansonsten die erste.
+     *
+     * @param pivotCol der Index der Pivotspalte
+     * @param bland true, wenn nach der Regel von Bland gewählt wird
+     * @return den Index der Pivotzeile oder {@link #INVALID_INDEX}
+     */
+    private int getPivotRowIndex(int pivotCol, boolean bland) {
+        int minIndex = INVALID_INDEX;
+        if (pivotCol != INVALID_INDEX) {
+            int rhsCol = this.form.getNumColumns();
+            double minValue = Double.POSITIVE_INFINITY;
+            for (int i = 0; i < this.form.getNumRows(); i++) {
+                double entry = this.table[i][pivotCol];
+                if (entry > this.tolerance) {
+                    double quotient = Math.max(this.table[i][rhsCol], 0) / entry;
+                    boolean tie = bland && minIndex != INVALID_INDEX
+                            && Math.abs(quotient - minValue) <= this.tolerance;
+                    if (tie ? this.baseVars[i] < this.baseVars[minIndex] : quotient < minValue) {
+                        minValue = Math.min(quotient, minValue);
+                        minIndex = i;
+                    }
+                }
+            }
+        }
+        return minIndex;
+    }
+
+    /**
+     * Normiert die Pivotzeile und reduziert die übrigen Zeilen. Werte, deren Betrag die Toleranz
+     * nicht überschreitet, werden dabei auf 0 gesetzt, damit sich Rundungsfehler nicht
+     * fortpflanzen.
+     *
+     * @param pivotRow Index der Pivotzeile
+     * @param pivotCol Index der Pivotspalte
+     */
+    private void pivot(int pivotRow, int pivotCol) {
+        double[] pivotCells = this.table[pivotRow];
+        double pivotElement = pivotCells[pivotCol];
+        for (int j = 0; j < pivotCells.length; j++) {
+            pivotCells[j] /= pivotElement;
+        }
+        pivotCells[pivotCol] = 1;
+
+        for (int i = 0; i < this.table.length; i++) {
+            double[] cells = this.table[i];
+            double factor = cells[pivotCol];
+            if (i != pivotRow && factor != 0) {
+                for (int j = 0; j < cells.length; j++) {
+                    double value = cells[j] - factor * pivotCells[j];
+                    cells[j] = Math.abs(value) > this.tolerance ? value : 0;
+                }
+                cells[pivotCol] = 0;
+            }
+        }
+    }
+
+    /**
+     * @return true wenn keine künstliche Variable in der Basis ist
+     */
+    private boolean isValidSolution() {
+        for (int baseVar : this.baseVars) {
+            if (baseVar >= this.form.getOffsetArtificialVariable()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return true, wenn eine Restriktion eine negative RHS hat
+     */
+    private boolean restrictionsHaveNegativeRHS() {
+        for (int i = 0; i < this.form.getNumRows(); i++) {
+            if (this.form.getRightSide(i).signum() < 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
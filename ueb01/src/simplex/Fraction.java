@@ -1,11 +1,26 @@
 package simplex;
 
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
 import java.util.Arrays; // darf nur in "toMatrix" verwendet werden
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Ein vollständig gekürzter mathematischer Bruch, der aus einem Zähler und einem Nenner besteht.
  * Fraction-Instanzen sind unveränderlich, d.h. für Änderungen werden stets neue Instanzen angelegt.
  * 
+ * Zähler und Nenner werden als long gespeichert. Würde eine Rechenoperation den Wertebereich von
+ * long überschreiten, wird das Ergebnis stattdessen als BigInteger-Bruch dargestellt. Ergebnisse,
+ * die wieder in long passen, werden automatisch zurück in die long-Darstellung überführt. Wie
+ * häufig dies vorkommt, lässt sich über {@link #getPromotionCount()} und
+ * {@link #getBigIntegerOperationCount()} verfolgen.
+ * 
+ * Ähnlich zu {@link Integer#valueOf(int)} liefert {@link #valueOf(long, long)} für Brüche mit
+ * betragsmäßig kleinem Zähler und kleinem Nenner kanonische, vorab erzeugte Instanzen. Die
+ * Rechenoperationen verwenden diese Instanzen ebenfalls, sodass für die in Simplex-Tableaus
+ * häufigen Werte 0, &plusmn;1 und kleine ganze Zahlen keine neuen Instanzen angelegt werden.
+ * 
  * @author kar, mhe, Cedric Heinrich, Clemens Heinrich
  */
 public class Fraction implements Comparable<Fraction> {
@@ -18,12 +33,43 @@ public class Fraction implements Comparable<Fraction> {
     /** Bruch mit Zähler 1 und Nenner 1 */
     public static final Fraction ONE = new Fraction(1);
 
-    /** Der Zähler des Bruchs */
+    /** Größter Betrag eines Zählers im Cache von {@link #valueOf(long, long)} */
+    private static final int CACHE_MAX_NUMERATOR = 128;
+
+    /** Größter Nenner im Cache von {@link #valueOf(long, long)} */
+    private static final int CACHE_MAX_DENOMINATOR = 16;
+
+    /** Anzahl der Zähler je Nenner im Cache */
+    private static final int CACHE_ROW_LENGTH = 2 * CACHE_MAX_NUMERATOR + 1;
+
+    /**
+     * Kanonische Instanzen der gekürzten Brüche mit |Zähler| &lt;= {@value #CACHE_MAX_NUMERATOR}
+     * und 0 &lt; Nenner &lt;= {@value #CACHE_MAX_DENOMINATOR}, siehe {@link #cacheIndex}.
+     * Ungekürzte Kombinationen bleiben leer.
+     */
+    private static final Fraction[] CACHE = createCache();
+
+    /** Maske der unteren 32 Bit eines long */
+    private static final long LOWER_HALF_MASK = 0xFFFFFFFFL;
+
+    /** Anzahl der Ergebnisse, die nicht als long darstellbar waren */
+    private static final LongAdder PROMOTIONS = new LongAdder();
+
+    /** Anzahl der mit BigInteger ausgeführten Rechenoperationen */
+    private static final LongAdder BIG_INTEGER_OPERATIONS = new LongAdder();
+
+    /** Der Zähler des Bruchs (bei BigInteger-Darstellung dessen Vorzeichen) */
     private final long numerator;
 
-    /** Der Nenner des Bruchs */
+    /** Der Nenner des Bruchs (bei BigInteger-Darstellung 0) */
     private final long denominator;
 
+    /** Der Zähler des Bruchs bei BigInteger-Darstellung, ansonsten null */
+    private final BigInteger bigNumerator;
+
+    /** Der Nenner des Bruchs bei BigInteger-Darstellung, ansonsten null */
+    private final BigInteger bigDenominator;
+
     /**
      * Erstellt einen vollständig gekürzten Bruch aus dem übergebenen Zähler und Nenner. Die interne
      * Repräsentation des Nenners ist nicht-negativ. Die Zahl 0 wird durch den Zähler 0 und den
@@ -37,13 +83,57 @@ public class Fraction implements Comparable<Fraction> {
         assert denominator != 0;
 
         long gcd = gcd(numerator, denominator);
-        if ((denominator < 0 && gcd > 0) || (denominator > 0 && gcd < 0)) {
+        if (denominator < 0) {
             gcd = -gcd;
         }
 
-        this.numerator = numerator / gcd;
-        this.denominator = denominator / gcd;
+        if (gcd == -1 && (numerator == Long.MIN_VALUE || denominator == Long.MIN_VALUE)) {
+            // der Vorzeichenwechsel ist für Long.MIN_VALUE nicht als long darstellbar
+            PROMOTIONS.increment();
+            this.bigNumerator = BigInteger.valueOf(numerator).negate();
+            this.bigDenominator = BigInteger.valueOf(denominator).negate();
+            this.numerator = this.bigNumerator.signum();
+            this.denominator = 0;
+        } else {
+            this.numerator = numerator / gcd;
+            this.denominator = denominator / gcd;
+            this.bigNumerator = null;
+            this.bigDenominator = null;
+        }
+    }
 
+    /**
+     * Erstellt einen vollständig gekürzten Bruch aus dem übergebenen Zähler und Nenner. Passen
+     * gekürzter Zähler und Nenner in den Wertebereich von long, wird die long-Darstellung
+     * verwendet.
+     * 
+     * @param numerator Zu verwendener Zähler (beliebige ganze Zahl)
+     * @param denominator Zu verwendener Nenner (beliebige ganze Zahl, außer 0)
+     * @pre numerator != null
+     * @pre denominator != null &amp;&amp; denominator != 0
+     */
+    public Fraction(BigInteger numerator, BigInteger denominator) {
+        assert numerator != null;
+        assert denominator != null && denominator.signum() != 0;
+
+        BigInteger gcd = numerator.gcd(denominator);
+        if (denominator.signum() < 0) {
+            gcd = gcd.negate();
+        }
+        BigInteger num = numerator.divide(gcd);
+        BigInteger den = denominator.divide(gcd);
+
+        if (num.bitLength() < Long.SIZE && den.bitLength() < Long.SIZE) {
+            this.numerator = num.longValue();
+            this.denominator = den.longValue();
+            this.bigNumerator = null;
+            this.bigDenominator = null;
+        } else {
+            this.numerator = num.signum();
+            this.denominator = 0;
+            this.bigNumerator = num;
+            this.bigDenominator = den;
+        }
     }
 
     /**
@@ -55,6 +145,59 @@ public class Fraction implements Comparable<Fraction> {
         this(numerator, 1);
     }
 
+    /**
+     * Erstellt einen Bruch aus bereits vollständig gekürztem Zähler und Nenner, ohne erneut zu
+     * kürzen.
+     * 
+     * @param numerator gekürzter Zähler
+     * @param denominator gekürzter Nenner
+     * @param reduced Markierung zur Unterscheidung vom öffentlichen Konstruktor, stets true
+     * @pre denominator &gt; 0 &amp;&amp; gcd(numerator, denominator) == 1
+     */
+    private Fraction(long numerator, long denominator, boolean reduced) {
+        assert reduced && denominator > 0;
+
+        this.numerator = numerator;
+        this.denominator = denominator;
+        this.bigNumerator = null;
+        this.bigDenominator = null;
+    }
+
+    /**
+     * Liefert einen vollständig gekürzten Bruch aus dem übergebenen Zähler und Nenner. Im Gegensatz
+     * zum Konstruktor wird für Brüche mit kleinem Zähler und Nenner eine kanonische Instanz
+     * geliefert, statt eine neue Instanz anzulegen.
+     * 
+     * @param numerator Zu verwendener Zähler (beliebige ganze Zahl)
+     * @param denominator Zu verwendener Nenner (beliebige ganze Zahl, außer 0)
+     * @return der gekürzte Bruch
+     * @pre denominator != 0
+     */
+    public static Fraction valueOf(long numerator, long denominator) {
+        assert denominator != 0;
+
+        long gcd = gcd(numerator, denominator);
+        if (denominator < 0) {
+            gcd = -gcd;
+        }
+        if (gcd == -1 && (numerator == Long.MIN_VALUE || denominator == Long.MIN_VALUE)) {
+            // nicht als long darstellbar, siehe Konstruktor
+            return new Fraction(numerator, denominator);
+        }
+        return reduced(numerator / gcd, denominator / gcd);
+    }
+
+    /**
+     * Liefert einen Bruch aus dem übergebenen Zähler und dem Nenner 1. Für kleine Zähler wird eine
+     * kanonische Instanz geliefert, statt eine neue Instanz anzulegen.
+     * 
+     * @param numerator Zu verwendener Zähler (beliebige ganze Zahl)
+     * @return der Bruch
+     */
+    public static Fraction valueOf(long numerator) {
+        return reduced(numerator, 1);
+    }
+
     /**
      * Gibt einen neuen Bruch zurück, der aus der Addition des übergebenen Bruchs entsteht.
      * 
@@ -65,9 +208,19 @@ public class Fraction implements Comparable<Fraction> {
     public Fraction add(Fraction other) {
         assert other != null;
 
-        // a/b + c/d = a*d/b*d + c*b/d*b
-        return new Fraction(this.numerator * other.denominator + other.numerator * this.denominator,
-                this.denominator * other.denominator);
+        if (!isBig() && !other.isBig()) {
+            try {
+                return sum(this.numerator, this.denominator, other.numerator, other.denominator);
+            } catch (ArithmeticException e) {
+                PROMOTIONS.increment();
+            }
+        }
+
+        BIG_INTEGER_OPERATIONS.increment();
+        return new Fraction(
+                getBigNumerator().multiply(other.getBigDenominator())
+                        .add(other.getBigNumerator().multiply(getBigDenominator())),
+                getBigDenominator().multiply(other.getBigDenominator()));
     }
 
     /**
@@ -80,8 +233,21 @@ public class Fraction implements Comparable<Fraction> {
     public Fraction subtract(Fraction other) {
         assert other != null;
 
-        // a - b = -b + a
-        return other.multiplyBy(MINUS_ONE).add(this);
+        if (!isBig() && !other.isBig()) {
+            try {
+                // a - b = a + (-b)
+                return sum(this.numerator, this.denominator, Math.negateExact(other.numerator),
+                        other.denominator);
+            } catch (ArithmeticException e) {
+                PROMOTIONS.increment();
+            }
+        }
+
+        BIG_INTEGER_OPERATIONS.increment();
+        return new Fraction(
+                getBigNumerator().multiply(other.getBigDenominator())
+                        .subtract(other.getBigNumerator().multiply(getBigDenominator())),
+                getBigDenominator().multiply(other.getBigDenominator()));
     }
 
     /**
@@ -94,8 +260,113 @@ public class Fraction implements Comparable<Fraction> {
     public Fraction multiplyBy(Fraction other) {
         assert other != null;
 
-        // a/b * c/d = a*c/b*d
-        return new Fraction(this.numerator * other.numerator, this.denominator * other.denominator);
+        if (!isBig() && !other.isBig()) {
+            try {
+                return product(this.numerator, this.denominator, other.numerator,
+                        other.denominator);
+            } catch (ArithmeticException e) {
+                PROMOTIONS.increment();
+            }
+        }
+
+        BIG_INTEGER_OPERATIONS.increment();
+        return new Fraction(getBigNumerator().multiply(other.getBigNumerator()),
+                getBigDenominator().multiply(other.getBigDenominator()));
+    }
+
+    /**
+     * Berechnet die Summe a/b + c/d zweier gekürzter Brüche über das kleinste gemeinsame Vielfache
+     * der Nenner. Da die Summanden gekürzt sind, muss das Ergebnis nur noch durch einen Teiler von
+     * gcd(b, d) gekürzt werden.
+     * 
+     * @param a Zähler des ersten Summanden
+     * @param b Nenner des ersten Summanden (positiv)
+     * @param c Zähler des zweiten Summanden
+     * @param d Nenner des zweiten Summanden (positiv)
+     * @return die gekürzte Summe
+     * @throws ArithmeticException wenn ein Zwischenergebnis nicht als long darstellbar ist
+     */
+    private static Fraction sum(long a, long b, long c, long d) {
+        // a/b + c/d = (a*(d/g) + c*(b/g)) / (b/g * d) mit g = gcd(b, d)
+        long gcd = gcd(b, d);
+        long num = Math.addExact(Math.multiplyExact(a, d / gcd), Math.multiplyExact(c, b / gcd));
+        // gemeinsame Teiler von num und b/g * d können nur in g liegen
+        long gcd2 = gcd(num, gcd);
+        return reduced(num / gcd2, Math.multiplyExact(b / gcd, d / gcd2));
+    }
+
+    /**
+     * Berechnet das Produkt a/b * c/d zweier gekürzter Brüche. Vor der Multiplikation wird a gegen
+     * d und c gegen b gekürzt, das Ergebnis ist damit bereits vollständig gekürzt.
+     * 
+     * @param a Zähler des ersten Faktors
+     * @param b Nenner des ersten Faktors (positiv)
+     * @param c Zähler des zweiten Faktors
+     * @param d Nenner des zweiten Faktors (positiv)
+     * @return das gekürzte Produkt
+     * @throws ArithmeticException wenn ein Zwischenergebnis nicht als long darstellbar ist
+     */
+    private static Fraction product(long a, long b, long c, long d) {
+        if (a == 0 || c == 0) {
+            return ZERO;
+        }
+        // a/b * c/d = (a/g1 * c/g2) / (b/g2 * d/g1) mit g1 = gcd(a, d) und g2 = gcd(c, b)
+        long gcd1 = gcd(a, d);
+        long gcd2 = gcd(c, b);
+        return reduced(Math.multiplyExact(a / gcd1, c / gcd2),
+                Math.multiplyExact(b / gcd2, d / gcd1));
+    }
+
+    /**
+     * Liefert den Bruch zu bereits vollständig gekürztem Zähler und Nenner, nach Möglichkeit als
+     * kanonische Instanz aus dem Cache.
+     * 
+     * @param numerator gekürzter Zähler
+     * @param denominator gekürzter Nenner
+     * @return der Bruch
+     * @pre denominator &gt; 0 &amp;&amp; gcd(numerator, denominator) == 1
+     */
+    private static Fraction reduced(long numerator, long denominator) {
+        if (numerator == 0) {
+            return ZERO;
+        }
+        if (denominator <= CACHE_MAX_DENOMINATOR && numerator >= -CACHE_MAX_NUMERATOR
+                && numerator <= CACHE_MAX_NUMERATOR) {
+            return CACHE[cacheIndex(numerator, denominator)];
+        }
+        return new Fraction(numerator, denominator, true);
+    }
+
+    /**
+     * Liefert den Index eines Bruchs im Cache.
+     * 
+     * @param numerator Zähler mit |Zähler| &lt;= {@value #CACHE_MAX_NUMERATOR}
+     * @param denominator Nenner mit 0 &lt; Nenner &lt;= {@value #CACHE_MAX_DENOMINATOR}
+     * @return Index im Cache
+     */
+    private static int cacheIndex(long numerator, long denominator) {
+        return (int) ((denominator - 1) * CACHE_ROW_LENGTH + numerator + CACHE_MAX_NUMERATOR);
+    }
+
+    /**
+     * Erzeugt den Cache mit den kanonischen Instanzen. Für 0, 1 und -1 werden die Konstanten
+     * übernommen.
+     * 
+     * @return der Cache
+     */
+    private static Fraction[] createCache() {
+        Fraction[] cache = new Fraction[CACHE_MAX_DENOMINATOR * CACHE_ROW_LENGTH];
+        for (long den = 1; den <= CACHE_MAX_DENOMINATOR; den++) {
+            for (long num = -CACHE_MAX_NUMERATOR; num <= CACHE_MAX_NUMERATOR; num++) {
+                if (gcd(num, den) == 1) {
+                    cache[cacheIndex(num, den)] = new Fraction(num, den, true);
+                }
+            }
+        }
+        cache[cacheIndex(-1, 1)] = MINUS_ONE;
+        cache[cacheIndex(0, 1)] = ZERO;
+        cache[cacheIndex(1, 1)] = ONE;
+        return cache;
     }
 
     /**
@@ -103,23 +374,44 @@ public class Fraction implements Comparable<Fraction> {
      * 
      * @param other Bruch, durch den geteilt wird (Divisor)
      * @return neuer Bruch (Quotient)
+     * @throws ArithmeticException wenn other den Wert 0 hat
      * @pre other != null
      */
     public Fraction divideBy(Fraction other) {
         assert other != null;
 
-        // TODO: check auf other = 0 & throw ArithmeticException ?
+        if (other.signum() == 0) {
+            throw new ArithmeticException("Division durch 0");
+        }
 
-        // a/b : c/d = a/b * d/c
-        return this.multiplyBy(new Fraction(other.denominator, other.numerator));
+        if (!isBig() && !other.isBig()) {
+            try {
+                // a/b : c/d = a/b * d/c, das Vorzeichen von c wird in den Zähler gezogen
+                return other.numerator < 0
+                        ? product(this.numerator, this.denominator, -other.denominator,
+                                Math.negateExact(other.numerator))
+                        : product(this.numerator, this.denominator, other.denominator,
+                                other.numerator);
+            } catch (ArithmeticException e) {
+                PROMOTIONS.increment();
+            }
+        }
+
+        BIG_INTEGER_OPERATIONS.increment();
+        return new Fraction(getBigNumerator().multiply(other.getBigDenominator()),
+                getBigDenominator().multiply(other.getBigNumerator()));
     }
 
     /**
      * Liefert den Zähler des Bruchs.
      * 
      * @return der Zähler des Bruchs
+     * @throws ArithmeticException wenn der Zähler nicht als long darstellbar ist
      */
     public long getNumerator() {
+        if (isBig()) {
+            throw new ArithmeticException("Zähler nicht als long darstellbar: " + this);
+        }
         return this.numerator;
     }
 
@@ -127,17 +419,64 @@ public class Fraction implements Comparable<Fraction> {
      * Liefert den Nenner des Bruchs.
      * 
      * @return der Nenner des Bruchs
+     * @throws ArithmeticException wenn der Nenner nicht als long darstellbar ist
      */
     public long getDenominator() {
+        if (isBig()) {
+            throw new ArithmeticException("Nenner nicht als long darstellbar: " + this);
+        }
         return this.denominator;
     }
 
+    /**
+     * Liefert den Zähler des Bruchs als BigInteger.
+     * 
+     * @return der Zähler des Bruchs
+     */
+    public BigInteger getBigNumerator() {
+        return isBig() ? this.bigNumerator : BigInteger.valueOf(this.numerator);
+    }
+
+    /**
+     * Liefert den Nenner des Bruchs als BigInteger.
+     * 
+     * @return der Nenner des Bruchs
+     */
+    public BigInteger getBigDenominator() {
+        return isBig() ? this.bigDenominator : BigInteger.valueOf(this.denominator);
+    }
+
+    /**
+     * Liefert, ob der Bruch als BigInteger-Bruch dargestellt wird, d.h. Zähler oder Nenner nicht
+     * als long darstellbar sind.
+     * 
+     * @return true bei BigInteger-Darstellung, ansonsten false
+     */
+    public boolean isBig() {
+        return this.bigNumerator != null;
+    }
+
+    /**
+     * Liefert das Vorzeichen des Bruchs.
+     * 
+     * @return -1, 0 oder 1, wenn der Bruch negativ, 0 oder positiv ist
+     */
+    public int signum() {
+        // bei BigInteger-Darstellung enthält numerator das Vorzeichen
+        return Long.signum(this.numerator);
+    }
+
     /**
      * Liefert den Wert des Bruches als Gleitkommazahl (floating-point number).
      * 
      * @return der Wert des Bruchs als Gleitkommazahl (floating-point number)
      */
     public double getAsFPN() {
+        if (isBig()) {
+            return new BigDecimal(this.bigNumerator)
+                    .divide(new BigDecimal(this.bigDenominator), MathContext.DECIMAL64)
+                    .doubleValue();
+        }
         return (double) this.numerator / this.denominator;
     }
 
@@ -148,6 +487,10 @@ public class Fraction implements Comparable<Fraction> {
      */
     @Override
     public String toString() {
+        if (isBig()) {
+            return this.bigNumerator
+                    + (BigInteger.ONE.equals(this.bigDenominator) ? "" : "/" + this.bigDenominator);
+        }
         return this.numerator + (this.denominator == 1 ? "" : "/" + this.denominator);
     }
 
@@ -156,6 +499,11 @@ public class Fraction implements Comparable<Fraction> {
      * zurück, wenn die von diesem Bruch repräsentierte Zahl kleiner bzw. größer als die des
      * übergebenen Bruchs ist. Wenn die repräsentierten Zahlen gleich sind, wird 0 zurückgegeben.
      * 
+     * Da beide Nenner positiv sind, werden die Kreuzprodukte der Zähler und Nenner verglichen,
+     * ohne einen Differenzbruch anzulegen oder zu kürzen. Können die Produkte den Wertebereich von
+     * long überschreiten, werden sie auf 128 Bit genau berechnet; nur BigInteger-Brüche werden mit
+     * BigInteger verglichen.
+     * 
      * @param other Bruch, mit dem dieser Bruch verglichen wird
      * @return Vergleichsergebnis (kleiner, gleich, oder größer 0)
      * @pre other != null
@@ -164,10 +512,49 @@ public class Fraction implements Comparable<Fraction> {
     public int compareTo(Fraction other) {
         assert other != null;
 
-        Fraction diff = this.subtract(other);
-        long numerator = diff.numerator;
+        int cmp = Integer.compare(signum(), other.signum());
+        if (cmp != 0 || signum() == 0) {
+            return cmp;
+        }
+        if (isBig() || other.isBig()) {
+            BIG_INTEGER_OPERATIONS.increment();
+            return getBigNumerator().multiply(other.getBigDenominator())
+                    .compareTo(other.getBigNumerator().multiply(getBigDenominator()));
+        }
+        if (this.denominator == other.denominator) {
+            return Long.compare(this.numerator, other.numerator);
+        }
+
+        long left = this.numerator * other.denominator;
+        long right = other.numerator * this.denominator;
+        // Beträge unter 2^31 (Nenner sind positiv): die Produkte sind exakt
+        if (((Math.abs(this.numerator) | other.denominator | Math.abs(other.numerator)
+                | this.denominator) >>> Integer.SIZE - 1) == 0) {
+            return Long.compare(left, right);
+        }
+        cmp = Long.compare(multiplyHigh(this.numerator, other.denominator),
+                multiplyHigh(other.numerator, this.denominator));
+        return cmp != 0 ? cmp : Long.compareUnsigned(left, right);
+    }
 
-        return numerator > 0 ? 1 : (numerator == 0 ? 0 : -1);
+    /**
+     * Liefert die oberen 64 Bit des 128-Bit-Produkts zweier long-Werte wie Math.multiplyHigh ab
+     * Java 9, zusammengesetzt aus Produkten der 32-Bit-Hälften.
+     * 
+     * @param x der erste Faktor
+     * @param y der zweite Faktor
+     * @return die oberen 64 Bit von x * y
+     */
+    static long multiplyHigh(long x, long y) {
+        long x1 = x >> Integer.SIZE;
+        long x2 = x & LOWER_HALF_MASK;
+        long y1 = y >> Integer.SIZE;
+        long y2 = y & LOWER_HALF_MASK;
+        long z2 = x2 * y2;
+        long t = x1 * y2 + (z2 >>> Integer.SIZE);
+        long z1 = (t & LOWER_HALF_MASK) + x2 * y1;
+        long z0 = t >> Integer.SIZE;
+        return x1 * y1 + z0 + (z1 >> Integer.SIZE);
     }
 
     @Override
@@ -179,12 +566,20 @@ public class Fraction implements Comparable<Fraction> {
             return false;
         }
         Fraction other = (Fraction) obj;
+        if (isBig() || other.isBig()) {
+            // die Darstellung ist eindeutig, ein long-Bruch ist nie gleich einem BigInteger-Bruch
+            return isBig() && other.isBig() && this.bigNumerator.equals(other.bigNumerator)
+                    && this.bigDenominator.equals(other.bigDenominator);
+        }
         return this.numerator == other.numerator && this.denominator == other.denominator;
     }
 
     @Override
     public int hashCode() {
         final int prime = 31;
+        if (isBig()) {
+            return prime * this.bigNumerator.hashCode() + this.bigDenominator.hashCode();
+        }
         int result = 1;
         result = prime * result + (int) (numerator ^ (numerator >>> 32));
         result = prime * result + (int) (denominator ^ (denominator >>> 32));
@@ -210,19 +605,68 @@ public class Fraction implements Comparable<Fraction> {
     }
 
     /**
-     * Liefert den größten gemeinsamen Teiler von num1 und num2.
+     * Liefert die Anzahl der Rechenoperationen, deren Ergebnis nicht mehr als long darstellbar war
+     * und die deshalb mit BigInteger wiederholt wurden.
+     * 
+     * @return Anzahl der Umstellungen auf BigInteger seit dem letzten Zurücksetzen
+     */
+    public static long getPromotionCount() {
+        return PROMOTIONS.sum();
+    }
+
+    /**
+     * Liefert die Anzahl der Rechenoperationen, die mit BigInteger ausgeführt wurden. Dazu zählen
+     * sowohl Umstellungen als auch Operationen mit bereits als BigInteger dargestellten Brüchen.
+     * 
+     * @return Anzahl der BigInteger-Operationen seit dem letzten Zurücksetzen
+     */
+    public static long getBigIntegerOperationCount() {
+        return BIG_INTEGER_OPERATIONS.sum();
+    }
+
+    /**
+     * Setzt die Zähler {@link #getPromotionCount()} und {@link #getBigIntegerOperationCount()}
+     * zurück.
+     */
+    public static void resetCounters() {
+        PROMOTIONS.reset();
+        BIG_INTEGER_OPERATIONS.reset();
+    }
+
+    /**
+     * Liefert den größten gemeinsamen Teiler von num1 und num2. Das Ergebnis ist nicht-negativ,
+     * nur der nicht als long darstellbare Teiler 2^63 (für Long.MIN_VALUE und 0 bzw.
+     * Long.MIN_VALUE) wird wie bei {@link Math#abs(long)} als Long.MIN_VALUE geliefert. Der größte
+     * gemeinsame Teiler von 0 und 0 ist 0.
      * 
      * @param num1 die erste Zahl
      * @param num2 die zweite Zahl
      * @return des größten gemeinsamen Teiler der Zahlen
      */
     public static long gcd(long num1, long num2) {
-        // GCD nach Euklid mit Rekursion
-        if ((num1 % num2) == 0) {
-            return num2;
-        } else {
-            return gcd(num2, num1 % num2);
+        if (num1 == 0) {
+            return Math.abs(num2);
+        }
+        if (num2 == 0) {
+            return Math.abs(num1);
+        }
+
+        // binärer GCD nach Stein: gemeinsame Zweierpotenz abspalten, danach nur noch ungerade
+        // Zahlen voneinander abziehen. Nach dem Abspalten der Zweierpotenzen sind beide Zahlen
+        // ungerade, der Betrag ist damit auch für Long.MIN_VALUE darstellbar.
+        int shift = Long.numberOfTrailingZeros(num1 | num2);
+        long a = Math.abs(num1 >> Long.numberOfTrailingZeros(num1));
+        long b = Math.abs(num2 >> Long.numberOfTrailingZeros(num2));
+        while (a != b) {
+            if (a > b) {
+                a -= b;
+                a >>= Long.numberOfTrailingZeros(a);
+            } else {
+                b -= a;
+                b >>= Long.numberOfTrailingZeros(b);
+            }
         }
+        return a << shift;
     }
 
 }
@@ -0,0 +1,125 @@
+package simplex;
+
+import java.util.Arrays;
+
+/**
+ * Tableau, das seine Zellen als Fraction-Matrix speichert. Jede Zeilenoperation erzeugt neue
+ * Fraction-Instanzen für die veränderten Zellen.
+ *
+ * @author Cedric Heinrich, Clemens Heinrich
+ */
+final class FractionTableau implements Tableau {
+
+    /** Zellen mit den Zeilen in der ersten und den Spalten in der zweiten Dimension */
+    private final Fraction[][] table;
+
+    /** Anzahl der verwendeten Zeilen */
+    private int height;
+
+    /** Anzahl der verwendeten Spalten */
+    private int width;
+
+    /**
+     * Erstellt ein Tableau der übergebenen Größe, dessen Zellen noch nicht belegt sind.
+     *
+     * @param height Anzahl der Zeilen
+     * @param width Anzahl der Spalten
+     * @pre height &gt; 0 &amp;&amp; width &gt; 0
+     */
+    FractionTableau(int height, int width) {
+        assert height > 0 && width > 0;
+
+        this.table = new Fraction[height][width];
+        this.height = height;
+        this.width = width;
+    }
+
+    @Override
+    public int getHeight() {
+        return this.height;
+    }
+
+    @Override
+    public int getWidth() {
+        return this.width;
+    }
+
+    @Override
+    public boolean reshape(int newHeight, int newWidth) {
+        assert newHeight > 0 && newWidth > 0;
+
+        if (newHeight > this.table.length || newWidth > this.table[0].length) {
+            return false;
+        }
+        this.height = newHeight;
+        this.width = newWidth;
+        return true;
+    }
+
+    @Override
+    public Fraction getEntry(int row, int col) {
+        return this.table[row][col];
+    }
+
+    @Override
+    public void setEntry(int row, int col, Fraction value) {
+        assert value != null;
+
+        this.table[row][col] = value;
+    }
+
+    @Override
+    public boolean isZero(int row, int col) {
+        return Fraction.ZERO.equals(this.table[row][col]);
+    }
+
+    @Override
+    public int nextNonZero(int row, int col) {
+        Fraction[] cells = this.table[row];
+        int j = col;
+        while (j < this.width && Fraction.ZERO.equals(cells[j])) {
+            j++;
+        }
+        return j;
+    }
+
+    @Override
+    public void scaleRow(int row, int pivotCol) {
+        Fraction[] cells = this.table[row];
+        Fraction pivotElement = cells[pivotCol];
+        for (int j = 0; j < this.width; j++) {
+            cells[j] = cells[j].divideBy(pivotElement);
+        }
+    }
+
+    @Override
+    public void reduceRow(int row, int pivotRow, int pivotCol) {
+        Fraction[] pivotCells = this.table[pivotRow];
+        Fraction[] cells = this.table[row];
+        // Faktor ermitteln mit dem die Pivotzeile multipliziert werden muss, sodass in der
+        // Pivotspalte eine 0 entsteht
+        Fraction factor = cells[pivotCol];
+        for (int j = 0; j < this.width; j++) {
+            // Zelle mit einem Vielfachen von dem korrespondierenden Wert in der Pivotzeile
+            // subtrahieren
+            cells[j] = cells[j].subtract(pivotCells[j].multiplyBy(factor));
+        }
+    }
+
+    /**
+     * Liefert eine Referenz auf die intern verwendete Fraction-Matrix, wenn das Tableau seine
+     * Kapazität voll ausnutzt, ansonsten eine Kopie der verwendeten Zellen.
+     */
+    @Override
+    public Fraction[][] toFractions() {
+        if (this.height == this.table.length && this.width == this.table[0].length) {
+            return this.table;
+        }
+        Fraction[][] fractions = new Fraction[this.height][];
+        for (int i = 0; i < this.height; i++) {
+            fractions[i] = Arrays.copyOf(this.table[i], this.width);
+        }
+        return fractions;
+    }
+
+}
@@ -0,0 +1,57 @@
+package simplex;
+
+import simplex.SimplexSolver.SimplexState;
+
+/**
+ * Gemeinsame Schnittstelle der Automaten, die ein lineares Optimierungsproblem schrittweise mit
+ * dem Simplex-Algorithmus lösen. Alle Implementierungen liefern für dasselbe
+ * {@link LinearProgram} exakte Lösungen als Fraction-Werte, sie unterscheiden sich nur in der
+ * internen Darstellung und damit in der Laufzeit.
+ *
+ * @author Cedric Heinrich, Clemens Heinrich
+ */
+public interface LinearProgramSolver {
+
+    /**
+     * @return aktueller Zustand des Automaten
+     */
+    SimplexState getState();
+
+    /**
+     * @return Indices der Basisvariablen je Restriktion in der Spaltenaufteilung von
+     *         {@link SimplexSolver} (Entscheidungs-, Schlupf-, künstliche Variablen)
+     */
+    int[] getBaseVars();
+
+    /**
+     * @return Anzahl der bisher ausgeführten Pivotschritte, d.h. der Schritte, in denen eine
+     *         Basisvariable ausgetauscht wurde
+     */
+    int getIterationCount();
+
+    /**
+     * Führt einen Schritt des Simplex-Algorithmus aus. Für Automaten im Zustand
+     * SimplexState.OPTIMAL oder SimplexState.UNSOLVABLE werden keine Berechnungen durchgeführt.
+     *
+     * @return Der Zustand des Automaten am Ende der Methode
+     */
+    SimplexState step();
+
+    /**
+     * Führt wiederholt einen Simplexschritt aus, bis der Automat eine optimale Lösung anzeigt
+     * (SimplexState.OPTIMAL) oder sich das Problem als unlösbar erweist (SimplexState.UNSOLVABLE).
+     *
+     * @return Der Endzustand des Automaten (SimplexState.OPTIMAL oder SimplexState.UNSOLVABLE)
+     */
+    SimplexState solve();
+
+    /**
+     * Löst das lineare Optimierungsproblem und liefert die optimalen Koeffizienten und den Wert
+     * der Zielfunktion oder die null-Referenz, wenn das Problem unlösbar ist.
+     *
+     * @return optimale Koeffizienten und Wert der Zielfunktion (in gegebener Reihenfolge) oder
+     *         null, wenn unlösbar
+     */
+    Fraction[] getSolution();
+
+}
@@ -0,0 +1,656 @@
+package simplex;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import simplex.LinearProgram.Restriction;
+import simplex.LinearProgram.Restriction.Type;
+import simplex.LinearProgram.SolveType;
+
+/**
+ * Liest ein lineares Optimierungsproblem im MPS-Format. Die Datei wird in einem Durchlauf über
+ * einen gepufferten Kanal gelesen, ohne Zeilen oder Abschnitte als Zeichenketten zu sammeln.
+ * Bis zum Ende werden nur die von 0 verschiedenen Koeffizienten gespeichert; erst dann werden die
+ * Arrays des {@link LinearProgram} angelegt, deren Zellen für 0 und kleine ganze Zahlen auf
+ * dieselben kanonischen Fraction-Instanzen ({@link Fraction#valueOf(long)}) verweisen.
+ * Dezimalzahlen werden exakt in Brüche umgewandelt.
+ *
+ * Unterstützt werden die Abschnitte NAME, OBJSENSE (MIN oder MAX, Standard MIN), ROWS, COLUMNS,
+ * RHS, BOUNDS und ENDATA in der freien Schreibweise, d.h. durch Leerraum getrennte Namen ohne
+ * Leerzeichen; Dateien in fester Schreibweise mit solchen Namen werden ebenso gelesen. Zeilen, die
+ * mit * beginnen, sind Kommentare. Da die Variablen eines LOP nichtnegativ sind, werden Schranken
+ * als zusätzliche Restriktionen hinter denen aus ROWS angehängt: UP als &le;-, LO als &ge;- und FX
+ * als =-Restriktion, PL entfällt. Weitere N-Zeilen nach der Zielfunktion werden ignoriert,
+ * ebenso Markierungen ganzzahliger Variablen (MARKER), sodass die LP-Relaxierung gelesen wird.
+ * Nicht unterstützt werden RANGES, negative untere Schranken, freie Variablen (MI, FR),
+ * ganzzahlige Schranken (BV, LI, UI) und Konstanten der Zielfunktion.
+ *
+ * @author Cedric Heinrich, Clemens Heinrich
+ */
+public final class MpsReader {
+
+    /** Größe des Lesepuffers in Bytes */
+    private static final int BUFFER_SIZE = 65536;
+
+    /** Maske für den vorzeichenlosen Wert eines Bytes */
+    private static final int BYTE_MASK = 0xFF;
+
+    /** Höchstzahl der Ziffern, die sicher in einen long passen */
+    private static final int MAX_LONG_DIGITS = 18;
+
+    /** Anfangskapazität der Arrays für die von 0 verschiedenen Koeffizienten */
+    private static final int INITIAL_CAPACITY = 64;
+
+    /** Zeilenindex der Zielfunktion */
+    private static final int OBJECTIVE = -1;
+
+    /** Zeilenindex ignorierter N-Zeilen */
+    private static final int IGNORED = -2;
+
+    /** Höchstzahl der Felder einer Datenzeile */
+    private static final int MAX_FIELDS = 6;
+
+    /** Höchstzahl der Felder einer Zeile in COLUMNS und RHS: Name und zwei Paare */
+    private static final int MAX_ENTRY_FIELDS = 5;
+
+    /** Zerlegt den Kanal in Felder */
+    private final Lexer lexer;
+
+    /** Optimierungsrichtung */
+    private SolveType solveType = SolveType.MIN;
+
+    /** Name der Zielfunktionszeile oder null */
+    private String objectiveName;
+
+    /** Zeilenindex je Name */
+    private final Map<String, Integer> rowIndices = new HashMap<>();
+
+    /** Typ je Restriktion aus ROWS, danach je Schranke */
+    private final List<Type> types = new ArrayList<>();
+
+    /** Spaltenindex je Name */
+    private final Map<String, Integer> columnIndices = new HashMap<>();
+
+    /** Name der zuletzt gelesenen Spalte, um den Spaltenindex nicht je Zeile nachzuschlagen */
+    private String lastColumnName;
+
+    /** Index der zuletzt gelesenen Spalte */
+    private int lastColumn;
+
+    /** Zeilenindex je von 0 verschiedenem Koeffizienten */
+    private int[] entryRows = new int[INITIAL_CAPACITY];
+
+    /** Spaltenindex je von 0 verschiedenem Koeffizienten */
+    private int[] entryColumns = new int[INITIAL_CAPACITY];
+
+    /** Wert je von 0 verschiedenem Koeffizienten */
+    private Fraction[] entryValues = new Fraction[INITIAL_CAPACITY];
+
+    /** Anzahl der von 0 verschiedenen Koeffizienten */
+    private int entryCount;
+
+    /** rechte Seiten je Zeilenindex, nur die von 0 verschiedenen */
+    private final Map<Integer, Fraction> rightSides = new HashMap<>();
+
+    /** rechte Seiten der Schranken, in der Reihenfolge der Schranken */
+    private final List<Fraction> boundValues = new ArrayList<>();
+
+    /** Spaltenindex je Schranke */
+    private final List<Integer> boundColumns = new ArrayList<>();
+
+    /**
+     * Erstellt einen Leser für den übergebenen Kanal.
+     *
+     * @param channel Kanal, aus dem gelesen wird
+     */
+    private MpsReader(ReadableByteChannel channel) {
+        this.lexer = new Lexer(channel);
+    }
+
+    /**
+     * Liest ein LOP aus einer MPS-Datei.
+     *
+     * @param path Pfad der Datei
+     * @return das gelesene LOP
+     * @throws IOException wenn die Datei nicht gelesen werden kann oder nicht dem unterstützten
+     *             MPS-Format entspricht
+     * @pre path != null
+     */
+    public static LinearProgram read(Path path) throws IOException {
+        assert path != null;
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return read(channel);
+        }
+    }
+
+    /**
+     * Liest ein LOP im MPS-Format aus einem Kanal bis ENDATA oder zum Ende des Kanals. Der Kanal
+     * wird nicht geschlossen.
+     *
+     * @param channel Kanal, aus dem gelesen wird
+     * @return das gelesene LOP
+     * @throws IOException wenn der Kanal nicht gelesen werden kann oder nicht dem unterstützten
+     *             MPS-Format entspricht
+     * @pre channel != null
+     */
+    public static LinearProgram read(ReadableByteChannel channel) throws IOException {
+        assert channel != null;
+
+        MpsReader reader = new MpsReader(channel);
+        reader.parse();
+        return reader.build();
+    }
+
+    /**
+     * Liest alle Abschnitte.
+     *
+     * @throws IOException wenn nicht gelesen werden kann oder das Format falsch ist
+     */
+    private void parse() throws IOException {
+        String[] fields = new String[MAX_FIELDS];
+        String section = null;
+        while (this.lexer.nextLine()) {
+            int count = this.lexer.readFields(fields);
+            if (this.lexer.isHeader()) {
+                section = fields[0];
+                if ("ENDATA".equals(section)) {
+                    return;
+                } else if ("OBJSENSE".equals(section) && count > 1) {
+                    parseSolveType(fields[1]);
+                } else if ("RANGES".equals(section)) {
+                    throw error("RANGES wird nicht unterstützt");
+                } else if (!"NAME".equals(section) && !"OBJSENSE".equals(section)
+                        && !"ROWS".equals(section) && !"COLUMNS".equals(section)
+                        && !"RHS".equals(section) && !"BOUNDS".equals(section)) {
+                    throw error("unbekannter Abschnitt " + section);
+                }
+            } else if (section == null || "NAME".equals(section)) {
+                throw error("Daten außerhalb eines Abschnitts");
+            } else if ("OBJSENSE".equals(section)) {
+                parseSolveType(fields[0]);
+            } else if ("ROWS".equals(section)) {
+                parseRow(fields, count);
+            } else if ("COLUMNS".equals(section)) {
+                parseColumn(fields, count);
+            } else if ("RHS".equals(section)) {
+                parseRightSide(fields, count);
+            } else {
+                parseBound(fields, count);
+            }
+        }
+    }
+
+    /**
+     * @param field MIN, MINIMIZE, MAX oder MAXIMIZE
+     * @throws IOException bei einer unbekannten Optimierungsrichtung
+     */
+    private void parseSolveType(String field) throws IOException {
+        if (field.startsWith("MAX")) {
+            this.solveType = SolveType.MAX;
+        } else if (field.startsWith("MIN")) {
+            this.solveType = SolveType.MIN;
+        } else {
+            throw error("unbekannte Optimierungsrichtung " + field);
+        }
+    }
+
+    /**
+     * Liest eine Zeile des Abschnitts ROWS: Typ und Name.
+     *
+     * @param fields die Felder
+     * @param count Anzahl der Felder
+     * @throws IOException bei falscher Anzahl, unbekanntem Typ oder doppeltem Namen
+     */
+    private void parseRow(String[] fields, int count) throws IOException {
+        if (count != 2) {
+            throw error("ROWS erwartet Typ und Name");
+        }
+        String name = fields[1];
+        int index;
+        switch (fields[0]) {
+            case "N":
+                if (this.objectiveName == null) {
+                    this.objectiveName = name;
+                    index = OBJECTIVE;
+                } else {
+                    index = IGNORED;
+                }
+                break;
+            case "L":
+                index = addRow(Type.LE);
+                break;
+            case "G":
+                index = addRow(Type.GE);
+                break;
+            case "E":
+                index = addRow(Type.EQ);
+                break;
+            default:
+                throw error("unbekannter Zeilentyp " + fields[0]);
+        }
+        if (this.rowIndices.put(name, index) != null) {
+            throw error("doppelte Zeile " + name);
+        }
+    }
+
+    /**
+     * @param type Typ der neuen Restriktion
+     * @return Index der neuen Restriktion
+     */
+    private int addRow(Type type) {
+        this.types.add(type);
+        return this.types.size() - 1;
+    }
+
+    /**
+     * Liest eine Zeile des Abschnitts COLUMNS: Spaltenname und ein oder zwei Paare aus
+     * Zeilenname und Wert oder eine MARKER-Zeile.
+     *
+     * @param fields die Felder
+     * @param count Anzahl der Felder
+     * @throws IOException bei falscher Anzahl, unbekannter Zeile oder ungültigem Wert
+     */
+    private void parseColumn(String[] fields, int count) throws IOException {
+        if (count > 1 && "'MARKER'".equals(fields[1])) {
+            return;
+        }
+        if (count % 2 == 0 || count == 1 || count > MAX_ENTRY_FIELDS) {
+            throw error("COLUMNS erwartet Spalte und ein oder zwei Paare aus Zeile und Wert");
+        }
+        if (!fields[0].equals(this.lastColumnName)) {
+            Integer column = this.columnIndices.get(fields[0]);
+            if (column == null) {
+                column = this.columnIndices.size();
+                this.columnIndices.put(fields[0], column);
+            }
+            this.lastColumnName = fields[0];
+            this.lastColumn = column;
+        }
+        for (int k = 1; k < count; k += 2) {
+            int row = getRowIndex(fields[k]);
+            Fraction value = parseValue(fields[k + 1]);
+            if (row != IGNORED && value.signum() != 0) {
+                addEntry(row, this.lastColumn, value);
+            }
+        }
+    }
+
+    /**
+     * Speichert einen von 0 verschiedenen Koeffizienten.
+     *
+     * @param row Zeilenindex oder OBJECTIVE
+     * @param column Spaltenindex
+     * @param value der Wert
+     */
+    private void addEntry(int row, int column, Fraction value) {
+        if (this.entryCount == this.entryRows.length) {
+            int capacity = 2 * this.entryCount;
+            this.entryRows = Arrays.copyOf(this.entryRows, capacity);
+            this.entryColumns = Arrays.copyOf(this.entryColumns, capacity);
+            this.entryValues = Arrays.copyOf(this.entryValues, capacity);
+        }
+        this.entryRows[this.entryCount] = row;
+        this.entryColumns[this.entryCount] = column;
+        this.entryValues[this.entryCount] = value;
+        this.entryCount++;
+    }
+
+    /**
+     * Liest eine Zeile des Abschnitts RHS: optional der Name des Vektors und ein oder zwei Paare
+     * aus Zeilenname und Wert.
+     *
+     * @param fields die Felder
+     * @param count Anzahl der Felder
+     * @throws IOException bei falscher Anzahl, unbekannter Zeile, ungültigem Wert oder einer
+     *             Konstanten der Zielfunktion
+     */
+    private void parseRightSide(String[] fields, int count) throws IOException {
+        if (count < 2 || count > MAX_ENTRY_FIELDS) {
+            throw error("RHS erwartet ein oder zwei Paare aus Zeile und Wert");
+        }
+        // bei ungerader Anzahl steht vorne der Name des Vektors
+        for (int k = count % 2; k < count; k += 2) {
+            int row = getRowIndex(fields[k]);
+            Fraction value = parseValue(fields[k + 1]);
+            if (row == OBJECTIVE) {
+                throw error("Konstanten der Zielfunktion werden nicht unterstützt");
+            } else if (row != IGNORED) {
+                this.rightSides.put(row, value);
+            }
+        }
+    }
+
+    /**
+     * Liest eine Zeile des Abschnitts BOUNDS: Typ, optional der Name des Vektors, Spaltenname und
+     * (außer bei PL) der Wert.
+     *
+     * @param fields die Felder
+     * @param count Anzahl der Felder
+     * @throws IOException bei falscher Anzahl, unbekannter Spalte, ungültigem Wert oder nicht
+     *             unterstützter Schranke
+     */
+    private void parseBound(String[] fields, int count) throws IOException {
+        String boundType = fields[0];
+        if (!"UP".equals(boundType) && !"FX".equals(boundType) && !"LO".equals(boundType)
+                && !"PL".equals(boundType)) {
+            throw error("Schranke " + boundType + " wird nicht unterstützt");
+        }
+        boolean hasValue = !"PL".equals(boundType);
+        int columnField = count - (hasValue ? 2 : 1);
+        if (columnField < 1 || columnField > 2) {
+            throw error("BOUNDS erwartet Typ, Spalte und Wert");
+        }
+        Integer column = this.columnIndices.get(fields[columnField]);
+        if (column == null) {
+            throw error("unbekannte Spalte " + fields[columnField]);
+        }
+        if (!hasValue) {
+            return;
+        }
+
+        Fraction value = parseValue(fields[count - 1]);
+        switch (boundType) {
+            case "UP":
+                addBound(column, Type.LE, value);
+                break;
+            case "FX":
+                addBound(column, Type.EQ, value);
+                break;
+            default:
+                // LO
+                if (value.signum() < 0) {
+                    throw error("negative untere Schranken werden nicht unterstützt");
+                } else if (value.signum() > 0) {
+                    addBound(column, Type.GE, value);
+                }
+                break;
+        }
+    }
+
+    /**
+     * Hängt eine Schranke als Restriktion an.
+     *
+     * @param column Spaltenindex der Variablen
+     * @param type Typ der Restriktion
+     * @param value rechte Seite
+     */
+    private void addBound(int column, Type type, Fraction value) {
+        this.types.add(type);
+        this.boundColumns.add(column);
+        this.boundValues.add(value);
+    }
+
+    /**
+     * @param name Name einer Zeile aus ROWS
+     * @return Zeilenindex, OBJECTIVE oder IGNORED
+     * @throws IOException bei unbekanntem Namen
+     */
+    private int getRowIndex(String name) throws IOException {
+        Integer row = this.rowIndices.get(name);
+        if (row == null) {
+            throw error("unbekannte Zeile " + name);
+        }
+        return row;
+    }
+
+    /**
+     * Wandelt eine Dezimalzahl exakt in einen Bruch um, ganze Zahlen ohne Umweg über BigDecimal.
+     *
+     * @param field die Dezimalzahl, z.B. -12, 0.25 oder 1.5e3
+     * @return der Bruch
+     * @throws IOException bei ungültiger Zahl
+     */
+    private Fraction parseValue(String field) throws IOException {
+        try {
+            if (isSmallInteger(field)) {
+                return Fraction.valueOf(Long.parseLong(field));
+            }
+            BigDecimal decimal = new BigDecimal(field);
+            BigInteger unscaled = decimal.unscaledValue();
+            return decimal.scale() >= 0
+                    ? new Fraction(unscaled, BigInteger.TEN.pow(decimal.scale()))
+                    : new Fraction(unscaled.multiply(BigInteger.TEN.pow(-decimal.scale())),
+                            BigInteger.ONE);
+        } catch (NumberFormatException e) {
+            throw error("ungültige Zahl " + field);
+        }
+    }
+
+    /**
+     * @param field ein Feld
+     * @return true, wenn das Feld eine ganze Zahl mit höchstens MAX_LONG_DIGITS Ziffern ist
+     */
+    private static boolean isSmallInteger(String field) {
+        int start = field.startsWith("-") || field.startsWith("+") ? 1 : 0;
+        if (field.length() == start || field.length() - start > MAX_LONG_DIGITS) {
+            return false;
+        }
+        for (int i = start; i < field.length(); i++) {
+            if (field.charAt(i) < '0' || field.charAt(i) > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Legt das LOP aus den gespeicherten Koeffizienten an.
+     *
+     * @return das LOP
+     * @throws IOException wenn die Zielfunktion fehlt
+     */
+    private LinearProgram build() throws IOException {
+        if (this.objectiveName == null) {
+            throw error("keine Zielfunktion (N-Zeile)");
+        }
+
+        int numColumns = this.columnIndices.size();
+        int numRows = this.types.size();
+        int numBounds = this.boundColumns.size();
+        Fraction[] objective = zeros(numColumns);
+        Fraction[][] terms = new Fraction[numRows][];
+        for (int i = 0; i < numRows; i++) {
+            terms[i] = zeros(numColumns);
+        }
+        for (int k = 0; k < this.entryCount; k++) {
+            Fraction[] row = this.entryRows[k] == OBJECTIVE ? objective
+                    : terms[this.entryRows[k]];
+            // doppelte Einträge werden addiert
+            row[this.entryColumns[k]] = row[this.entryColumns[k]].add(this.entryValues[k]);
+        }
+        // die Arrays der Koeffizienten werden nicht mehr benötigt
+        this.entryRows = null;
+        this.entryColumns = null;
+        this.entryValues = null;
+
+        Restriction[] restrictions = new Restriction[numRows];
+        for (int i = 0; i < numRows - numBounds; i++) {
+            Fraction rightSide = this.rightSides.get(i);
+            restrictions[i] = new Restriction(terms[i], this.types.get(i),
+                    rightSide == null ? Fraction.ZERO : rightSide);
+        }
+        for (int k = 0; k < numBounds; k++) {
+            int i = numRows - numBounds + k;
+            terms[i][this.boundColumns.get(k)] = Fraction.ONE;
+            restrictions[i] = new Restriction(terms[i], this.types.get(i), this.boundValues.get(k));
+        }
+        return new LinearProgram(restrictions, this.solveType, objective);
+    }
+
+    /**
+     * @param length Länge
+     * @return Array, dessen Zellen alle auf {@link Fraction#ZERO} verweisen
+     */
+    private static Fraction[] zeros(int length) {
+        Fraction[] zeros = new Fraction[length];
+        Arrays.fill(zeros, Fraction.ZERO);
+        return zeros;
+    }
+
+    /**
+     * @param message Beschreibung des Fehlers
+     * @return Ausnahme mit der Beschreibung und der aktuellen Zeilennummer
+     */
+    private IOException error(String message) {
+        return new IOException("MPS, Zeile " + this.lexer.getLineNumber() + ": " + message);
+    }
+
+    /**
+     * Zerlegt den Inhalt eines Kanals in Zeilen und durch Leerraum getrennte Felder. Die Bytes
+     * werden als ASCII bzw. UTF-8 gelesen; Felder werden erst als Zeichenkette angelegt, wenn sie
+     * vollständig sind.
+     */
+    private static final class Lexer {
+
+        /** Kanal, aus dem gelesen wird */
+        private final ReadableByteChannel channel;
+
+        /** Lesepuffer */
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+        /** Bytes des aktuellen Felds */
+        private byte[] field = new byte[INITIAL_CAPACITY];
+
+        /** aktuelles Byte oder -1 am Ende des Kanals */
+        private int current;
+
+        /** Nummer der aktuellen Zeile, beginnend bei 1 */
+        private int lineNumber;
+
+        /** true, wenn die aktuelle Zeile in der ersten Spalte beginnt (Abschnittsname) */
+        private boolean header;
+
+        /**
+         * @param channel Kanal, aus dem gelesen wird
+         */
+        private Lexer(ReadableByteChannel channel) {
+            this.channel = channel;
+            this.buffer.limit(0);
+            this.current = '\n';
+        }
+
+        /**
+         * @return Nummer der aktuellen Zeile
+         */
+        private int getLineNumber() {
+            return this.lineNumber;
+        }
+
+        /**
+         * @return true, wenn die aktuelle Zeile ein Abschnittsname ist
+         */
+        private boolean isHeader() {
+            return this.header;
+        }
+
+        /**
+         * Geht zum Anfang der nächsten Zeile, die weder leer noch ein Kommentar ist.
+         *
+         * @return false am Ende des Kanals
+         * @throws IOException wenn nicht gelesen werden kann
+         */
+        private boolean nextLine() throws IOException {
+            while (true) {
+                // Rest der aktuellen Zeile überspringen
+                while (this.current != '\n' && this.current != -1) {
+                    advance();
+                }
+                if (this.current == -1) {
+                    return false;
+                }
+                advance();
+                this.lineNumber++;
+                this.header = !isBlank(this.current);
+                if (this.current == '*') {
+                    continue;
+                }
+                skipBlanks();
+                if (this.current != '\n' && this.current != -1) {
+                    return true;
+                }
+            }
+        }
+
+        /**
+         * Liest die Felder der aktuellen Zeile. Überzählige Felder werden verworfen.
+         *
+         * @param fields Array für die Felder
+         * @return Anzahl der Felder der Zeile (höchstens fields.length + 1)
+         * @throws IOException wenn nicht gelesen werden kann
+         */
+        private int readFields(String[] fields) throws IOException {
+            int count = 0;
+            while (this.current != '\n' && this.current != -1 && count <= fields.length) {
+                int length = 0;
+                while (this.current != '\n' && this.current != -1 && !isBlank(this.current)) {
+                    if (length == this.field.length) {
+                        this.field = Arrays.copyOf(this.field, 2 * length);
+                    }
+                    this.field[length++] = (byte) this.current;
+                    advance();
+                }
+                if (count < fields.length) {
+                    fields[count] = new String(this.field, 0, length, StandardCharsets.UTF_8);
+                }
+                count++;
+                skipBlanks();
+            }
+            return count;
+        }
+
+        /**
+         * Überspringt Leerzeichen, Tabulatoren und Wagenrückläufe.
+         *
+         * @throws IOException wenn nicht gelesen werden kann
+         */
+        private void skipBlanks() throws IOException {
+            while (this.current != -1 && isBlank(this.current)) {
+                advance();
+            }
+        }
+
+        /**
+         * Liest das nächste Byte, bei leerem Puffer nach erneutem Füllen.
+         *
+         * @throws IOException wenn nicht gelesen werden kann
+         */
+        private void advance() throws IOException {
+            if (!this.buffer.hasRemaining()) {
+                this.buffer.clear();
+                int read = 0;
+                while (read == 0) {
+                    read = this.channel.read(this.buffer);
+                }
+                this.buffer.flip();
+                if (read < 0) {
+                    this.current = -1;
+                    return;
+                }
+            }
+            this.current = this.buffer.get() & BYTE_MASK;
+        }
+
+        /**
+         * @param c ein Byte
+         * @return true bei Leerraum außer dem Zeilenende
+         */
+        private static boolean isBlank(int c) {
+            return c == ' ' || c == '\t' || c == '\r';
+        }
+
+    }
+
+}
@@ -0,0 +1,82 @@
+package simplex;
+
+/**
+ * Regel, nach der {@link SimplexSolver} in jedem Schritt Pivotspalte und Pivotzeile wählt. Eine
+ * Regel kann Zustand über mehrere Schritte halten (z.B. Gewichte der Spalten), für jeden Automaten
+ * wird daher eine eigene Instanz erzeugt (siehe {@link SimplexOptions#setPivotStrategy}).
+ *
+ * @author Cedric Heinrich, Clemens Heinrich
+ */
+interface PivotRule {
+
+    /** Ungültiger Index, wenn keine Pivotspalte oder Pivotzeile gefunden wurde: {@value} */
+    int INVALID_INDEX = -1;
+
+    /**
+     * Wählt die Pivotspalte unter den Spalten, deren Bewertung größer als 0 ist.
+     *
+     * @param table das Tableau
+     * @param scores Bewertung je Spalte: die Werte der Zielfunktionszeile bzw. in der ersten Phase
+     *            die Spaltensummen über die Zeilen mit künstlicher Basisvariable
+     * @param numColumns Anzahl der wählbaren Spalten (ohne künstliche Variablen)
+     * @return Index der Pivotspalte oder {@link #INVALID_INDEX}, wenn keine Bewertung größer als
+     *         0 ist
+     */
+    int selectColumn(Tableau table, Fraction[] scores, int numColumns);
+
+    /**
+     * Wählt die Pivotzeile mit dem kleinsten Quotienten aus rechter Seite und positivem Wert der
+     * Pivotspalte. Bei gleichen Quotienten wird die erste Zeile gewählt.
+     *
+     * @param table das Tableau, die rechte Seite steht in der letzten Spalte
+     * @param pivotCol Index der Pivotspalte
+     * @param baseVars Indices der Basisvariablen, eine je Zeile außer der Zielfunktionszeile
+     * @return Index der Pivotzeile oder {@link #INVALID_INDEX}
+     */
+    default int selectRow(Tableau table, int pivotCol, int[] baseVars) {
+        return minRatioRow(table, pivotCol, baseVars, false);
+    }
+
+    /**
+     * Wird unmittelbar vor dem Normieren der Pivotzeile aufgerufen, damit die Regel ihren Zustand
+     * mit den Werten der Pivotzeile aktualisieren kann.
+     *
+     * @param table das Tableau vor dem Pivotschritt
+     * @param pivotRow Index der Pivotzeile
+     * @param pivotCol Index der Pivotspalte
+     * @param numColumns Anzahl der wählbaren Spalten (ohne künstliche Variablen)
+     */
+    default void beforePivot(Tableau table, int pivotRow, int pivotCol, int numColumns) {
+        // die meisten Regeln sind zustandslos
+    }
+
+    /**
+     * Wählt die Pivotzeile mit dem kleinsten nicht-negativen Quotienten aus rechter Seite und
+     * positivem Wert der Pivotspalte.
+     *
+     * @param table das Tableau, die rechte Seite steht in der letzten Spalte
+     * @param pivotCol Index der Pivotspalte
+     * @param baseVars Indices der Basisvariablen, eine je Zeile außer der Zielfunktionszeile
+     * @param smallestBaseVar true, wenn bei gleichen Quotienten die Zeile mit dem kleinsten Index
+     *            der Basisvariablen gewählt werden soll, ansonsten die erste Zeile
+     * @return Index der Pivotzeile oder {@link #INVALID_INDEX}
+     */
+    static int minRatioRow(Tableau table, int pivotCol, int[] baseVars, boolean smallestBaseVar) {
+        int rhsCol = table.getWidth() - 1;
+        int minIndex = INVALID_INDEX;
+        Fraction minValue = null;
+        for (int i = 0; i < baseVars.length; i++) {
+            Fraction entry = table.getEntry(i, pivotCol);
+            if (entry.signum() > 0) {
+                Fraction quotient = table.getEntry(i, rhsCol).divideBy(entry);
+                int cmp = minValue == null ? -1 : quotient.compareTo(minValue);
+                if (cmp < 0 || cmp == 0 && smallestBaseVar && baseVars[i] < baseVars[minIndex]) {
+                    minIndex = i;
+                    minValue = quotient;
+                }
+            }
+        }
+        return minIndex;
+    }
+
+}
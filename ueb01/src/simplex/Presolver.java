@@ -0,0 +1,493 @@
+package simplex;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import simplex.LinearProgram.Restriction;
+import simplex.LinearProgram.Restriction.Type;
+import simplex.LinearProgram.SolveType;
+
+/**
+ * Vereinfacht ein lineares Optimierungsproblem, bevor es gelöst wird, und bildet die Lösung des
+ * vereinfachten Problems auf die Variablen des ursprünglichen Problems zurück. Da alle Variablen
+ * nichtnegativ sind, werden wiederholt bis keine Änderung mehr möglich ist:
+ * <ul>
+ * <li>leere Restriktionen (alle Koeffizienten 0) geprüft und entfernt,</li>
+ * <li>Restriktionen mit nur einem Koeffizienten (Singleton) in Schranken der Variablen
+ * umgewandelt: = fixiert die Variable, &ge; verschiebt sie um die untere Schranke, &le; 0 fixiert
+ * sie auf 0,</li>
+ * <li>fixierte Variablen in die rechten Seiten eingesetzt und entfernt,</li>
+ * <li>Variablen ohne Koeffizienten in den Restriktionen auf 0 fixiert (oder das Problem als
+ * unbeschränkt erkannt),</li>
+ * <li>Restriktionen, die bis auf einen Faktor gleich sind, zu einer zusammengefasst.</li>
+ * </ul>
+ *
+ * Verwendung:
+ *
+ * <pre>
+ * Presolver presolver = new Presolver(lp);
+ * Fraction[] solution = presolver.postsolve(
+ *         new SimplexSolver(presolver.getReducedProgram()).getSolution());
+ * </pre>
+ *
+ * @author Cedric Heinrich, Clemens Heinrich
+ */
+public final class Presolver {
+
+    /** das ursprüngliche LOP */
+    private final LinearProgram lp;
+
+    /** Koeffizienten der Restriktionen, werden beim Zusammenfassen normiert */
+    private final Fraction[][] terms;
+
+    /** Typ je Restriktion */
+    private final Type[] types;
+
+    /** rechte Seite je Restriktion, verringert um die eingesetzten Werte */
+    private final Fraction[] rightSides;
+
+    /** je Restriktion true, wenn sie entfernt wurde */
+    private final boolean[] removedRows;
+
+    /** je Variable true, wenn sie entfernt (fixiert) wurde */
+    private final boolean[] removedColumns;
+
+    /** je Variable der eingesetzte Wert, um den die Variable im vereinfachten LOP verschoben ist */
+    private final Fraction[] shifts;
+
+    /** Indices der verbleibenden Variablen im ursprünglichen LOP */
+    private final int[] columnMap;
+
+    /** das vereinfachte LOP oder null, wenn das LOP unlösbar ist */
+    private final LinearProgram reducedProgram;
+
+    /** true, wenn das LOP als unzulässig oder unbeschränkt erkannt wurde */
+    private boolean unsolvable;
+
+    /**
+     * Vereinfacht das übergebene LOP.
+     *
+     * @param lp das LOP, wird nicht verändert
+     * @pre lp != null
+     */
+    public Presolver(LinearProgram lp) {
+        assert lp != null;
+
+        this.lp = lp;
+        Restriction[] restrictions = lp.getRestrictions();
+        int numColumns = lp.getObjectiveTerm().length;
+        this.terms = new Fraction[restrictions.length][];
+        this.types = new Type[restrictions.length];
+        this.rightSides = new Fraction[restrictions.length];
+        for (int i = 0; i < restrictions.length; i++) {
+            this.terms[i] = restrictions[i].getTerm().clone();
+            this.types[i] = restrictions[i].getType();
+            this.rightSides[i] = restrictions[i].getRightSide();
+        }
+        this.removedRows = new boolean[restrictions.length];
+        this.removedColumns = new boolean[numColumns];
+        this.shifts = new Fraction[numColumns];
+        Arrays.fill(this.shifts, Fraction.ZERO);
+
+        boolean changed = true;
+        while (changed && !this.unsolvable) {
+            changed = removeEmptyRows();
+            changed |= reduceSingletonRows();
+            changed |= removeZeroColumns();
+            // eingesetzte Variablen können Restriktionen leeren, die hier keine Parallelen haben
+            changed |= removeEmptyRows();
+            changed |= mergeParallelRows();
+        }
+
+        int reducedColumns = 0;
+        for (boolean removed : this.removedColumns) {
+            reducedColumns += removed ? 0 : 1;
+        }
+        this.columnMap = new int[reducedColumns];
+        for (int j = 0, k = 0; j < numColumns; j++) {
+            if (!this.removedColumns[j]) {
+                this.columnMap[k++] = j;
+            }
+        }
+        this.reducedProgram = this.unsolvable ? null : createReducedProgram();
+    }
+
+    /**
+     * @return das vereinfachte LOP oder null, wenn das LOP bereits als unlösbar erkannt wurde
+     */
+    public LinearProgram getReducedProgram() {
+        return this.reducedProgram;
+    }
+
+    /**
+     * @return true, wenn das LOP bereits beim Vereinfachen als unzulässig oder unbeschränkt
+     *         erkannt wurde
+     */
+    public boolean isUnsolvable() {
+        return this.unsolvable;
+    }
+
+    /**
+     * @return Anzahl der entfernten Restriktionen
+     */
+    public int getRemovedRows() {
+        int count = 0;
+        for (boolean removed : this.removedRows) {
+            count += removed ? 1 : 0;
+        }
+        return count;
+    }
+
+    /**
+     * @return Anzahl der entfernten Variablen
+     */
+    public int getRemovedColumns() {
+        return this.removedColumns.length - this.columnMap.length;
+    }
+
+    /**
+     * Bildet die Lösung des vereinfachten LOP auf das ursprüngliche LOP ab.
+     *
+     * @param reducedSolution Koeffizienten und Wert der Zielfunktion des vereinfachten LOP wie
+     *            {@link SimplexSolver#getSolution()} oder null, wenn es unlösbar ist
+     * @return Koeffizienten und Wert der Zielfunktion des ursprünglichen LOP oder null, wenn es
+     *         unlösbar ist
+     * @pre reducedSolution == null || reducedSolution.length == Anzahl der verbleibenden
+     *      Variablen + 1
+     */
+    public Fraction[] postsolve(Fraction[] reducedSolution) {
+        if (this.unsolvable || reducedSolution == null) {
+            return null;
+        }
+        assert reducedSolution.length == this.columnMap.length + 1;
+
+        int numColumns = this.removedColumns.length;
+        Fraction[] solution = this.shifts.clone();
+        for (int k = 0; k < this.columnMap.length; k++) {
+            int col = this.columnMap[k];
+            solution[col] = solution[col].add(reducedSolution[k]);
+        }
+        Fraction objectiveValue = Fraction.ZERO;
+        for (int j = 0; j < numColumns; j++) {
+            Fraction cost = this.lp.getObjectiveTerm()[j];
+            if (cost.signum() != 0 && solution[j].signum() != 0) {
+                objectiveValue = objectiveValue.add(cost.multiplyBy(solution[j]));
+            }
+        }
+        solution = Arrays.copyOf(solution, numColumns + 1);
+        solution[numColumns] = objectiveValue;
+        return solution;
+    }
+
+    /**
+     * Löst das vereinfachte LOP mit einem {@link SimplexSolver} und bildet die Lösung zurück.
+     *
+     * @param options Einstellungen des Automaten
+     * @return Koeffizienten und Wert der Zielfunktion des ursprünglichen LOP oder null, wenn es
+     *         unlösbar ist
+     */
+    public Fraction[] solve(SimplexOptions options) {
+        if (this.unsolvable) {
+            return null;
+        }
+        return postsolve(new SimplexSolver(this.reducedProgram, options).getSolution());
+    }
+
+    @Override
+    public String toString() {
+        return "Presolve: " + this.terms.length + " x " + this.removedColumns.length + " -> "
+                + (this.terms.length - getRemovedRows()) + " x " + this.columnMap.length
+                + (this.unsolvable ? " (unlösbar)" : "");
+    }
+
+    /**
+     * Entfernt alle Restriktionen ohne von 0 verschiedenen Koeffizienten. Ist eine solche
+     * Restriktion verletzt, ist das LOP unzulässig.
+     *
+     * @return true, wenn eine Restriktion entfernt wurde
+     */
+    private boolean removeEmptyRows() {
+        boolean changed = false;
+        for (int i = 0; i < this.terms.length && !this.unsolvable; i++) {
+            if (!this.removedRows[i] && countNonZeros(i) == 0) {
+                // 0 <= b, 0 >= b bzw. 0 = b
+                int sign = this.rightSides[i].signum();
+                this.unsolvable = Type.LE.equals(this.types[i]) ? sign < 0
+                        : Type.GE.equals(this.types[i]) ? sign > 0 : sign != 0;
+                this.removedRows[i] = true;
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Wandelt Restriktionen mit nur einem Koeffizienten a in eine Schranke b / a der Variablen
+     * um. Eine =-Schranke fixiert die Variable, eine &ge;-Schranke verschiebt sie, sodass die
+     * Restriktion entfällt, und eine &le;-Schranke 0 fixiert sie auf 0. Andere &le;-Schranken
+     * bleiben als Restriktion erhalten.
+     *
+     * @return true, wenn eine Restriktion entfernt wurde
+     */
+    private boolean reduceSingletonRows() {
+        boolean changed = false;
+        for (int i = 0; i < this.terms.length && !this.unsolvable; i++) {
+            if (!this.removedRows[i] && countNonZeros(i) == 1) {
+                int col = nextNonZero(i, 0);
+                Fraction coefficient = this.terms[i][col];
+                Fraction bound = this.rightSides[i].divideBy(coefficient);
+                Type type = coefficient.signum() < 0 ? mirror(this.types[i]) : this.types[i];
+                if (Type.GE.equals(type)) {
+                    if (bound.signum() > 0) {
+                        substitute(col, bound);
+                    }
+                    this.removedRows[i] = true;
+                    changed = true;
+                } else if (bound.signum() < 0) {
+                    this.unsolvable = true;
+                } else if (Type.EQ.equals(type) || bound.signum() == 0) {
+                    substitute(col, bound);
+                    this.removedColumns[col] = true;
+                    this.removedRows[i] = true;
+                    changed = true;
+                }
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Fixiert alle Variablen ohne von 0 verschiedene Koeffizienten in den Restriktionen auf 0.
+     * Würde eine solche Variable den Wert der Zielfunktion verbessern, ist das LOP unbeschränkt.
+     *
+     * @return true, wenn eine Variable entfernt wurde
+     */
+    private boolean removeZeroColumns() {
+        boolean isMin = SolveType.MIN.equals(this.lp.getSolveType());
+        boolean changed = false;
+        for (int j = 0; j < this.removedColumns.length && !this.unsolvable; j++) {
+            if (!this.removedColumns[j] && isZeroColumn(j)) {
+                int sign = this.lp.getObjectiveTerm()[j].signum();
+                this.unsolvable = isMin ? sign < 0 : sign > 0;
+                this.removedColumns[j] = true;
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Fasst Restriktionen zusammen, deren Koeffizienten bis auf einen Faktor gleich sind. Dazu
+     * werden die Koeffizienten durch den ersten von 0 verschiedenen geteilt. Zwei Schranken
+     * derselben Richtung werden zur schärferen zusammengefasst, eine =-Restriktion ersetzt die
+     * übrigen und gleiche &le;- und &ge;-Schranken ergeben eine =-Restriktion.
+     *
+     * @return true, wenn eine Restriktion entfernt wurde
+     * @pre keine verbleibende Restriktion ist leer
+     */
+    private boolean mergeParallelRows() {
+        Map<List<Fraction>, Integer> firstRows = new HashMap<>();
+        boolean changed = false;
+        for (int i = 0; i < this.terms.length && !this.unsolvable; i++) {
+            if (!this.removedRows[i]) {
+                Fraction divisor = this.terms[i][nextNonZero(i, 0)];
+                List<Fraction> key = new ArrayList<>();
+                for (int j = 0; j < this.removedColumns.length; j++) {
+                    if (!this.removedColumns[j]) {
+                        key.add(this.terms[i][j].divideBy(divisor));
+                    }
+                }
+                Integer first = firstRows.get(key);
+                if (first == null) {
+                    firstRows.put(key, i);
+                } else if (merge(first, i)) {
+                    this.removedRows[i] = true;
+                    changed = true;
+                }
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Fasst eine Restriktion mit einer anderen bis auf einen Faktor gleichen zusammen, indem die
+     * erste normiert und die Schranken kombiniert werden.
+     *
+     * @param target Index der Restriktion, die erhalten bleibt
+     * @param source Index der Restriktion, die entfernt werden kann
+     * @return true, wenn source entfernt werden kann
+     */
+    private boolean merge(int target, int source) {
+        normalize(target);
+        normalize(source);
+        Type targetType = this.types[target];
+        Type sourceType = this.types[source];
+        int cmp = this.rightSides[source].compareTo(this.rightSides[target]);
+
+        boolean merged = true;
+        if (Type.EQ.equals(targetType) || Type.EQ.equals(sourceType)) {
+            // die =-Restriktion muss die andere Schranke erfüllen
+            Type other = Type.EQ.equals(targetType) ? sourceType : targetType;
+            int eqCmp = Type.EQ.equals(targetType) ? cmp : -cmp;
+            this.unsolvable = Type.LE.equals(other) ? eqCmp < 0
+                    : Type.GE.equals(other) ? eqCmp > 0 : eqCmp != 0;
+            if (Type.EQ.equals(sourceType)) {
+                this.types[target] = Type.EQ;
+                this.rightSides[target] = this.rightSides[source];
+            }
+        } else if (targetType.equals(sourceType)) {
+            // die schärfere Schranke übernehmen
+            if (Type.LE.equals(targetType) ? cmp < 0 : cmp > 0) {
+                this.rightSides[target] = this.rightSides[source];
+            }
+        } else {
+            // eine <=- und eine >=-Schranke: Vorzeichen von untere minus obere Schranke
+            int gap = Type.LE.equals(targetType) ? cmp : -cmp;
+            if (gap == 0) {
+                this.types[target] = Type.EQ;
+            } else if (gap > 0) {
+                this.unsolvable = true;
+            } else {
+                merged = false;
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * Teilt eine Restriktion durch ihren ersten von 0 verschiedenen Koeffizienten, bei negativem
+     * Koeffizienten wird der Typ gespiegelt.
+     *
+     * @param row Index der Restriktion
+     */
+    private void normalize(int row) {
+        Fraction divisor = this.terms[row][nextNonZero(row, 0)];
+        if (!Fraction.ONE.equals(divisor)) {
+            for (int j = nextNonZero(row, 0); j < this.removedColumns.length;
+                    j = nextNonZero(row, j + 1)) {
+                this.terms[row][j] = this.terms[row][j].divideBy(divisor);
+            }
+            this.rightSides[row] = this.rightSides[row].divideBy(divisor);
+            if (divisor.signum() < 0) {
+                this.types[row] = mirror(this.types[row]);
+            }
+        }
+    }
+
+    /**
+     * Setzt einen Wert für eine Variable ein: Die rechten Seiten aller verbleibenden
+     * Restriktionen werden um den Wert mal den Koeffizienten verringert und die Variable ist im
+     * vereinfachten LOP um den Wert verschoben.
+     *
+     * @param col Index der Variablen
+     * @param value der eingesetzte Wert
+     */
+    private void substitute(int col, Fraction value) {
+        for (int i = 0; i < this.terms.length; i++) {
+            if (!this.removedRows[i] && this.terms[i][col].signum() != 0) {
+                this.rightSides[i] =
+                        this.rightSides[i].subtract(this.terms[i][col].multiplyBy(value));
+            }
+        }
+        this.shifts[col] = this.shifts[col].add(value);
+    }
+
+    /**
+     * Negiert eine Restriktion mit negativer rechter Seite und spiegelt ihren Typ. Eingesetzte
+     * Werte und die Normierung können die rechte Seite negativ machen; eine &ge;- oder
+     * =-Restriktion mit negativer rechter Seite meldet {@link SimplexSolver} aber als unlösbar.
+     *
+     * @param row Index der Restriktion
+     */
+    private void makeRightSideNonNegative(int row) {
+        if (this.rightSides[row].signum() < 0) {
+            for (int j = nextNonZero(row, 0); j < this.removedColumns.length;
+                    j = nextNonZero(row, j + 1)) {
+                this.terms[row][j] = this.terms[row][j].multiplyBy(Fraction.MINUS_ONE);
+            }
+            this.rightSides[row] = this.rightSides[row].multiplyBy(Fraction.MINUS_ONE);
+            this.types[row] = mirror(this.types[row]);
+        }
+    }
+
+    /**
+     * Erzeugt das vereinfachte LOP aus den verbleibenden Restriktionen und Variablen. Alle
+     * Restriktionen haben darin eine nicht-negative rechte Seite.
+     *
+     * @return das vereinfachte LOP
+     */
+    private LinearProgram createReducedProgram() {
+        List<Restriction> restrictions = new ArrayList<>();
+        for (int i = 0; i < this.terms.length; i++) {
+            if (!this.removedRows[i]) {
+                makeRightSideNonNegative(i);
+                Fraction[] term = new Fraction[this.columnMap.length];
+                for (int k = 0; k < term.length; k++) {
+                    term[k] = this.terms[i][this.columnMap[k]];
+                }
+                restrictions.add(new Restriction(term, this.types[i], this.rightSides[i]));
+            }
+        }
+        Fraction[] objectiveTerm = new Fraction[this.columnMap.length];
+        for (int k = 0; k < objectiveTerm.length; k++) {
+            objectiveTerm[k] = this.lp.getObjectiveTerm()[this.columnMap[k]];
+        }
+        return new LinearProgram(restrictions.toArray(new Restriction[restrictions.size()]),
+                this.lp.getSolveType(), objectiveTerm);
+    }
+
+    /**
+     * Liefert den Index der nächsten verbleibenden Variablen mit von 0 verschiedenem
+     * Koeffizienten in einer Restriktion.
+     *
+     * @param row Index der Restriktion
+     * @param col Index, ab dem gesucht wird
+     * @return Index der Variablen oder die Anzahl der Variablen, wenn es keine weitere gibt
+     */
+    private int nextNonZero(int row, int col) {
+        int j = col;
+        while (j < this.removedColumns.length
+                && (this.removedColumns[j] || this.terms[row][j].signum() == 0)) {
+            j++;
+        }
+        return j;
+    }
+
+    /**
+     * @param row Index der Restriktion
+     * @return Anzahl der verbleibenden Variablen mit von 0 verschiedenem Koeffizienten
+     */
+    private int countNonZeros(int row) {
+        int count = 0;
+        for (int j = nextNonZero(row, 0); j < this.removedColumns.length;
+                j = nextNonZero(row, j + 1)) {
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * @param col Index der Variablen
+     * @return true, wenn die Variable in keiner verbleibenden Restriktion vorkommt
+     */
+    private boolean isZeroColumn(int col) {
+        for (int i = 0; i < this.terms.length; i++) {
+            if (!this.removedRows[i] && this.terms[i][col].signum() != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param type Typ einer Restriktion
+     * @return Typ der mit -1 multiplizierten Restriktion
+     */
+    private static Type mirror(Type type) {
+        return Type.LE.equals(type) ? Type.GE : Type.GE.equals(type) ? Type.LE : Type.EQ;
+    }
+
+}
@@ -0,0 +1,273 @@
+package simplex;
+
+import java.util.Arrays;
+
+/**
+ * Tableau, das Zähler und Nenner seiner Zellen in parallelen long-Matrizen speichert. Die
+ * Zeilenoperationen eines Simplexschritts werden direkt auf diesen Matrizen ausgeführt, sodass
+ * dabei keine Fraction-Instanzen entstehen. Alle Zellen sind wie bei {@link Fraction} vollständig
+ * gekürzt und haben einen positiven Nenner, die Ergebnisse stimmen daher exakt mit denen eines
+ * {@link FractionTableau} überein.
+ *
+ * Überschreitet ein Zwischenergebnis den Wertebereich von long, wird die betroffene Zelle wie bei
+ * {@link Fraction} mit BigInteger berechnet und als Fraction-Instanz in einer zusätzlichen Matrix
+ * abgelegt. Solche Zellen sind durch den Nenner {@link #BIG} markiert, ihr Zähler enthält das
+ * Vorzeichen des Werts.
+ *
+ * @author Cedric Heinrich, Clemens Heinrich
+ */
+final class PrimitiveTableau implements Tableau {
+
+    /** Nenner, der eine nicht als long darstellbare Zelle markiert: {@value #BIG} */
+    private static final long BIG = 0;
+
+    /** Zähler der Zellen mit den Zeilen in der ersten und den Spalten in der zweiten Dimension */
+    private final long[][] numerators;
+
+    /** Nenner der Zellen mit den Zeilen in der ersten und den Spalten in der zweiten Dimension */
+    private final long[][] denominators;
+
+    /**
+     * Werte der nicht als long darstellbaren Zellen, die einzelnen Zeilen werden erst bei Bedarf
+     * angelegt. Da dabei nur die eigene Zeile verändert wird, können verschiedene Zeilen
+     * gleichzeitig reduziert werden.
+     */
+    private final Fraction[][] bigValues;
+
+    /** Anzahl der verwendeten Zeilen */
+    private int height;
+
+    /** Anzahl der verwendeten Spalten */
+    private int width;
+
+    /**
+     * Erstellt ein Tableau der übergebenen Größe, dessen Zellen den Wert 0 haben.
+     *
+     * @param height Anzahl der Zeilen
+     * @param width Anzahl der Spalten
+     * @pre height &gt; 0 &amp;&amp; width &gt; 0
+     */
+    PrimitiveTableau(int height, int width) {
+        assert height > 0 && width > 0;
+
+        this.numerators = new long[height][width];
+        this.denominators = new long[height][width];
+        for (long[] row : this.denominators) {
+            Arrays.fill(row, 1);
+        }
+        this.bigValues = new Fraction[height][];
+        this.height = height;
+        this.width = width;
+    }
+
+    @Override
+    public int getHeight() {
+        return this.height;
+    }
+
+    @Override
+    public int getWidth() {
+        return this.width;
+    }
+
+    @Override
+    public boolean reshape(int newHeight, int newWidth) {
+        assert newHeight > 0 && newWidth > 0;
+
+        if (newHeight > this.numerators.length || newWidth > this.numerators[0].length) {
+            return false;
+        }
+        this.height = newHeight;
+        this.width = newWidth;
+        return true;
+    }
+
+    @Override
+    public Fraction getEntry(int row, int col) {
+        if (this.denominators[row][col] == BIG) {
+            return this.bigValues[row][col];
+        }
+        return Fraction.valueOf(this.numerators[row][col], this.denominators[row][col]);
+    }
+
+    @Override
+    public void setEntry(int row, int col, Fraction value) {
+        assert value != null;
+
+        if (value.isBig()) {
+            if (this.bigValues[row] == null) {
+                // mit voller Kapazität, damit die Zeile nach reshape weiterverwendet werden kann
+                this.bigValues[row] = new Fraction[this.numerators[row].length];
+            }
+            this.bigValues[row][col] = value;
+            this.numerators[row][col] = value.signum();
+            this.denominators[row][col] = BIG;
+        } else {
+            this.numerators[row][col] = value.getNumerator();
+            this.denominators[row][col] = value.getDenominator();
+        }
+    }
+
+    @Override
+    public boolean isZero(int row, int col) {
+        return this.numerators[row][col] == 0;
+    }
+
+    @Override
+    public int nextNonZero(int row, int col) {
+        long[] nums = this.numerators[row];
+        int j = col;
+        while (j < this.width && nums[j] == 0) {
+            j++;
+        }
+        return j;
+    }
+
+    @Override
+    public void scaleRow(int row, int pivotCol) {
+        long[] nums = this.numerators[row];
+        long[] dens = this.denominators[row];
+        Fraction pivotElement = getEntry(row, pivotCol);
+        if (dens[pivotCol] == BIG || nums[pivotCol] == Long.MIN_VALUE) {
+            scaleRowWithFractions(row, pivotElement);
+            return;
+        }
+
+        // a/b : p/q = a*q / b*p, das Vorzeichen wird in den Zähler gezogen
+        long pivotNum = nums[pivotCol];
+        long pivotDen = dens[pivotCol];
+        if (pivotNum < 0) {
+            pivotNum = -pivotNum;
+            pivotDen = -pivotDen;
+        }
+        for (int j = 0; j < this.width; j++) {
+            if (nums[j] != 0
+                    && (dens[j] == BIG || !multiply(nums, dens, j, pivotDen, pivotNum))) {
+                setEntry(row, j, getEntry(row, j).divideBy(pivotElement));
+            }
+        }
+    }
+
+    @Override
+    public void reduceRow(int row, int pivotRow, int pivotCol) {
+        long[] pivotNums = this.numerators[pivotRow];
+        long[] pivotDens = this.denominators[pivotRow];
+        long[] nums = this.numerators[row];
+        long[] dens = this.denominators[row];
+        long factorNum = nums[pivotCol];
+        long factorDen = dens[pivotCol];
+        // Zeilen, die bereits eine 0 in der Pivotspalte haben, auslassen
+        if (factorNum != 0) {
+            Fraction factor = null;
+            for (int j = 0; j < this.width; j++) {
+                if (pivotNums[j] != 0 && (factorDen == BIG || pivotDens[j] == BIG
+                        || dens[j] == BIG || !subtractProduct(nums, dens, j, pivotNums[j],
+                                pivotDens[j], factorNum, factorDen))) {
+                    // Berechnung mit Fraction, falls der Wertebereich von long nicht reicht
+                    if (factor == null) {
+                        factor = factorDen == BIG ? this.bigValues[row][pivotCol]
+                                : Fraction.valueOf(factorNum, factorDen);
+                    }
+                    setEntry(row, j,
+                            getEntry(row, j).subtract(getEntry(pivotRow, j).multiplyBy(factor)));
+                }
+            }
+        }
+    }
+
+    @Override
+    public Fraction[][] toFractions() {
+        Fraction[][] fractions = new Fraction[getHeight()][getWidth()];
+        for (int i = 0; i < fractions.length; i++) {
+            for (int j = 0; j < fractions[i].length; j++) {
+                fractions[i][j] = getEntry(i, j);
+            }
+        }
+        return fractions;
+    }
+
+    /**
+     * Teilt alle Zellen einer Zeile mit Fraction-Arithmetik durch das übergebene Pivotelement.
+     *
+     * @param row Index der zu normierenden Zeile
+     * @param pivotElement der Wert des Pivotelements
+     */
+    private void scaleRowWithFractions(int row, Fraction pivotElement) {
+        for (int j = 0; j < getWidth(); j++) {
+            if (!isZero(row, j)) {
+                setEntry(row, j, getEntry(row, j).divideBy(pivotElement));
+            }
+        }
+    }
+
+    /**
+     * Multipliziert eine Zelle mit dem übergebenen Bruch: a/b * p/q. Die Zelle bleibt unverändert,
+     * wenn ein Zwischenergebnis nicht als long darstellbar ist.
+     *
+     * @param nums Zähler der Zeile
+     * @param dens Nenner der Zeile
+     * @param j Index der Zelle in der Zeile
+     * @param num Zähler p des Faktors
+     * @param den Nenner q des Faktors (positiv)
+     * @return true, wenn das Ergebnis gespeichert wurde, false bei Überlauf
+     */
+    private static boolean multiply(long[] nums, long[] dens, int j, long num, long den) {
+        try {
+            store(nums, dens, j, Math.multiplyExact(nums[j], num),
+                    Math.multiplyExact(dens[j], den));
+            return true;
+        } catch (ArithmeticException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Zieht das Produkt zweier Brüche von einer Zelle ab: a/b - (p/q * f/g). Das Produkt wird vor
+     * der Multiplikation über Kreuz gekürzt und ist damit bereits vollständig gekürzt. Die Zelle
+     * bleibt unverändert, wenn ein Zwischenergebnis nicht als long darstellbar ist.
+     *
+     * @param nums Zähler der Zeile
+     * @param dens Nenner der Zeile
+     * @param j Index der Zelle in der Zeile
+     * @param pNum Zähler p des ersten Faktors
+     * @param pDen Nenner q des ersten Faktors (positiv)
+     * @param fNum Zähler f des zweiten Faktors
+     * @param fDen Nenner g des zweiten Faktors (positiv)
+     * @return true, wenn das Ergebnis gespeichert wurde, false bei Überlauf
+     */
+    private static boolean subtractProduct(long[] nums, long[] dens, int j, long pNum, long pDen,
+            long fNum, long fDen) {
+        long gcd1 = Fraction.gcd(pNum, fDen);
+        long gcd2 = Fraction.gcd(fNum, pDen);
+        try {
+            long prodNum = Math.multiplyExact(pNum / gcd1, fNum / gcd2);
+            long prodDen = Math.multiplyExact(pDen / gcd2, fDen / gcd1);
+
+            // a/b - c/d = (a*d - c*b) / b*d
+            store(nums, dens, j,
+                    Math.subtractExact(Math.multiplyExact(nums[j], prodDen),
+                            Math.multiplyExact(prodNum, dens[j])),
+                    Math.multiplyExact(dens[j], prodDen));
+            return true;
+        } catch (ArithmeticException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Kürzt den übergebenen Bruch vollständig und speichert ihn in einer Zelle.
+     *
+     * @param nums Zähler der Zeile
+     * @param dens Nenner der Zeile
+     * @param j Index der Zelle in der Zeile
+     * @param num zu speichernder Zähler
+     * @param den zu speichernder Nenner
+     * @pre den &gt; 0
+     */
+    private static void store(long[] nums, long[] dens, int j, long num, long den) {
+        long gcd = Fraction.gcd(num, den);
+        nums[j] = num / gcd;
+        dens[j] = den / gcd;
+    }
+
+}
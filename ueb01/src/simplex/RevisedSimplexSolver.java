@@ -0,0 +1,381 @@
+package simplex;
+
+import simplex.SimplexOptions.PivotStrategy;
+import simplex.SimplexSolver.SimplexState;
+
+/**
+ * Ein Automat, der lineare Optimierungsprobleme mit dem revidierten Simplex-Algorithmus löst. Statt
+ * eines vollständigen Tableaus werden nur die unveränderten Restriktionen (siehe
+ * {@link StandardForm}), die Basis mit den Werten ihrer Variablen und eine exakte Zerlegung der
+ * Basismatrix gespeichert (siehe {@link BasisFactorization}). Ein Schritt löst damit zwei
+ * Gleichungssysteme mit der Basismatrix, berechnet die reduzierten Kosten der Spalten und
+ * aktualisiert die Zerlegung in Produktform. Der Aufwand eines Schritts richtet sich so nach der
+ * Größe der Basis und der Anzahl der von 0 verschiedenen Koeffizienten statt nach der Größe des
+ * Tableaus. Nach {@link SimplexOptions#getRefactorizationInterval()} Austauschen wird die
+ * Basismatrix neu zerlegt.
+ *
+ * Mit {@link PivotStrategy#BLAND} wird nach der Regel von Bland gewählt, ansonsten die Spalte mit
+ * den größten reduzierten Kosten. Nach {@value #DEGENERATE_PIVOTS_BEFORE_BLAND} entarteten
+ * Austauschen in Folge wird bis zum nächsten nicht entarteten Austausch ebenfalls nach Bland
+ * gewählt, sodass der Algorithmus auch bei degenerierten Problemen nicht zyklisch dieselben Basen
+ * durchläuft.
+ *
+ * Zustände und Spaltenaufteilung entsprechen {@link SimplexSolver}: Solange künstliche Variablen
+ * in der Basis sind (SimplexState.INVALID_SOLUTION), wird die Summe der künstlichen Variablen
+ * minimiert, deren reduzierte Kosten den Spaltensummen von SimplexSolver entsprechen. Anschließend
+ * (SimplexState.VALID_SOLUTION) wird die eigentliche Zielfunktion optimiert. Künstliche Variablen,
+ * die am Ende der ersten Phase mit dem Wert 0 in der Basis verblieben sind, werden dabei gegen
+ * andere Variablen ausgetauscht, soweit die Restriktionen dies zulassen.
+ *
+ * @author Cedric Heinrich, Clemens Heinrich
+ */
+public class RevisedSimplexSolver implements LinearProgramSolver {
+
+    /** Ungültiger Index um Fehler anzudeuten: {@value #INVALID_INDEX} */
+    private static final int INVALID_INDEX = -1;
+
+    /**
+     * Anzahl entarteter Austausche in Folge, ab der nach der Regel von Bland gewählt wird:
+     * {@value #DEGENERATE_PIVOTS_BEFORE_BLAND}
+     */
+    private static final int DEGENERATE_PIVOTS_BEFORE_BLAND = 8;
+
+    /** Standardform des LOP */
+    private final StandardForm form;
+
+    /** Anzahl der Basisaustausche, nach denen die Basismatrix neu zerlegt wird */
+    private final int refactorizationInterval;
+
+    /** true, wenn immer nach der Regel von Bland gewählt wird */
+    private final boolean bland;
+
+    /** Indices des Basisvariablen */
+    private final int[] baseVars;
+
+    /** Werte der Basisvariablen */
+    private Fraction[] values;
+
+    /** Zerlegung der aktuellen Basismatrix */
+    private BasisFactorization factorization;
+
+    /** Anzahl der bisher ausgeführten Pivotschritte */
+    private int iterationCount;
+
+    /** Anzahl der zuletzt in Folge ausgeführten entarteten Austausche */
+    private int degeneratePivots;
+
+    /** aktueller Zustand des Automaten */
+    private SimplexState state;
+
+    /**
+     * Erstellt einen Automaten aus dem übergebenen linearer Optimierungsproblem. Der Automat
+     * verbleibt in der Ausgangsbasis, d.h. es werden noch keine Optimierungsschritte durchgeführt.
+     *
+     * @param lp lineares Problem, das optimiert werden soll
+     * @pre lp != null
+     */
+    public RevisedSimplexSolver(LinearProgram lp) {
+        this(lp, new SimplexOptions());
+    }
+
+    /**
+     * Erstellt einen Automaten aus dem übergebenen linearer Optimierungsproblem mit den übergebenen
+     * Einstellungen.
+     *
+     * @param lp lineares Problem, das optimiert werden soll
+     * @param options Einstellungen des Automaten
+     * @pre lp != null
+     * @pre options != null
+     */
+    public RevisedSimplexSolver(LinearProgram lp, SimplexOptions options) {
+        assert lp != null;
+        assert options != null;
+
+        this.form = new StandardForm(lp);
+        this.refactorizationInterval = options.getRefactorizationInterval();
+        this.bland = PivotStrategy.BLAND.equals(options.getPivotStrategy());
+        this.baseVars = this.form.getInitialBasis();
+        refactorize();
+
+        // wie SimplexSolver#determineInitialState
+        if (!hasArtificialVarAsBaseVar()) {
+            this.state = SimplexState.VALID_SOLUTION;
+        } else if (restrictionsHaveNegativeRHS()) {
+            this.state = SimplexState.UNSOLVABLE;
+        } else {
+            this.state = SimplexState.INVALID_SOLUTION;
+        }
+    }
+
+    @Override
+    public SimplexState getState() {
+        return this.state;
+    }
+
+    @Override
+    public int getIterationCount() {
+        return this.iterationCount;
+    }
+
+    /**
+     * @return Referenz auf die Indices der Basisvariablen
+     */
+    @Override
+    public int[] getBaseVars() {
+        return this.baseVars;
+    }
+
+    @Override
+    public Fraction[] getSolution() {
+        solve();
+
+        return SimplexState.UNSOLVABLE.equals(this.state) ? null
+                : this.form.toSolution(this.baseVars, this.values);
+    }
+
+    @Override
+    public SimplexState solve() {
+        while (!SimplexState.OPTIMAL.equals(this.state)
+                && !SimplexState.UNSOLVABLE.equals(this.state)) {
+            step();
+        }
+
+        return this.state;
+    }
+
+    /**
+     * Führt einen Schritt des revidierten Simplex-Algorithmus aus: 1. aus den Dualwerten der Basis
+     * werden die reduzierten Kosten berechnet und die Spalte mit den größten positiven reduzierten
+     * Kosten gewählt, 2. die Spalte wird mit der Basismatrix gelöst und die Pivotzeile mit dem
+     * kleinsten Quotienten gewählt, 3. die Variable der Spalte wird gegen die bisherige der
+     * Pivotzeile getauscht und die Zerlegung aktualisiert.
+     *
+     * Gibt es keine Spalte mit positiven reduzierten Kosten, wechselt der Automat im Zustand
+     * SimplexState.VALID_SOLUTION in den Zustand SimplexState.OPTIMAL. Im Zustand
+     * SimplexState.INVALID_SOLUTION wechselt er in den Zustand SimplexState.VALID_SOLUTION, wenn
+     * alle künstlichen Variablen den Wert 0 haben, ansonsten in den Zustand
+     * SimplexState.UNSOLVABLE. Gibt es keine Pivotzeile, ist das Problem unbeschränkt und der
+     * Automat wechselt in den Zustand SimplexState.UNSOLVABLE.
+     */
+    @Override
+    public SimplexState step() {
+        if (!SimplexState.OPTIMAL.equals(this.state)
+                && !SimplexState.UNSOLVABLE.equals(this.state)) {
+            boolean isPhaseOne = SimplexState.INVALID_SOLUTION.equals(this.state);
+            boolean useBland =
+                    this.bland || this.degeneratePivots >= DEGENERATE_PIVOTS_BEFORE_BLAND;
+
+            // 1. Auswahl der Pivotspalte
+            Fraction[] duals = this.factorization.solveTransposed(getBaseCosts(isPhaseOne));
+            int pivotCol = getPivotCol(duals, isPhaseOne, useBland);
+
+            if (pivotCol == INVALID_INDEX) {
+                if (!isPhaseOne) {
+                    this.state = SimplexState.OPTIMAL;
+                } else if (hasArtificialValue()) {
+                    this.state = SimplexState.UNSOLVABLE;
+                } else {
+                    driveOutArtificialVars();
+                    this.state = SimplexState.VALID_SOLUTION;
+                }
+            } else {
+                // 2. Auswahl der Pivotzeile
+                Fraction[] column = this.factorization.solve(this.form.getColumn(pivotCol));
+                int pivotRow = getPivotRow(column, useBland);
+
+                if (pivotRow == INVALID_INDEX) {
+                    this.state = SimplexState.UNSOLVABLE;
+                } else {
+                    // 3. Austausch der Variablen
+                    pivot(pivotRow, pivotCol, column);
+                    if (isPhaseOne && !hasArtificialVarAsBaseVar()) {
+                        this.state = SimplexState.VALID_SOLUTION;
+                    }
+                }
+            }
+        }
+
+        return this.state;
+    }
+
+    /**
+     * Liefert die Kosten der Basisvariablen. In der ersten Phase hat jede künstliche Variable die
+     * Kosten -1, alle anderen 0, ansonsten gelten die Kosten der zu maximierenden Zielfunktion.
+     *
+     * @param isPhaseOne true in der ersten Phase
+     * @return Kosten je Basisvariable
+     */
+    private Fraction[] getBaseCosts(boolean isPhaseOne) {
+        Fraction[] costs = new Fraction[this.baseVars.length];
+        for (int i = 0; i < costs.length; i++) {
+            if (isPhaseOne) {
+                costs[i] = isArtificial(this.baseVars[i]) ? Fraction.MINUS_ONE : Fraction.ZERO;
+            } else {
+                costs[i] = this.form.getCost(this.baseVars[i]);
+            }
+        }
+        return costs;
+    }
+
+    /**
+     * Liefert die Spalte mit den größten positiven reduzierten Kosten c_j - y * A_j bzw. nach
+     * Bland die erste Spalte mit positiven reduzierten Kosten. Künstliche Variablen werden nie in
+     * die Basis aufgenommen, die Spalten von Basisvariablen haben die reduzierten Kosten 0.
+     *
+     * @param duals Dualwerte y der Basis
+     * @param isPhaseOne true in der ersten Phase
+     * @param useBland true, wenn nach der Regel von Bland gewählt wird
+     * @return den Index der Pivotspalte oder {@link #INVALID_INDEX}
+     */
+    private int getPivotCol(Fraction[] duals, boolean isPhaseOne, boolean useBland) {
+        int maxIndex = INVALID_INDEX;
+        Fraction maxValue = Fraction.ZERO;
+        for (int j = 0; j < this.form.getOffsetArtificialVariable(); j++) {
+            Fraction cost = isPhaseOne ? Fraction.ZERO : this.form.getCost(j);
+            Fraction reducedCost = cost.subtract(this.form.dot(duals, j));
+            if (reducedCost.compareTo(maxValue) > 0) {
+                maxIndex = j;
+                maxValue = reducedCost;
+                if (useBland) {
+                    break;
+                }
+            }
+        }
+        return maxIndex;
+    }
+
+    /**
+     * Liefert die Pivotzeile mit dem kleinsten Quotienten aus dem Wert der Basisvariablen und dem
+     * positiven Wert der gelösten Pivotspalte. Bei gleichen Quotienten wird nach Bland die Zeile
+     * mit der kleinsten Basisvariablen gewählt, ansonsten die erste.
+     *
+     * @param column die mit der Basismatrix gelöste Pivotspalte
+     * @param useBland true, wenn nach der Regel von Bland gewählt wird
+     * @return den Index der Pivotzeile oder {@link #INVALID_INDEX}
+     */
+    private int getPivotRow(Fraction[] column, boolean useBland) {
+        int minIndex = INVALID_INDEX;
+        Fraction minValue = null;
+        for (int i = 0; i < column.length; i++) {
+            if (column[i].signum() > 0) {
+                Fraction quotient = this.values[i].divideBy(column[i]);
+                int cmp = minValue == null ? -1 : quotient.compareTo(minValue);
+                if (cmp < 0
+                        || (cmp == 0 && useBland && this.baseVars[i] < this.baseVars[minIndex])) {
+                    minIndex = i;
+                    minValue = quotient;
+                }
+            }
+        }
+        return minIndex;
+    }
+
+    /**
+     * Nimmt eine Variable an Stelle der Basisvariablen einer Zeile in die Basis auf.
+     *
+     * @param pivotRow Index der Pivotzeile
+     * @param pivotCol Index der aufzunehmenden Spalte
+     * @param column die mit der Basismatrix gelöste Pivotspalte
+     */
+    private void pivot(int pivotRow, int pivotCol, Fraction[] column) {
+        Fraction theta = this.values[pivotRow].divideBy(column[pivotRow]);
+        this.degeneratePivots = theta.signum() == 0 ? this.degeneratePivots + 1 : 0;
+        if (theta.signum() != 0) {
+            for (int i = 0; i < this.values.length; i++) {
+                if (column[i].signum() != 0) {
+                    this.values[i] = this.values[i].subtract(theta.multiplyBy(column[i]));
+                }
+            }
+        }
+        this.values[pivotRow] = theta;
+        this.baseVars[pivotRow] = pivotCol;
+        this.iterationCount++;
+
+        if (this.factorization.getUpdateCount() >= this.refactorizationInterval) {
+            refactorize();
+        } else {
+            this.factorization.update(pivotRow, column);
+        }
+    }
+
+    /**
+     * Zerlegt die Basismatrix neu und berechnet die Werte der Basisvariablen.
+     */
+    private void refactorize() {
+        this.factorization = new BasisFactorization(this.form.getBasisMatrix(this.baseVars));
+        Fraction[] rhs = new Fraction[this.baseVars.length];
+        for (int i = 0; i < rhs.length; i++) {
+            rhs[i] = this.form.getRightSide(i);
+        }
+        this.values = this.factorization.solve(rhs);
+    }
+
+    /**
+     * Tauscht künstliche Variablen mit dem Wert 0 gegen Variablen aus, deren Koeffizient in der
+     * Zeile der künstlichen Variablen (Zeile von B^-1 * A) von 0 verschieden ist. Da der Wert 0
+     * ist, bleiben dabei alle Werte unverändert. Gibt es keine solche Variable, ist die Restriktion
+     * redundant und die künstliche Variable behält dauerhaft den Wert 0.
+     */
+    private void driveOutArtificialVars() {
+        for (int i = 0; i < this.baseVars.length; i++) {
+            if (isArtificial(this.baseVars[i])) {
+                Fraction[] unit = new Fraction[this.baseVars.length];
+                for (int k = 0; k < unit.length; k++) {
+                    unit[k] = k == i ? Fraction.ONE : Fraction.ZERO;
+                }
+                Fraction[] row = this.factorization.solveTransposed(unit);
+                for (int j = 0; j < this.form.getOffsetArtificialVariable(); j++) {
+                    if (this.form.dot(row, j).signum() != 0) {
+                        pivot(i, j, this.factorization.solve(this.form.getColumn(j)));
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * @param col Index einer Spalte
+     * @return true, wenn die Spalte zu einer künstlichen Variablen gehört
+     */
+    private boolean isArtificial(int col) {
+        return col >= this.form.getOffsetArtificialVariable();
+    }
+
+    /**
+     * @return true, wenn eine künstliche Variable als Basis benutzt wird
+     */
+    private boolean hasArtificialVarAsBaseVar() {
+        for (int baseVar : this.baseVars) {
+            if (isArtificial(baseVar)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return true, wenn eine künstliche Variable der Basis einen von 0 verschiedenen Wert hat
+     */
+    private boolean hasArtificialValue() {
+        for (int i = 0; i < this.baseVars.length; i++) {
+            if (isArtificial(this.baseVars[i]) && this.values[i].signum() != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return true, wenn eine Restriktion eine negative RHS hat
+     */
+    private boolean restrictionsHaveNegativeRHS() {
+        for (int i = 0; i < this.form.getNumRows(); i++) {
+            if (this.form.getRightSide(i).signum() < 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
@@ -0,0 +1,98 @@
+package simplex;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Reduziert einen Bereich von Zeilen eines Tableaus mit Fork/Join. Nach dem Normieren der
+ * Pivotzeile sind die übrigen Zeilen voneinander unabhängig, der Bereich wird daher so lange
+ * halbiert, bis er höchstens {@link #rowsPerTask} Zeilen umfasst, die dann nacheinander reduziert
+ * werden.
+ *
+ * @author Cedric Heinrich, Clemens Heinrich
+ */
+final class RowReductionTask extends RecursiveAction {
+
+    /** Teilaufgaben je Thread des Pools, um unterschiedlich aufwändige Zeilen auszugleichen */
+    private static final int TASKS_PER_THREAD = 4;
+
+    /** zu reduzierendes Tableau */
+    private final transient Tableau table;
+
+    /** Index der Pivotzeile */
+    private final int pivotRow;
+
+    /** Index der Pivotspalte */
+    private final int pivotCol;
+
+    /** Index der ersten Zeile des Bereichs */
+    private final int from;
+
+    /** Index hinter der letzten Zeile des Bereichs */
+    private final int to;
+
+    /** Anzahl der Zeilen, ab der ein Bereich weiter aufgeteilt wird */
+    private final int rowsPerTask;
+
+    /**
+     * Erstellt die Aufgabe für einen Bereich von Zeilen.
+     *
+     * @param table zu reduzierendes Tableau
+     * @param pivotRow Index der Pivotzeile
+     * @param pivotCol Index der Pivotspalte
+     * @param from Index der ersten Zeile des Bereichs
+     * @param to Index hinter der letzten Zeile des Bereichs
+     * @param rowsPerTask Anzahl der Zeilen, ab der ein Bereich weiter aufgeteilt wird
+     */
+    private RowReductionTask(Tableau table, int pivotRow, int pivotCol, int from, int to,
+            int rowsPerTask) {
+        this.table = table;
+        this.pivotRow = pivotRow;
+        this.pivotCol = pivotCol;
+        this.from = from;
+        this.to = to;
+        this.rowsPerTask = rowsPerTask;
+    }
+
+    /**
+     * Reduziert alle Zeilen außer der Pivotzeile wie {@link Tableau#reduceRows}. Hat das Tableau
+     * mindestens minRows Zeilen und ist ein Pool angegeben, werden die Zeilen parallel in dem Pool
+     * reduziert, ansonsten nacheinander im aufrufenden Thread.
+     *
+     * @param table zu reduzierendes Tableau
+     * @param pivotRow Index der (bereits normierten) Pivotzeile
+     * @param pivotCol Index der Pivotspalte
+     * @param pool Pool für die parallele Reduktion oder null
+     * @param minRows Anzahl der Zeilen, ab der parallel reduziert wird
+     */
+    static void reduceRows(Tableau table, int pivotRow, int pivotCol, ForkJoinPool pool,
+            int minRows) {
+        int height = table.getHeight();
+        if (pool == null || height < minRows) {
+            table.reduceRows(pivotRow, pivotCol);
+        } else {
+            int rowsPerTask = Math.max(1, height / (pool.getParallelism() * TASKS_PER_THREAD));
+            pool.invoke(new RowReductionTask(table, pivotRow, pivotCol, 0, height, rowsPerTask));
+        }
+    }
+
+    @Override
+    protected void compute() {
+        if (this.to - this.from <= this.rowsPerTask) {
+            for (int i = this.from; i < this.to; i++) {
+                // Pivotzeile auslassen
+                if (i != this.pivotRow) {
+                    this.table.reduceRow(i, this.pivotRow, this.pivotCol);
+                }
+            }
+        } else {
+            int mid = (this.from + this.to) >>> 1;
+            invokeAll(
+                    new RowReductionTask(this.table, this.pivotRow, this.pivotCol, this.from, mid,
+                            this.rowsPerTask),
+                    new RowReductionTask(this.table, this.pivotRow, this.pivotCol, mid, this.to,
+                            this.rowsPerTask));
+        }
+    }
+
+}
@@ -0,0 +1,136 @@
+package simplex;
+
+/**
+ * Sensitivitätsanalyse einer optimalen Lösung, wie sie
+ * {@link SimplexSolver#getSensitivityAnalysis()} direkt aus dem optimalen Tableau abliest:
+ * Schattenpreise der Restriktionen, reduzierte Kosten der Entscheidungsvariablen und die Bereiche
+ * der rechten Seiten und Zielfunktionskoeffizienten, in denen die optimale Basis erhalten bleibt.
+ * Alle Werte beziehen sich auf das LOP in seiner gegebenen Form, d.h. mit der gegebenen
+ * Optimierungsrichtung und den Restriktionen ohne Negation.
+ *
+ * Bei einer degenerierten optimalen Lösung gelten die Bereiche für die gefundene Basis; eine
+ * andere optimale Basis kann andere Bereiche und Schattenpreise haben.
+ *
+ * @author Cedric Heinrich, Clemens Heinrich
+ */
+public final class SensitivityAnalysis {
+
+    /** Schattenpreise je Restriktion */
+    private final Fraction[] shadowPrices;
+
+    /** reduzierte Kosten je Entscheidungsvariable */
+    private final Fraction[] reducedCosts;
+
+    /** Bereiche der rechten Seiten je Restriktion */
+    private final Range[] rightSideRanges;
+
+    /** Bereiche der Zielfunktionskoeffizienten je Entscheidungsvariable */
+    private final Range[] objectiveRanges;
+
+    /**
+     * Übernimmt die aus dem Tableau abgelesenen Werte.
+     *
+     * @param shadowPrices Schattenpreise je Restriktion
+     * @param reducedCosts reduzierte Kosten je Entscheidungsvariable
+     * @param rightSideRanges Bereiche der rechten Seiten je Restriktion
+     * @param objectiveRanges Bereiche der Zielfunktionskoeffizienten je Entscheidungsvariable
+     */
+    SensitivityAnalysis(Fraction[] shadowPrices, Fraction[] reducedCosts,
+            Range[] rightSideRanges, Range[] objectiveRanges) {
+        this.shadowPrices = shadowPrices;
+        this.reducedCosts = reducedCosts;
+        this.rightSideRanges = rightSideRanges;
+        this.objectiveRanges = objectiveRanges;
+    }
+
+    /**
+     * @return je Restriktion die Änderung des optimalen Werts der Zielfunktion je Einheit, um die
+     *         ihre rechte Seite erhöht wird (Wert der dualen Variablen), gültig innerhalb von
+     *         {@link #getRightSideRanges()}
+     */
+    public Fraction[] getShadowPrices() {
+        return this.shadowPrices.clone();
+    }
+
+    /**
+     * @return je Entscheidungsvariable c_j - y * A_j, d.h. die Änderung des Werts der Zielfunktion
+     *         je Einheit, um die eine Nichtbasisvariable erhöht wird; 0 für Basisvariablen
+     */
+    public Fraction[] getReducedCosts() {
+        return this.reducedCosts.clone();
+    }
+
+    /**
+     * @return je Restriktion der Bereich ihrer rechten Seite, in dem die optimale Basis zulässig
+     *         bleibt, wenn alle übrigen Werte unverändert sind
+     */
+    public Range[] getRightSideRanges() {
+        return this.rightSideRanges.clone();
+    }
+
+    /**
+     * @return je Entscheidungsvariable der Bereich ihres Zielfunktionskoeffizienten, in dem die
+     *         optimale Basis optimal bleibt, wenn alle übrigen Werte unverändert sind
+     */
+    public Range[] getObjectiveRanges() {
+        return this.objectiveRanges.clone();
+    }
+
+    /**
+     * Abgeschlossener Bereich, der nach unten oder oben unbeschränkt sein kann
+     */
+    public static final class Range {
+
+        /** untere Grenze oder null, wenn unbeschränkt */
+        private final Fraction lower;
+
+        /** obere Grenze oder null, wenn unbeschränkt */
+        private final Fraction upper;
+
+        /**
+         * @param lower untere Grenze oder null, wenn unbeschränkt
+         * @param upper obere Grenze oder null, wenn unbeschränkt
+         * @pre lower == null || upper == null || lower &le; upper
+         */
+        Range(Fraction lower, Fraction upper) {
+            assert lower == null || upper == null || lower.compareTo(upper) <= 0;
+
+            this.lower = lower;
+            this.upper = upper;
+        }
+
+        /**
+         * @return untere Grenze oder null, wenn der Bereich nach unten unbeschränkt ist
+         */
+        public Fraction getLower() {
+            return this.lower;
+        }
+
+        /**
+         * @return obere Grenze oder null, wenn der Bereich nach oben unbeschränkt ist
+         */
+        public Fraction getUpper() {
+            return this.upper;
+        }
+
+        /**
+         * @param value ein Wert
+         * @return true, wenn der Wert im Bereich liegt
+         * @pre value != null
+         */
+        public boolean contains(Fraction value) {
+            assert value != null;
+
+            return (this.lower == null || this.lower.compareTo(value) <= 0)
+                    && (this.upper == null || this.upper.compareTo(value) >= 0);
+        }
+
+        @Override
+        public String toString() {
+            return "[" + (this.lower == null ? "-inf" : this.lower) + ", "
+                    + (this.upper == null ? "inf" : this.upper) + "]";
+        }
+
+    }
+
+}
@@ -0,0 +1,267 @@
+package simplex;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import simplex.SimplexSolver.SimplexState;
+
+/**
+ * Löst viele voneinander unabhängige lineare Optimierungsprobleme gleichzeitig in einem
+ * Fork/Join-Pool. Die Probleme werden wie bei {@link RowReductionTask} in Bereiche aufgeteilt,
+ * die sich die Threads des Pools gegenseitig abnehmen können (Work-Stealing), sodass auch
+ * unterschiedlich aufwändige Probleme gleichmäßig verteilt werden.
+ *
+ * Je Aufruf von {@link #solve(Collection)} werden nur so viele {@link SimplexWorkspace} mit einem
+ * Tableau in der Größe des größten Problems angelegt, wie Teilaufgaben gleichzeitig lösen, und
+ * für alle weiteren Probleme wiederverwendet. Die Speicherart dieses Tableaus wird mit
+ * {@link SimplexOptions#setTableauStorage} für das größte Problem gewählt. Nach dem Aufruf hält
+ * der Löser keinen der Arbeitsbereiche mehr.
+ *
+ * @author Cedric Heinrich, Clemens Heinrich
+ */
+public final class SimplexBatchSolver {
+
+    /** Teilaufgaben je Thread des Pools, um unterschiedlich aufwändige Probleme auszugleichen */
+    private static final int TASKS_PER_THREAD = 4;
+
+    /** Pool, in dem die Probleme gelöst werden */
+    private final ForkJoinPool pool;
+
+    /** Einstellungen der Automaten */
+    private final SimplexOptions options;
+
+    /**
+     * Erstellt einen Löser, der im gemeinsamen Pool mit den Standardeinstellungen löst.
+     */
+    public SimplexBatchSolver() {
+        this(ForkJoinPool.commonPool(), new SimplexOptions());
+    }
+
+    /**
+     * Erstellt einen Löser, der im übergebenen Pool mit den übergebenen Einstellungen löst.
+     *
+     * @param pool Pool, in dem die Probleme gelöst werden
+     * @param options Einstellungen der Automaten, werden während des Lösens nur gelesen
+     * @pre pool != null
+     * @pre options != null
+     */
+    public SimplexBatchSolver(ForkJoinPool pool, SimplexOptions options) {
+        assert pool != null;
+        assert options != null;
+
+        this.pool = pool;
+        this.options = options;
+    }
+
+    /**
+     * Löst alle übergebenen Probleme und wartet, bis alle gelöst sind.
+     *
+     * @param programs die zu lösenden Probleme
+     * @return die Ergebnisse in der Reihenfolge der Probleme
+     * @pre programs != null
+     */
+    public List<Result> solve(Collection<LinearProgram> programs) {
+        assert programs != null;
+
+        LinearProgram[] lps = programs.toArray(new LinearProgram[programs.size()]);
+        Result[] results = new Result[lps.length];
+        if (lps.length > 0) {
+            int programsPerTask =
+                    Math.max(1, lps.length / (this.pool.getParallelism() * TASKS_PER_THREAD));
+            this.pool.invoke(new BatchTask(lps, results, new Workspaces(lps), 0, lps.length,
+                    programsPerTask));
+        }
+        return Collections.unmodifiableList(Arrays.asList(results));
+    }
+
+    /**
+     * Arbeitsbereiche eines Aufrufs von {@link #solve(Collection)}, die sich die Teilaufgaben
+     * nacheinander ausleihen. Ein neuer Arbeitsbereich mit einem Tableau in der Größe des
+     * größten Problems wird nur angelegt, wenn gerade keiner frei ist.
+     */
+    private final class Workspaces {
+
+        /** freie Arbeitsbereiche */
+        private final Queue<SimplexWorkspace> idle = new ConcurrentLinkedQueue<>();
+
+        /** Anzahl der Zeilen des größten Tableaus */
+        private final int height;
+
+        /** Anzahl der Spalten des größten Tableaus */
+        private final int width;
+
+        /** Anzahl der von 0 verschiedenen Zellen des Ausgangstableaus mit der größten Fläche */
+        private final long nonZeros;
+
+        /**
+         * Ermittelt die Größe der Tableaus aus den zu lösenden Problemen.
+         *
+         * @param lps die zu lösenden Probleme
+         * @pre lps.length &gt; 0
+         */
+        private Workspaces(LinearProgram[] lps) {
+            int maxHeight = 0;
+            int maxWidth = 0;
+            long maxArea = -1;
+            LinearProgram largest = lps[0];
+            for (LinearProgram lp : lps) {
+                int lpHeight = lp.getRestrictions().length + 1;
+                int lpWidth = lp.getObjectiveTerm().length + 2 * lp.getRestrictions().length + 1;
+                long area = (long) lpHeight * lpWidth;
+                if (area > maxArea) {
+                    maxArea = area;
+                    largest = lp;
+                }
+                maxHeight = Math.max(maxHeight, lpHeight);
+                maxWidth = Math.max(maxWidth, lpWidth);
+            }
+            this.height = maxHeight;
+            this.width = maxWidth;
+            this.nonZeros = SimplexSolver.countNonZeros(largest);
+        }
+
+        /**
+         * @return ein freier oder neu angelegter Arbeitsbereich, der bis zur Rückgabe mit
+         *         {@link #release(SimplexWorkspace)} nur vom aufrufenden Thread verwendet wird
+         */
+        private SimplexWorkspace acquire() {
+            SimplexWorkspace workspace = this.idle.poll();
+            if (workspace == null) {
+                workspace = new SimplexWorkspace(SimplexBatchSolver.this.options);
+                workspace.getTableau(this.height, this.width, this.nonZeros);
+            }
+            return workspace;
+        }
+
+        /**
+         * @param workspace ein mit {@link #acquire()} ausgeliehener Arbeitsbereich
+         */
+        private void release(SimplexWorkspace workspace) {
+            this.idle.offer(workspace);
+        }
+
+    }
+
+    /**
+     * Ergebnis eines Problems
+     */
+    public static final class Result {
+
+        /** Endzustand des Automaten */
+        private final SimplexState state;
+
+        /** optimale Koeffizienten und Wert der Zielfunktion oder null */
+        private final Fraction[] solution;
+
+        /** Anzahl der ausgeführten Pivotschritte */
+        private final int iterationCount;
+
+        /**
+         * Übernimmt das Ergebnis eines gelösten Automaten.
+         *
+         * @param solver der Automat im Endzustand
+         */
+        private Result(SimplexSolver solver) {
+            this.state = solver.getState();
+            this.solution = solver.getSolution();
+            this.iterationCount = solver.getIterationCount();
+        }
+
+        /**
+         * @return Endzustand des Automaten (SimplexState.OPTIMAL oder SimplexState.UNSOLVABLE)
+         */
+        public SimplexState getState() {
+            return this.state;
+        }
+
+        /**
+         * @return optimale Koeffizienten und Wert der Zielfunktion wie
+         *         {@link SimplexSolver#getSolution()} oder null, wenn das Problem unlösbar ist
+         */
+        public Fraction[] getSolution() {
+            return this.solution == null ? null : this.solution.clone();
+        }
+
+        /**
+         * @return Anzahl der ausgeführten Pivotschritte
+         */
+        public int getIterationCount() {
+            return this.iterationCount;
+        }
+
+    }
+
+    /**
+     * Löst einen Bereich der Probleme, der so lange halbiert wird, bis er höchstens
+     * programsPerTask Probleme umfasst.
+     */
+    private final class BatchTask extends RecursiveAction {
+
+        /** alle Probleme */
+        private final transient LinearProgram[] lps;
+
+        /** Ergebnisse je Problem */
+        private final transient Result[] results;
+
+        /** Arbeitsbereiche dieses Aufrufs */
+        private final transient Workspaces workspaces;
+
+        /** Index des ersten Problems des Bereichs */
+        private final int from;
+
+        /** Index hinter dem letzten Problem des Bereichs */
+        private final int to;
+
+        /** Anzahl der Probleme, ab der ein Bereich weiter aufgeteilt wird */
+        private final int programsPerTask;
+
+        /**
+         * Erstellt die Aufgabe für einen Bereich der Probleme.
+         *
+         * @param lps alle Probleme
+         * @param results Ergebnisse je Problem
+         * @param workspaces Arbeitsbereiche dieses Aufrufs
+         * @param from Index des ersten Problems des Bereichs
+         * @param to Index hinter dem letzten Problem des Bereichs
+         * @param programsPerTask Anzahl der Probleme, ab der ein Bereich weiter aufgeteilt wird
+         */
+        private BatchTask(LinearProgram[] lps, Result[] results,
+                Workspaces workspaces, int from, int to, int programsPerTask) {
+            this.lps = lps;
+            this.results = results;
+            this.workspaces = workspaces;
+            this.from = from;
+            this.to = to;
+            this.programsPerTask = programsPerTask;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.to - this.from <= this.programsPerTask) {
+                // Führt der Thread beim Warten auf eine parallele Zeilenreduktion eine andere
+                // Aufgabe aus, leiht diese einen anderen Arbeitsbereich aus
+                SimplexWorkspace workspace = this.workspaces.acquire();
+                for (int i = this.from; i < this.to; i++) {
+                    SimplexSolver solver = workspace.load(this.lps[i]);
+                    solver.solve();
+                    this.results[i] = new Result(solver);
+                }
+                this.workspaces.release(workspace);
+            } else {
+                int mid = (this.from + this.to) >>> 1;
+                invokeAll(new BatchTask(this.lps, this.results, this.workspaces, this.from, mid,
+                        this.programsPerTask),
+                        new BatchTask(this.lps, this.results, this.workspaces, mid, this.to,
+                                this.programsPerTask));
+            }
+        }
+
+    }
+
+}
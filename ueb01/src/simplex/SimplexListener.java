@@ -0,0 +1,21 @@
+package simplex;
+
+/**
+ * Wird von {@link SimplexSolver} nach jedem Simplexschritt benachrichtigt, z.B. um langsame
+ * Lösungen zu protokollieren (siehe {@link SimplexOptions#setListener}). Der Listener wird im
+ * Thread des Schritts aufgerufen und sollte das Tableau nicht verändern.
+ *
+ * @author Cedric Heinrich, Clemens Heinrich
+ */
+public interface SimplexListener {
+
+    /**
+     * Wird am Ende jedes Aufrufs von {@link SimplexSolver#step()} aufgerufen.
+     *
+     * @param solver der Automat nach dem Schritt
+     * @param statistics die bisher gesammelten Messwerte des Automaten, einschließlich des
+     *            Schritts
+     */
+    void stepPerformed(SimplexSolver solver, SimplexStatistics statistics);
+
+}
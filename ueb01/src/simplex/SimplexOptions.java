@@ -0,0 +1,407 @@
+package simplex;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Einstellungen, mit denen ein {@link SimplexSolver} erstellt wird. Die Einstellungen werden bei
+ * der Erstellung des Automaten ausgelesen, spätere Änderungen wirken sich nur auf danach erstellte
+ * Automaten aus.
+ *
+ * @author Cedric Heinrich, Clemens Heinrich
+ */
+public final class SimplexOptions {
+
+    /**
+     * Art der Speicherung des Simplex-Tableaus
+     */
+    public enum TableauStorage {
+        /** Fraction-Matrix, jede Zeilenoperation erzeugt neue Fraction-Instanzen */
+        FRACTION,
+        /** parallele long-Matrizen für Zähler und Nenner, die direkt verändert werden */
+        PRIMITIVE,
+        /** komprimierte Zeilen aus Spaltenindizes und den von 0 verschiedenen Werten */
+        SPARSE,
+        /**
+         * {@link #SPARSE}, wenn der Anteil der von 0 verschiedenen Zellen des Ausgangstableaus
+         * höchstens {@link SimplexOptions#getSparseDensityThreshold()} beträgt, ansonsten
+         * {@link #FRACTION}
+         */
+        AUTO
+    }
+
+    /**
+     * Regel für die Wahl von Pivotspalte und Pivotzeile
+     */
+    public enum PivotStrategy {
+        /**
+         * größte Bewertung, bei gleichen Quotienten die erste Zeile (Verhalten gemäß
+         * Aufgabenstellung, Zeilen mit rechter Seite 0 werden nicht gewählt)
+         */
+        DANTZIG,
+        /** kleinster Spaltenindex, bei gleichen Quotienten die kleinste Basisvariable */
+        BLAND,
+        /** größte Bewertung im Verhältnis zur Kantenlänge, jeweils neu berechnet */
+        STEEPEST_EDGE,
+        /** größte Bewertung im Verhältnis zu schrittweise aktualisierten Gewichten */
+        DEVEX
+    }
+
+    /** Standardwert für {@link #getSparseDensityThreshold()}: {@value #DEFAULT_SPARSE_DENSITY} */
+    public static final double DEFAULT_SPARSE_DENSITY = 0.1;
+
+    /** Standardwert für {@link #getParallelMinRows()}: {@value #DEFAULT_PARALLEL_MIN_ROWS} */
+    public static final int DEFAULT_PARALLEL_MIN_ROWS = 256;
+
+    /** Standardwert für {@link #getTolerance()}: {@value #DEFAULT_TOLERANCE} */
+    public static final double DEFAULT_TOLERANCE = 1e-9;
+
+    /**
+     * Standardwert für {@link #getRefactorizationInterval()}:
+     * {@value #DEFAULT_REFACTORIZATION_INTERVAL}
+     */
+    public static final int DEFAULT_REFACTORIZATION_INTERVAL = 32;
+
+    /** Art der Speicherung des Simplex-Tableaus */
+    private TableauStorage tableauStorage = TableauStorage.FRACTION;
+
+    /** Regel für die Wahl von Pivotspalte und Pivotzeile */
+    private PivotStrategy pivotStrategy = PivotStrategy.DANTZIG;
+
+    /** Dichte, bis zu der {@link TableauStorage#AUTO} die dünnbesetzte Speicherung wählt */
+    private double sparseDensityThreshold = DEFAULT_SPARSE_DENSITY;
+
+    /** Pool, in dem die Zeilen parallel reduziert werden, oder null */
+    private ForkJoinPool rowReductionPool;
+
+    /** Anzahl der Tableauzeilen, ab der die Zeilen parallel reduziert werden */
+    private int parallelMinRows = DEFAULT_PARALLEL_MIN_ROWS;
+
+    /** Toleranz, bis zu der ein double-Wert als 0 gilt */
+    private double tolerance = DEFAULT_TOLERANCE;
+
+    /** Anzahl der Basisaustausche, nach denen die Basismatrix neu zerlegt wird */
+    private int refactorizationInterval = DEFAULT_REFACTORIZATION_INTERVAL;
+
+    /** true, wenn {@link SimplexSolver} mit dem dualen Simplex-Algorithmus startet */
+    private boolean dualSimplex;
+
+    /** true, wenn {@link SimplexSolver} nur die benötigten künstlichen Variablen anlegt */
+    private boolean compactArtificialVariables;
+
+    /** true, wenn {@link SimplexSolver} Messwerte sammelt */
+    private boolean collectStatistics;
+
+    /** Listener, der nach jedem Simplexschritt benachrichtigt wird, oder null */
+    private SimplexListener listener;
+
+    /**
+     * Erstellt Einstellungen mit den Standardwerten.
+     */
+    public SimplexOptions() {
+        // Standardwerte werden bei der Deklaration gesetzt
+    }
+
+    /**
+     * @return Art der Speicherung des Simplex-Tableaus
+     */
+    public TableauStorage getTableauStorage() {
+        return this.tableauStorage;
+    }
+
+    /**
+     * Setzt die Art der Speicherung des Simplex-Tableaus (Standard:
+     * {@link TableauStorage#FRACTION}). Das Ergebnis der Optimierung ist unabhängig von der
+     * gewählten Speicherung. Nur für ein als Fraction-Matrix gespeichertes Tableau liefert
+     * {@link SimplexSolver#getTable()} eine Referenz, ansonsten eine Momentaufnahme.
+     *
+     * @param tableauStorage zu verwendende Speicherung
+     * @return diese Einstellungen
+     * @pre tableauStorage != null
+     */
+    public SimplexOptions setTableauStorage(TableauStorage tableauStorage) {
+        assert tableauStorage != null;
+
+        this.tableauStorage = tableauStorage;
+        return this;
+    }
+
+    /**
+     * @return Regel für die Wahl von Pivotspalte und Pivotzeile
+     */
+    public PivotStrategy getPivotStrategy() {
+        return this.pivotStrategy;
+    }
+
+    /**
+     * Setzt die Regel, nach der {@link SimplexSolver} Pivotspalte und Pivotzeile wählt (Standard:
+     * {@link PivotStrategy#DANTZIG}). Die Regeln unterscheiden sich in der Anzahl der Schritte
+     * (siehe {@link SimplexSolver#getIterationCount()}) und im Aufwand je Schritt. Nur
+     * {@link PivotStrategy#BLAND} schließt aus, dass der Algorithmus bei degenerierten Problemen
+     * zyklisch dieselben Basen durchläuft. {@link DoubleSimplexSolver} und
+     * {@link RevisedSimplexSolver} wählen mit {@link PivotStrategy#BLAND} nach Bland und mit den
+     * übrigen Regeln die Spalte mit dem größten Wert, bis sie nach mehreren entarteten Schritten
+     * in Folge ebenfalls nach Bland wählen.
+     *
+     * @param pivotStrategy zu verwendende Regel
+     * @return diese Einstellungen
+     * @pre pivotStrategy != null
+     */
+    public SimplexOptions setPivotStrategy(PivotStrategy pivotStrategy) {
+        assert pivotStrategy != null;
+
+        this.pivotStrategy = pivotStrategy;
+        return this;
+    }
+
+    /**
+     * @return Dichte, bis zu der {@link TableauStorage#AUTO} die dünnbesetzte Speicherung wählt
+     */
+    public double getSparseDensityThreshold() {
+        return this.sparseDensityThreshold;
+    }
+
+    /**
+     * Setzt die Dichte (Anteil der von 0 verschiedenen Zellen des Ausgangstableaus), bis zu der
+     * {@link TableauStorage#AUTO} die dünnbesetzte Speicherung {@link TableauStorage#SPARSE} wählt
+     * (Standard: {@value #DEFAULT_SPARSE_DENSITY}).
+     *
+     * @param sparseDensityThreshold Dichte zwischen 0 und 1
+     * @return diese Einstellungen
+     * @pre 0 &lt;= sparseDensityThreshold &lt;= 1
+     */
+    public SimplexOptions setSparseDensityThreshold(double sparseDensityThreshold) {
+        assert sparseDensityThreshold >= 0 && sparseDensityThreshold <= 1;
+
+        this.sparseDensityThreshold = sparseDensityThreshold;
+        return this;
+    }
+
+    /**
+     * @return Pool, in dem die Zeilen parallel reduziert werden, oder null, wenn die Zeilen
+     *         nacheinander reduziert werden
+     */
+    public ForkJoinPool getRowReductionPool() {
+        return this.rowReductionPool;
+    }
+
+    /**
+     * Setzt den Pool, in dem die Zeilen des Tableaus bei einem Simplexschritt parallel reduziert
+     * werden (Standard: null, d.h. nacheinander im aufrufenden Thread). Parallel reduziert wird
+     * nur bei Tableaus mit mindestens {@link #getParallelMinRows()} Zeilen, da sich die
+     * Aufteilung bei kleinen Tableaus nicht lohnt. Das Ergebnis der Optimierung ist unabhängig
+     * davon, ob parallel reduziert wird.
+     *
+     * @param rowReductionPool Pool, z.B. {@link ForkJoinPool#commonPool()}, oder null
+     * @return diese Einstellungen
+     */
+    public SimplexOptions setRowReductionPool(ForkJoinPool rowReductionPool) {
+        this.rowReductionPool = rowReductionPool;
+        return this;
+    }
+
+    /**
+     * @return Anzahl der Tableauzeilen, ab der die Zeilen parallel reduziert werden
+     */
+    public int getParallelMinRows() {
+        return this.parallelMinRows;
+    }
+
+    /**
+     * Setzt die Anzahl der Tableauzeilen, ab der die Zeilen parallel in dem Pool aus
+     * {@link #setRowReductionPool} reduziert werden
+     * (Standard: {@value #DEFAULT_PARALLEL_MIN_ROWS}).
+     *
+     * @param parallelMinRows Anzahl der Zeilen
+     * @return diese Einstellungen
+     * @pre parallelMinRows &gt;= 0
+     */
+    public SimplexOptions setParallelMinRows(int parallelMinRows) {
+        assert parallelMinRows >= 0;
+
+        this.parallelMinRows = parallelMinRows;
+        return this;
+    }
+
+    /**
+     * @return Toleranz, bis zu der ein double-Wert als 0 gilt
+     */
+    public double getTolerance() {
+        return this.tolerance;
+    }
+
+    /**
+     * Setzt die Toleranz, bis zu der ein Wert im double-Tableau von {@link DoubleSimplexSolver}
+     * als 0 gilt (Standard: {@value #DEFAULT_TOLERANCE}). Sie betrifft nur die Wahl von
+     * Pivotspalte und Pivotzeile, die Lösung wird anschließend exakt berechnet.
+     *
+     * @param tolerance nicht-negative Toleranz
+     * @return diese Einstellungen
+     * @pre tolerance &gt;= 0
+     */
+    public SimplexOptions setTolerance(double tolerance) {
+        assert tolerance >= 0;
+
+        this.tolerance = tolerance;
+        return this;
+    }
+
+    /**
+     * @return Anzahl der Basisaustausche, nach denen die Basismatrix neu zerlegt wird
+     */
+    public int getRefactorizationInterval() {
+        return this.refactorizationInterval;
+    }
+
+    /**
+     * Setzt die Anzahl der Basisaustausche, nach denen {@link RevisedSimplexSolver} die
+     * Basismatrix neu zerlegt, statt einen weiteren Austausch in Produktform zu speichern
+     * (Standard: {@value #DEFAULT_REFACTORIZATION_INTERVAL}). Kleine Werte verteuern die
+     * Schritte mit Neuzerlegung, große Werte verteuern jedes Lösen mit der Basismatrix.
+     *
+     * @param refactorizationInterval Anzahl der Austausche
+     * @return diese Einstellungen
+     * @pre refactorizationInterval &gt; 0
+     */
+    public SimplexOptions setRefactorizationInterval(int refactorizationInterval) {
+        assert refactorizationInterval > 0;
+
+        this.refactorizationInterval = refactorizationInterval;
+        return this;
+    }
+
+    /**
+     * @return true, wenn {@link SimplexSolver} mit dem dualen Simplex-Algorithmus startet
+     */
+    public boolean isDualSimplex() {
+        return this.dualSimplex;
+    }
+
+    /**
+     * Setzt, ob {@link SimplexSolver} mit dem dualen Simplex-Algorithmus startet (Standard:
+     * false). Dazu werden &ge;-Restriktionen negiert, sodass die Schlupfvariablen aller
+     * Ungleichungen ohne künstliche Variablen eine Basis bilden, deren rechte Seiten negativ sein
+     * dürfen. Ist diese Basis dual zulässig, entfällt Phase 1. Andernfalls, oder bei
+     * =-Restriktionen, werden nur Restriktionen mit negativer rechter Seite negiert und Phase 1
+     * wie üblich ausgeführt, sodass negative rechte Seiten nicht mehr zur Unlösbarkeit führen.
+     *
+     * @param dualSimplex true, wenn mit dem dualen Simplex-Algorithmus gestartet werden soll
+     * @return diese Einstellungen
+     */
+    public SimplexOptions setDualSimplex(boolean dualSimplex) {
+        this.dualSimplex = dualSimplex;
+        return this;
+    }
+
+    /**
+     * @return true, wenn {@link SimplexSolver} nur die benötigten künstlichen Variablen anlegt
+     */
+    public boolean isCompactArtificialVariables() {
+        return this.compactArtificialVariables;
+    }
+
+    /**
+     * Setzt, ob {@link SimplexSolver} nur für =- und &ge;-Restriktionen eine künstliche Variable
+     * anlegt und deren Spalten nach Phase 1 aus dem Tableau entfernt (Standard: false). Das
+     * Tableau wird dadurch schmaler, sodass jeder Schritt weniger Zellen reduziert. Die Spalten
+     * der künstlichen Variablen (in {@link SimplexSolver#getTable()} und
+     * {@link SimplexSolver#getBaseVars()}) folgen dann dicht aufeinander; ohne diese Einstellung
+     * entspricht das Tableau der Aufgabenstellung mit einer künstlichen Variablen je
+     * Restriktion.
+     *
+     * @param compactArtificialVariables true, wenn nur die benötigten künstlichen Variablen
+     *            angelegt werden sollen
+     * @return diese Einstellungen
+     */
+    public SimplexOptions setCompactArtificialVariables(boolean compactArtificialVariables) {
+        this.compactArtificialVariables = compactArtificialVariables;
+        return this;
+    }
+
+    /**
+     * @return true, wenn {@link SimplexSolver} Messwerte sammelt, auch ohne Listener
+     */
+    public boolean isCollectStatistics() {
+        return this.collectStatistics;
+    }
+
+    /**
+     * Setzt, ob {@link SimplexSolver} Messwerte wie die Anzahl der Pivotschritte je Phase, die
+     * Dauer der Schritte und die Bitlängen der Tableauzellen sammelt (Standard: false), die mit
+     * {@link SimplexSolver#getStatistics()} abgefragt werden können. Mit einem Listener
+     * ({@link #setListener}) werden sie immer gesammelt. Ohne Messwerte kostet die Messung je
+     * Schritt nur eine Abfrage.
+     *
+     * @param collectStatistics true, wenn Messwerte gesammelt werden sollen
+     * @return diese Einstellungen
+     * @see SimplexStatistics
+     */
+    public SimplexOptions setCollectStatistics(boolean collectStatistics) {
+        this.collectStatistics = collectStatistics;
+        return this;
+    }
+
+    /**
+     * @return Listener, der nach jedem Simplexschritt benachrichtigt wird, oder null
+     */
+    public SimplexListener getListener() {
+        return this.listener;
+    }
+
+    /**
+     * Setzt den Listener, den {@link SimplexSolver} nach jedem Simplexschritt mit den bisher
+     * gesammelten Messwerten benachrichtigt (Standard: null, d.h. kein Listener).
+     *
+     * @param listener Listener oder null
+     * @return diese Einstellungen
+     */
+    public SimplexOptions setListener(SimplexListener listener) {
+        this.listener = listener;
+        return this;
+    }
+
+    /**
+     * Erstellt ein leeres Tableau der übergebenen Größe mit der eingestellten Speicherung.
+     *
+     * @param height Anzahl der Zeilen
+     * @param width Anzahl der Spalten
+     * @param nonZeros Anzahl der von 0 verschiedenen Zellen des Ausgangstableaus
+     * @return das neue Tableau
+     */
+    Tableau createTableau(int height, int width, long nonZeros) {
+        switch (this.tableauStorage) {
+            case FRACTION:
+                return new FractionTableau(height, width);
+            case PRIMITIVE:
+                return new PrimitiveTableau(height, width);
+            case SPARSE:
+                return new SparseTableau(height, width);
+            case AUTO:
+                return nonZeros <= this.sparseDensityThreshold * height * width
+                        ? new SparseTableau(height, width)
+                        : new FractionTableau(height, width);
+            default:
+                throw new IllegalArgumentException();
+        }
+    }
+
+    /**
+     * Erstellt eine neue Instanz der eingestellten Pivotregel.
+     *
+     * @return die neue Pivotregel
+     */
+    PivotRule createPivotRule() {
+        switch (this.pivotStrategy) {
+            case DANTZIG:
+                return new DantzigRule();
+            case BLAND:
+                return new BlandRule();
+            case STEEPEST_EDGE:
+                return new SteepestEdgeRule();
+            case DEVEX:
+                return new DevexRule();
+            default:
+                throw new IllegalArgumentException();
+        }
+    }
+
+}
@@ -1,8 +1,12 @@
 package simplex;
 
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
 import simplex.LinearProgram.Restriction;
 import simplex.LinearProgram.Restriction.Type;
 import simplex.LinearProgram.SolveType;
+import simplex.SensitivityAnalysis.Range;
 
 /**
  * Ein Automat zum Lösen linearer Optimierungsprobleme
@@ -10,7 +14,7 @@ import simplex.LinearProgram.SolveType;
  * @author kar, mhe, Cedric Heinrich, Clemens Heinrich
  * 
  */
-public class SimplexSolver {
+public class SimplexSolver implements LinearProgramSolver {
 
     /** Ungültiger Index um Fehler anzudeuten: {@value #INVALID_INDEX} */
     private static final int INVALID_INDEX = -1;
@@ -33,7 +37,7 @@ public class SimplexSolver {
     private SimplexState state;
 
     /** Simplex-Tableau mit den Zeilen in der ersten und den Spalten in der zweiten Dimension */
-    private Fraction[][] table;
+    private Tableau table;
 
     /** Höhe des Tableaus */
     private int tableHeight;
@@ -44,18 +48,79 @@ public class SimplexSolver {
     /** Indices des Basisvariablen */
     private int[] baseVars;
 
+    /**
+     * je Spalte (ohne RHS) der Index der Zeile, deren Basisvariable sie ist, oder INVALID_INDEX;
+     * die Umkehrung von baseVars, die in setBaseVar mitgeführt wird
+     */
+    private int[] baseVarRows;
+
     /** Anzahl der Entscheidungsvariablen */
     private final int numDecisionVariables;
 
-    /** Anzahl der Schlupfvariablen */
-    private final int numSlackVariables;
+    /** Anzahl der Schlupfvariablen, d.h. der Restriktionen */
+    private int numSlackVariables;
 
     /** Anzahl der künstlichen Variablen */
-    private final int numArtificialVariables;
+    private int numArtificialVariables;
+
+    /** je Restriktion der Index der Spalte ihrer künstlichen Variablen oder INVALID_INDEX */
+    private int[] artificialColumns;
+
+    /** true, wenn künstliche Variablen nur bei Bedarf angelegt und nach Phase 1 entfernt werden */
+    private final boolean compactArtificialVariables;
+
+    /** Einstellungen des Automaten, u.a. für die Speicherung neu angelegter Tableaus */
+    private final SimplexOptions options;
+
+    /** Arbeitsbereich, aus dem Tableau und Arrays des Automaten stammen */
+    private final SimplexWorkspace workspace;
 
     /** Optimierungsrichtung für den Wert den Zielfunktion */
     private final SolveType solveType;
 
+    /** Pool, in dem die Zeilen parallel reduziert werden, oder null */
+    private final ForkJoinPool rowReductionPool;
+
+    /** Anzahl der Tableauzeilen, ab der die Zeilen parallel reduziert werden */
+    private final int parallelMinRows;
+
+    /** Regel für die Wahl von Pivotspalte und Pivotzeile */
+    private final PivotRule pivotRule;
+
+    /** Bewertung je wählbarer Spalte, wird bei der Wahl der Pivotspalte wiederverwendet */
+    private Fraction[] scores;
+
+    /**
+     * Hilfszielfunktionszeile der Phase 1 je wählbarer Spalte, d.h. die Spaltensummen über alle
+     * Zeilen, deren Basisvariable eine künstliche Variable ist. Sie steht nicht im Tableau, wird
+     * aber wie die Zielfunktionszeile bei jedem Pivotschritt reduziert.
+     */
+    private Fraction[] phase1Row;
+
+    /** true, solange phase1Row dem Tableau entspricht und bei Pivotschritten reduziert wird */
+    private boolean phase1RowValid;
+
+    /** Anzahl der bisher ausgeführten Pivotschritte */
+    private int iterationCount;
+
+    /** das LOP des Tableaus, wird beim Ändern der rechten Seiten oder der Zielfunktion ersetzt */
+    private LinearProgram lp;
+
+    /** true, solange die Basis mit dem dualen Simplex-Algorithmus reoptimiert wird */
+    private boolean dualPhase;
+
+    /** true, wenn mit dem dualen Simplex-Algorithmus gestartet wird */
+    private final boolean dualSimplex;
+
+    /** je Restriktion true, wenn sie negiert (mit -1 multipliziert) im Tableau steht */
+    private boolean[] negatedRows;
+
+    /** gesammelte Messwerte oder null, wenn keine gesammelt werden */
+    private final SimplexStatistics statistics;
+
+    /** Listener, der nach jedem Schritt benachrichtigt wird, oder null */
+    private final SimplexListener listener;
+
     /**
      * Erstellt einen Automaten aus dem übergebenen linearer Optimierungsproblem. Der Automat
      * verbleibt im Ausgangstableau, d.h. es werden noch keine Optimierungsschritte durchgeführt.
@@ -64,35 +129,521 @@ public class SimplexSolver {
      * @pre lp != null
      */
     public SimplexSolver(LinearProgram lp) {
+        this(lp, new SimplexOptions());
+    }
+
+    /**
+     * Erstellt einen Automaten aus dem übergebenen linearer Optimierungsproblem mit den übergebenen
+     * Einstellungen. Der Automat verbleibt im Ausgangstableau, d.h. es werden noch keine
+     * Optimierungsschritte durchgeführt.
+     * 
+     * @param lp lineares Problem, das optimiert werden soll
+     * @param options Einstellungen des Automaten
+     * @pre lp != null
+     * @pre options != null
+     */
+    public SimplexSolver(LinearProgram lp, SimplexOptions options) {
+        this(lp, new SimplexWorkspace(options));
+    }
+
+    /**
+     * Erstellt einen Automaten wie {@link #SimplexSolver(LinearProgram, SimplexOptions)} mit den
+     * Einstellungen des Arbeitsbereichs, der sein Tableau und seine Arrays aus dem Arbeitsbereich
+     * bezieht und damit die eines zuvor daraus erstellten Automaten überschreibt.
+     * 
+     * @param lp lineares Problem, das optimiert werden soll
+     * @param workspace Arbeitsbereich des Automaten
+     * @pre lp != null
+     * @pre workspace != null
+     * @see SimplexWorkspace#load(LinearProgram)
+     */
+    SimplexSolver(LinearProgram lp, SimplexWorkspace workspace) {
         assert lp != null;
+        assert workspace != null;
+
+        SimplexOptions options = workspace.getOptions();
+        this.workspace = workspace;
 
         this.numDecisionVariables = lp.getObjectiveTerm().length;
         this.numSlackVariables = lp.getRestrictions().length;
-        this.numArtificialVariables = lp.getRestrictions().length;
         // +1 für ObjectiveRow
         this.tableHeight = lp.getRestrictions().length + 1;
-        // +1 für RHS
-        this.tableWidth = this.numDecisionVariables + this.numSlackVariables
-                + this.numArtificialVariables + 1;
-        this.table = new Fraction[tableHeight][tableWidth];
+        // Breite und Tableau werden mit den künstlichen Variablen in initTableau festgelegt
+        this.options = options;
+        this.compactArtificialVariables = options.isCompactArtificialVariables();
         this.solveType = lp.getSolveType();
+        this.rowReductionPool = options.getRowReductionPool();
+        this.parallelMinRows = options.getParallelMinRows();
+        this.pivotRule = options.createPivotRule();
+        this.scores = workspace.getScores(getOffsetArtificialVariable());
+        this.dualSimplex = options.isDualSimplex();
+        this.listener = options.getListener();
+        this.statistics = options.isCollectStatistics() || this.listener != null
+                ? new SimplexStatistics() : null;
+
+        restart(lp);
+        if (this.statistics != null) {
+            this.statistics.recordTableau(this.table);
+        }
+    }
 
-        initTableau(lp);
+    /**
+     * Erstellt einen Automaten wie {@link #SimplexSolver(LinearProgram, SimplexOptions)}, der
+     * jedoch nicht von der Basis des Ausgangstableaus, sondern von einer übergebenen Basis aus
+     * startet, z.B. der optimalen Basis ({@link #getBaseVars()}) eines zuvor gelösten LOP, das sich
+     * nur in den rechten Seiten oder der Zielfunktion unterscheidet. Die Basisvariablen werden
+     * dazu mit je einem Gauß-Jordan-Schritt in die Basis getauscht, diese Schritte zählen nicht zu
+     * den Iterationen. Anschließend gilt:
+     * <ul>
+     * <li>Ist die Basis zulässig, wird direkt mit Phase 2 fortgesetzt
+     * (SimplexState.VALID_SOLUTION).</li>
+     * <li>Ist sie unzulässig, aber dual zulässig (kein Wert der Zielfunktionszeile &gt; 0), wird
+     * sie mit dem dualen Simplex-Algorithmus reoptimiert (SimplexState.INVALID_SOLUTION).</li>
+     * <li>Enthält sie bei nichtnegativen rechten Seiten noch künstliche Variablen, wird Phase 1
+     * von ihr aus fortgesetzt (SimplexState.INVALID_SOLUTION).</li>
+     * <li>Ansonsten, oder wenn sich die Basis nicht herstellen lässt, startet der Automat wie ohne
+     * Basis im Ausgangstableau.</li>
+     * </ul>
+     *
+     * @param lp lineares Problem, das optimiert werden soll
+     * @param options Einstellungen des Automaten
+     * @param startBasis Indices der Basisvariablen je Restriktion in der Spaltenaufteilung des
+     *            Tableaus, wird nicht verändert
+     * @pre lp != null
+     * @pre options != null
+     * @pre startBasis != null &amp;&amp; startBasis.length == lp.getRestrictions().length
+     */
+    public SimplexSolver(LinearProgram lp, SimplexOptions options, int[] startBasis) {
+        this(lp, options);
+        assert startBasis != null && startBasis.length == this.baseVars.length;
+
+        if (!installBasis(startBasis) || !determineReoptimizationState()) {
+            restart(lp);
+        }
+    }
+
+    /**
+     * Setzt den Automaten auf das Ausgangstableau des übergebenen LOP zurück.
+     *
+     * @param linearProgram das LOP mit denselben Dimensionen wie bisher
+     */
+    private void restart(LinearProgram linearProgram) {
+        this.lp = linearProgram;
+        this.dualPhase = false;
+        Restriction[] restrictions = linearProgram.getRestrictions();
+        this.negatedRows = this.workspace.getNegatedRows(restrictions.length);
+
+        if (this.dualSimplex) {
+            // >=-Restriktionen negiert, sodass die Schlupfvariablen die Basis bilden
+            for (int i = 0; i < restrictions.length; i++) {
+                this.negatedRows[i] = Type.GE.equals(restrictions[i].getType());
+            }
+            initTableau(linearProgram);
+            initBaseVars();
+            if (isValidSolution() && isDualFeasible()) {
+                this.dualPhase = restrictionsHaveNegativeRHS();
+                this.state = this.dualPhase ? SimplexState.INVALID_SOLUTION
+                        : SimplexState.VALID_SOLUTION;
+                return;
+            }
+            // sonst Phase 1 mit nichtnegativen rechten Seiten
+            for (int i = 0; i < restrictions.length; i++) {
+                this.negatedRows[i] = restrictions[i].getRightSide().signum() < 0;
+            }
+        }
+
+        initTableau(linearProgram);
         initBaseVars();
 
         this.state = determineInitialState();
     }
 
+    /**
+     * Liefert eine Restriktion so, wie sie im Tableau steht, d.h. bei negierten Restriktionen
+     * mit negierten Koeffizienten und rechter Seite und gespiegeltem Typ.
+     *
+     * @param idx Index der Restriktion
+     * @param restriction die Restriktion des LOP
+     * @return die Restriktion im Tableau
+     */
+    private Restriction getTableauRestriction(int idx, Restriction restriction) {
+        if (!this.negatedRows[idx]) {
+            return restriction;
+        }
+        Fraction[] term = new Fraction[restriction.getTerm().length];
+        for (int j = 0; j < term.length; j++) {
+            term[j] = restriction.getTerm()[j].multiplyBy(Fraction.MINUS_ONE);
+        }
+        return new Restriction(term, getTableauType(idx, restriction.getType()),
+                restriction.getRightSide().multiplyBy(Fraction.MINUS_ONE));
+    }
+
+    /**
+     * Liefert den Typ einer Restriktion so, wie sie im Tableau steht: bei negierten Restriktionen
+     * wird &le; zu &ge; und umgekehrt.
+     *
+     * @param idx Index der Restriktion
+     * @param type Typ der Restriktion im LOP
+     * @return Typ der Restriktion im Tableau
+     */
+    private Type getTableauType(int idx, Type type) {
+        if (!this.negatedRows[idx] || Type.EQ.equals(type)) {
+            return type;
+        }
+        return Type.GE.equals(type) ? Type.LE : Type.GE;
+    }
+
+    /**
+     * Tauscht die übergebenen Variablen in die Basis. Jede Variable wird bevorzugt in der Zeile
+     * an ihrer Position in der übergebenen Basis getauscht, ansonsten in der ersten Zeile, deren
+     * Basisvariable nicht übergeben wurde und in deren Spalte die Zeile nicht 0 ist.
+     *
+     * @param basis Indices der Basisvariablen je Restriktion in der Spaltenaufteilung mit einer
+     *            künstlichen Variablen je Restriktion
+     * @return true, wenn alle Variablen getauscht werden konnten, false wenn die Basis singulär
+     *         ist oder eine künstliche Variable enthält, die im Tableau nicht vorhanden ist
+     */
+    private boolean installBasis(int[] basis) {
+        // künstliche Variablen in der Spaltenaufteilung mit einer künstlichen Variablen je
+        // Restriktion auf die Spalten des Tableaus abbilden
+        int[] columns = new int[basis.length];
+        boolean[] isTarget = new boolean[getOffsetRHS()];
+        for (int k = 0; k < basis.length; k++) {
+            assert 0 <= basis[k] && basis[k] < getOffsetArtificialVariable() + basis.length;
+            columns[k] = basis[k] < getOffsetArtificialVariable() ? basis[k]
+                    : this.artificialColumns[basis[k] - getOffsetArtificialVariable()];
+            if (columns[k] == INVALID_INDEX) {
+                return false;
+            }
+            isTarget[columns[k]] = true;
+        }
+
+        boolean installed = true;
+        for (int k = 0; k < basis.length && installed; k++) {
+            int col = columns[k];
+            if (getBaseVarRow(col) == INVALID_INDEX) {
+                int row = INVALID_INDEX;
+                if (!isTarget[getBaseVar(k)] && !this.table.isZero(k, col)) {
+                    row = k;
+                }
+                for (int i = 0; i < this.baseVars.length && row == INVALID_INDEX; i++) {
+                    if (!isTarget[getBaseVar(i)] && !this.table.isZero(i, col)) {
+                        row = i;
+                    }
+                }
+                if (row == INVALID_INDEX) {
+                    installed = false;
+                } else {
+                    pivot(row, col);
+                }
+            }
+        }
+        return installed;
+    }
+
+    /**
+     * Bestimmt den Zustand, mit dem von der aktuellen Basis aus weiteroptimiert wird, nachdem
+     * sich die Basis, die rechten Seiten oder die Zielfunktion geändert haben (siehe
+     * {@link #SimplexSolver(LinearProgram, SimplexOptions, int[])}).
+     *
+     * @return true, wenn von der aktuellen Basis aus weiteroptimiert werden kann, false wenn der
+     *         Automat neu gestartet werden muss
+     */
+    private boolean determineReoptimizationState() {
+        this.dualPhase = false;
+        if (!restrictionsHaveNegativeRHS()) {
+            this.state = isValidSolution() ? SimplexState.VALID_SOLUTION
+                    : SimplexState.INVALID_SOLUTION;
+        } else if (isValidSolution() && isDualFeasible()) {
+            this.state = SimplexState.INVALID_SOLUTION;
+            this.dualPhase = true;
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Ersetzt die rechten Seiten der Restriktionen und behält die aktuelle Basis bei. Die neuen
+     * Werte der Basisvariablen werden aus den Spalten berechnet, die im Ausgangstableau die
+     * Einheitsmatrix bilden und daher jetzt die inverse Basismatrix enthalten, d.h. ohne das
+     * Tableau neu aufzubauen. War die Basis optimal, bleibt sie dual zulässig und wird bei
+     * negativen Werten mit dem dualen Simplex-Algorithmus reoptimiert, was meist nur wenige
+     * Schritte erfordert. Der Automat wechselt in den Zustand wie bei
+     * {@link #SimplexSolver(LinearProgram, SimplexOptions, int[])}.
+     *
+     * @param rightSides die neuen rechten Seiten je Restriktion
+     * @return Der Zustand des Automaten am Ende der Methode
+     * @pre rightSides != null &amp;&amp; rightSides.length == Anzahl der Restriktionen
+     */
+    public SimplexState setRightSides(Fraction... rightSides) {
+        assert rightSides != null && rightSides.length == this.baseVars.length;
+
+        Restriction[] restrictions = this.lp.getRestrictions();
+        Restriction[] changed = new Restriction[restrictions.length];
+        int[] unitCols = new int[restrictions.length];
+        Fraction[] tableauRightSides = new Fraction[restrictions.length];
+        boolean hasUnitCols = true;
+        for (int i = 0; i < restrictions.length; i++) {
+            Type type = getTableauType(i, restrictions[i].getType());
+            changed[i] = new Restriction(restrictions[i].getTerm(), restrictions[i].getType(),
+                    rightSides[i]);
+            tableauRightSides[i] = this.negatedRows[i]
+                    ? rightSides[i].multiplyBy(Fraction.MINUS_ONE)
+                    : rightSides[i];
+            unitCols[i] = Fraction.ONE.equals(getArtificialVarByRestrictionType(type))
+                    ? this.artificialColumns[i]
+                    : getOffsetSlackVariable() + i;
+            // die Spalte der künstlichen Variablen kann bereits entfernt sein
+            hasUnitCols &= unitCols[i] != INVALID_INDEX;
+        }
+        this.lp = new LinearProgram(changed, this.lp.getSolveType(), this.lp.getObjectiveTerm());
+        if (!hasUnitCols) {
+            restart(this.lp);
+            return this.state;
+        }
+
+        // B^-1 * b für alle Zeilen einschließlich der Zielfunktionszeile (dort -y * b)
+        Fraction[] values = new Fraction[tableHeight];
+        for (int row = 0; row < tableHeight; row++) {
+            Fraction value = Fraction.ZERO;
+            for (int i = 0; i < rightSides.length; i++) {
+                if (tableauRightSides[i].signum() != 0 && !this.table.isZero(row, unitCols[i])) {
+                    value = value
+                            .add(getEntry(row, unitCols[i]).multiplyBy(tableauRightSides[i]));
+                }
+            }
+            values[row] = value;
+        }
+        for (int row = 0; row < tableHeight; row++) {
+            setEntry(row, getOffsetRHS(), values[row]);
+        }
+
+        if (!determineReoptimizationState()) {
+            restart(this.lp);
+        }
+        return this.state;
+    }
+
+    /**
+     * Ersetzt die Koeffizienten der Zielfunktion und behält die aktuelle Basis bei. Die
+     * Zielfunktionszeile wird dazu aus den Zeilen der Basisvariablen neu berechnet. Eine zulässige
+     * Basis bleibt zulässig, sodass direkt mit Phase 2 fortgesetzt wird. Der Automat wechselt in
+     * den Zustand wie bei {@link #SimplexSolver(LinearProgram, SimplexOptions, int[])}.
+     *
+     * @param objectiveTerm die neuen Koeffizienten der Zielfunktion
+     * @return Der Zustand des Automaten am Ende der Methode
+     * @pre objectiveTerm != null &amp;&amp; objectiveTerm.length == Anzahl der
+     *      Entscheidungsvariablen
+     */
+    public SimplexState setObjectiveTerm(Fraction... objectiveTerm) {
+        assert objectiveTerm != null && objectiveTerm.length == numDecisionVariables;
+
+        this.lp = new LinearProgram(this.lp.getRestrictions(), this.solveType, objectiveTerm);
+        boolean isMinSolveType = SolveType.MIN.equals(this.solveType);
+        Fraction[] costs = new Fraction[numDecisionVariables];
+        for (int j = 0; j < costs.length; j++) {
+            costs[j] = isMinSolveType ? objectiveTerm[j].multiplyBy(Fraction.MINUS_ONE)
+                    : objectiveTerm[j];
+        }
+
+        // c - c_B * B^-1 * A, in der rechten Seite -c_B * B^-1 * b
+        Fraction[] objectiveRow = new Fraction[tableWidth];
+        for (int j = 0; j < tableWidth; j++) {
+            objectiveRow[j] = j < costs.length ? costs[j] : Fraction.ZERO;
+        }
+        for (int i = 0; i < this.baseVars.length; i++) {
+            if (getBaseVar(i) < costs.length && costs[getBaseVar(i)].signum() != 0) {
+                Fraction cost = costs[getBaseVar(i)];
+                for (int j = this.table.nextNonZero(i, 0); j < tableWidth;
+                        j = this.table.nextNonZero(i, j + 1)) {
+                    objectiveRow[j] = objectiveRow[j].subtract(cost.multiplyBy(getEntry(i, j)));
+                }
+            }
+        }
+        for (int j = 0; j < tableWidth; j++) {
+            setEntry(getOffsetObjectiveRow(), j, objectiveRow[j]);
+        }
+
+        if (!determineReoptimizationState()) {
+            restart(this.lp);
+        }
+        return this.state;
+    }
+
+    /**
+     * Fügt dem LOP eine Restriktion hinzu, z.B. eine Schnittebene, und optimiert von der aktuellen
+     * optimalen Basis aus weiter, statt das erweiterte LOP neu zu lösen. <br>
+     *
+     * Eine &le;- oder &ge;-Restriktion wird im Tableau angehängt (eine &ge;-Restriktion negiert),
+     * ihre Schlupfvariable bildet die Basisvariable der neuen Zeile, und die Zeile wird mit den
+     * Zeilen der übrigen Basisvariablen reduziert. Da das Tableau dafür eine Zeile und Spalte mehr
+     * benötigt, wird es mit den bisherigen Werten neu angelegt; die Zielfunktionszeile bleibt
+     * unverändert. Erfüllt die bisherige Lösung die Restriktion, ist sie weiterhin optimal,
+     * ansonsten wird die dual zulässige Basis mit dem dualen Simplex-Algorithmus reoptimiert
+     * (SimplexState.INVALID_SOLUTION). <br>
+     *
+     * Eine =-Restriktion benötigt eine künstliche Variable. Der Automat wird dafür im
+     * Ausgangstableau des erweiterten LOP neu aufgebaut und startet wie bei
+     * {@link #SimplexSolver(LinearProgram, SimplexOptions, int[])} von der bisherigen Basis, in
+     * der neuen Zeile mit der künstlichen Variablen. <br>
+     *
+     * Die Anzahl der Iterationen wird nicht zurückgesetzt.
+     *
+     * @param restriction die neue Restriktion, wird nicht verändert
+     * @return Der Zustand des Automaten am Ende der Methode
+     * @pre restriction != null &amp;&amp; restriction.getTerm().length == Anzahl der
+     *      Entscheidungsvariablen
+     * @pre getState() == SimplexState.OPTIMAL
+     */
+    public SimplexState addRestriction(Restriction restriction) {
+        assert restriction != null && restriction.getTerm().length == numDecisionVariables;
+        assert SimplexState.OPTIMAL.equals(this.state);
+
+        Restriction[] restrictions = Arrays.copyOf(this.lp.getRestrictions(),
+                this.baseVars.length + 1);
+        restrictions[this.baseVars.length] = restriction;
+        this.lp = new LinearProgram(restrictions, this.solveType, this.lp.getObjectiveTerm());
+
+        if (Type.EQ.equals(restriction.getType())) {
+            // bisherige Basis, in der neuen Zeile die künstliche Variable (ohne künstliche
+            // Variablen in der Basis sind die Indices unabhängig von der Spaltenaufteilung)
+            int[] basis = Arrays.copyOf(this.baseVars, this.baseVars.length + 1);
+            this.numSlackVariables++;
+            this.tableHeight++;
+            this.scores = this.workspace.getScores(getOffsetArtificialVariable());
+            basis[basis.length - 1] = getOffsetArtificialVariable() + basis.length - 1;
+            restart(this.lp);
+            if (!installBasis(basis) || !determineReoptimizationState()) {
+                restart(this.lp);
+            }
+        } else {
+            appendRow(restriction);
+            if (!determineReoptimizationState()) {
+                restart(this.lp);
+            }
+        }
+        return this.state;
+    }
+
+    /**
+     * Hängt eine &le;- oder &ge;-Restriktion als neue Zeile mit eigener Schlupfvariable als
+     * Basisvariable an das Tableau an. Die Spalte der Schlupfvariablen wird hinter den bisherigen
+     * Schlupfvariablen eingefügt, ohne {@link SimplexOptions#setCompactArtificialVariables} auch
+     * eine (leere) Spalte für eine künstliche Variable.
+     *
+     * @param restriction die neue Restriktion
+     */
+    private void appendRow(Restriction restriction) {
+        // die neue Schlupfvariable verschiebt die Spalten der künstlichen Variablen
+        this.phase1RowValid = false;
+        int numRows = this.baseVars.length;
+        int oldOffsetArtificial = getOffsetArtificialVariable();
+        boolean negated = Type.GE.equals(restriction.getType());
+        Fraction sign = negated ? Fraction.MINUS_ONE : Fraction.ONE;
+
+        // neue Zeile in der bisherigen Spaltenaufteilung, reduziert mit den Zeilen der
+        // Basisvariablen, deren Spalten in der neuen Zeile dadurch 0 werden; dabei werden
+        // zugleich die von 0 verschiedenen Zellen für das erweiterte Tableau gezählt
+        Fraction[] row = new Fraction[tableWidth];
+        Arrays.fill(row, Fraction.ZERO);
+        for (int j = 0; j < numDecisionVariables; j++) {
+            row[j] = restriction.getTerm()[j].multiplyBy(sign);
+        }
+        row[getOffsetRHS()] = restriction.getRightSide().multiplyBy(sign);
+        long nonZeros = 1;
+        for (int i = 0; i < numRows; i++) {
+            Fraction factor = row[getBaseVar(i)];
+            for (int j = this.table.nextNonZero(i, 0); j < tableWidth;
+                    j = this.table.nextNonZero(i, j + 1)) {
+                if (factor.signum() != 0) {
+                    row[j] = row[j].subtract(factor.multiplyBy(getEntry(i, j)));
+                }
+                nonZeros++;
+            }
+        }
+        for (Fraction value : row) {
+            nonZeros += value.signum() != 0 ? 1 : 0;
+        }
+
+        // neue Spalten: Schlupfvariable bei oldOffsetArtificial, ggf. künstliche Variable als
+        // letzte künstliche Spalte
+        int addedColumns = this.compactArtificialVariables ? 1 : 2;
+        int width = tableWidth + addedColumns;
+        Tableau extended = this.options.createTableau(tableHeight + 1, width, nonZeros);
+        for (int i = 0; i <= tableHeight; i++) {
+            for (int j = 0; j < width; j++) {
+                extended.setEntry(i, j, Fraction.ZERO);
+            }
+        }
+        for (int i = 0; i < tableHeight; i++) {
+            int target = i < numRows ? i : numRows + 1;
+            for (int j = this.table.nextNonZero(i, 0); j < tableWidth;
+                    j = this.table.nextNonZero(i, j + 1)) {
+                extended.setEntry(target, shiftColumn(j, oldOffsetArtificial, width),
+                        getEntry(i, j));
+            }
+        }
+        for (int j = 0; j < tableWidth; j++) {
+            if (row[j].signum() != 0) {
+                extended.setEntry(numRows, shiftColumn(j, oldOffsetArtificial, width), row[j]);
+            }
+        }
+        extended.setEntry(numRows, oldOffsetArtificial, Fraction.ONE);
+
+        this.baseVars = Arrays.copyOf(this.baseVars, numRows + 1);
+        for (int i = 0; i < numRows; i++) {
+            this.baseVars[i] = shiftColumn(getBaseVar(i), oldOffsetArtificial, width);
+        }
+        this.baseVars[numRows] = oldOffsetArtificial;
+        this.artificialColumns = Arrays.copyOf(this.artificialColumns, numRows + 1);
+        for (int i = 0; i < numRows; i++) {
+            if (this.artificialColumns[i] != INVALID_INDEX) {
+                this.artificialColumns[i]++;
+            }
+        }
+        this.artificialColumns[numRows] =
+                this.compactArtificialVariables ? INVALID_INDEX : width - 2;
+        this.negatedRows = Arrays.copyOf(this.negatedRows, numRows + 1);
+        this.negatedRows[numRows] = negated;
+
+        this.table = extended;
+        this.tableHeight++;
+        this.tableWidth = width;
+        this.numSlackVariables++;
+        this.numArtificialVariables += addedColumns - 1;
+        this.scores = this.workspace.getScores(getOffsetArtificialVariable());
+        initBaseVarRows();
+    }
+
+    /**
+     * Bildet einen Spaltenindex des Tableaus auf das um eine Zeile erweiterte Tableau ab.
+     *
+     * @param col Spaltenindex im bisherigen Tableau
+     * @param oldOffsetArtificial bisheriger Offset der künstlichen Variablen, dort wird die neue
+     *            Schlupfvariable eingefügt
+     * @param width Breite des erweiterten Tableaus
+     * @return Spaltenindex im erweiterten Tableau
+     */
+    private int shiftColumn(int col, int oldOffsetArtificial, int width) {
+        if (col == getOffsetRHS()) {
+            return width - 1;
+        }
+        return col < oldOffsetArtificial ? col : col + 1;
+    }
+
     /**
      * Initialisiert die Basisvariablen
      */
     private void initBaseVars() {
-        this.baseVars = new int[tableHeight - 1];
+        this.baseVars = this.workspace.getBaseVars(tableHeight - 1);
+        Arrays.fill(this.baseVars, INVALID_INDEX);
+        initBaseVarRows();
 
         for (int i = 0; i < tableHeight; i++) {
-            Fraction[] row = getRow(i);
-            for (int j = getOffsetSlackVariable(); j < getOffsetRHS(); j++) {
-                Fraction cell = row[j];
+            for (int j = this.table.nextNonZero(i, getOffsetSlackVariable()); j < getOffsetRHS();
+                    j = this.table.nextNonZero(i, j + 1)) {
+                Fraction cell = getEntry(i, j);
                 if (Fraction.ONE.equals(cell)) {
                     setBaseVar(i, j);
                 }
@@ -100,17 +651,131 @@ public class SimplexSolver {
         }
     }
 
+    /**
+     * Baut die Zuordnung der Spalten zu den Zeilen ihrer Basisvariablen aus den Basisvariablen
+     * neu auf, nachdem sich die Spaltenaufteilung geändert hat.
+     */
+    private void initBaseVarRows() {
+        this.baseVarRows = this.workspace.getBaseVarRows(getOffsetRHS());
+        Arrays.fill(this.baseVarRows, 0, getOffsetRHS(), INVALID_INDEX);
+        for (int i = 0; i < this.baseVars.length; i++) {
+            if (getBaseVar(i) != INVALID_INDEX) {
+                this.baseVarRows[getBaseVar(i)] = i;
+            }
+        }
+    }
+
+    /**
+     * Zählt die von 0 verschiedenen Zellen des Ausgangstableaus zu einem LOP
+     * 
+     * @param lp das LOP
+     * @return Anzahl der von 0 verschiedenen Zellen
+     */
+    static long countNonZeros(LinearProgram lp) {
+        long count = 0;
+        for (Restriction restriction : lp.getRestrictions()) {
+            Type type = restriction.getType();
+            count += countNonZeros(restriction.getTerm());
+            count += countNonZeros(restriction.getRightSide(), getSlackVarByRestrictionType(type),
+                    getArtificialVarByRestrictionType(type));
+        }
+        return count + countNonZeros(lp.getObjectiveTerm());
+    }
+
+    /**
+     * Zählt die von 0 verschiedenen Werte
+     * 
+     * @param fractions die Werte
+     * @return Anzahl der von 0 verschiedenen Werte
+     */
+    private static long countNonZeros(Fraction... fractions) {
+        long count = 0;
+        for (Fraction fraction : fractions) {
+            if (fraction.signum() != 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
     /**
      * Initialisiert das Tableau mit dem LOP
      * 
      * @param lp das LOP
      */
     private void initTableau(LinearProgram lp) {
+        this.phase1RowValid = false;
+        initArtificialColumns(lp);
         initTableauWithFraction(Fraction.ZERO);
         initTableauWithRestrictions(lp.getRestrictions());
         initTableauWithObjectiveTerm(lp.getObjectiveTerm(), lp.getSolveType());
     }
 
+    /**
+     * Legt die Spalten der künstlichen Variablen fest und erzeugt das Tableau, wenn sich dadurch
+     * seine Breite ändert. Ohne {@link SimplexOptions#setCompactArtificialVariables} erhält jede
+     * Restriktion eine künstliche Variable, ansonsten nur die =- und &ge;-Restriktionen im Tableau.
+     * 
+     * @param lp das LOP
+     */
+    private void initArtificialColumns(LinearProgram lp) {
+        Restriction[] restrictions = lp.getRestrictions();
+        this.artificialColumns = this.workspace.getArtificialColumns(restrictions.length);
+        int count = 0;
+        for (int i = 0; i < restrictions.length; i++) {
+            Type type = getTableauType(i, restrictions[i].getType());
+            if (!this.compactArtificialVariables
+                    || Fraction.ONE.equals(getArtificialVarByRestrictionType(type))) {
+                this.artificialColumns[i] = getOffsetArtificialVariable() + count;
+                count++;
+            } else {
+                this.artificialColumns[i] = INVALID_INDEX;
+            }
+        }
+
+        // +1 für RHS
+        int width = getOffsetArtificialVariable() + count + 1;
+        if (this.table == null || width != this.tableWidth) {
+            this.numArtificialVariables = count;
+            this.tableWidth = width;
+            this.table = this.workspace.getTableau(tableHeight, tableWidth, countNonZeros(lp));
+        }
+    }
+
+    /**
+     * Entfernt die Spalten der künstlichen Variablen aus dem Tableau, sobald keine künstliche
+     * Variable mehr in der Basis ist. Das Tableau wird dazu ohne diese Spalten neu angelegt.
+     */
+    private void dropArtificialColumns() {
+        int width = getOffsetArtificialVariable() + 1;
+        long nonZeros = 0;
+        for (int i = 0; i < tableHeight; i++) {
+            for (int j = this.table.nextNonZero(i, 0); j < tableWidth;
+                    j = this.table.nextNonZero(i, j + 1)) {
+                if (j < getOffsetArtificialVariable() || j == getOffsetRHS()) {
+                    nonZeros++;
+                }
+            }
+        }
+
+        Tableau compacted = this.options.createTableau(tableHeight, width, nonZeros);
+        for (int i = 0; i < tableHeight; i++) {
+            for (int j = 0; j < width; j++) {
+                compacted.setEntry(i, j, Fraction.ZERO);
+            }
+            for (int j = this.table.nextNonZero(i, 0); j < getOffsetArtificialVariable();
+                    j = this.table.nextNonZero(i, j + 1)) {
+                compacted.setEntry(i, j, getEntry(i, j));
+            }
+            compacted.setEntry(i, width - 1, getEntry(i, getOffsetRHS()));
+        }
+
+        this.table = compacted;
+        this.tableWidth = width;
+        this.numArtificialVariables = 0;
+        Arrays.fill(this.artificialColumns, INVALID_INDEX);
+    }
+
     /**
      * Initialisiert alle Zellen des Tableaus mit einem übergebenen Wert
      * 
@@ -131,14 +796,16 @@ public class SimplexSolver {
      */
     private void initTableauWithRestrictions(Restriction[] restrictions) {
         for (int i = 0; i < restrictions.length; i++) {
-            Restriction restriction = restrictions[i];
+            Restriction restriction = getTableauRestriction(i, restrictions[i]);
             Fraction slackVar = getSlackVarByRestrictionType(restriction.getType());
             Fraction artificialVar = getArtificialVarByRestrictionType(restriction.getType());
             for (int j = 0; j < restriction.getTerm().length; j++) {
                 setEntry(i, j, restriction.getTerm()[j]);
             }
             setEntry(i, getOffsetSlackVariable() + i, slackVar);
-            setEntry(i, getOffsetArtificialVariable() + i, artificialVar);
+            if (this.artificialColumns[i] != INVALID_INDEX) {
+                setEntry(i, this.artificialColumns[i], artificialVar);
+            }
             setEntry(i, getOffsetRHS(), restriction.getRightSide());
         }
     }
@@ -181,8 +848,10 @@ public class SimplexSolver {
     }
 
     /**
-     * @return Referenz auf die Indices der Basisvariablen
+     * @return Referenz auf die Indices der Basisvariablen, darf nicht verändert werden, da die
+     *         Zuordnung der Spalten zu den Zeilen der Basisvariablen mitgeführt wird
      */
+    @Override
     public int[] getBaseVars() {
         return this.baseVars;
     }
@@ -195,23 +864,19 @@ public class SimplexSolver {
      * @return optimale Koeffizienten und Wert der Zielfunktion (in gegebener Reihenfolge) oder
      *         null, wenn unlösbar
      */
+    @Override
     public Fraction[] getSolution() {
 
         solve();
 
         if (!SimplexState.UNSOLVABLE.equals(this.state)) {
             Fraction[] solution = new Fraction[numDecisionVariables + 1];
-            // Iteration über Decision und Schlupfvariablen
+            // Iteration über die Entscheidungsvariablen
             for (int i = 0; i < getOffsetSlackVariable(); i++) {
-                solution[i] = Fraction.ZERO;
-                for (int j = 0; j < this.baseVars.length; j++) {
-                    if (getBaseVar(j) == i) {
-                        solution[i] = getRow(j)[getOffsetRHS()];
-                    }
-                }
+                solution[i] = getValue(i);
             }
             // Für Maximierungsproblem *(-1)
-            Fraction objectiveValue = getObjectiveRow()[getOffsetRHS()];
+            Fraction objectiveValue = getEntry(getOffsetObjectiveRow(), getOffsetRHS());
             solution[solution.length - 1] = SolveType.MIN.equals(this.solveType) ? objectiveValue
                     : objectiveValue.multiplyBy(Fraction.MINUS_ONE);
             return solution;
@@ -220,18 +885,195 @@ public class SimplexSolver {
         }
     }
 
+    /**
+     * Liefert den Wert einer Variablen in der Basislösung des aktuellen Tableaus, ohne weitere
+     * Schritte auszuführen, z.B. nach {@link #solve()} einen einzelnen Koeffizienten der Lösung,
+     * ohne wie {@link #getSolution()} alle zu kopieren. Die Basisvariable wird dazu über die mit
+     * den Basisvariablen mitgeführte Zuordnung der Spalten zu Zeilen in konstanter Zeit gefunden.
+     *
+     * @param col Index der Variablen in der Spaltenaufteilung des Tableaus, d.h. Entscheidungs-
+     *            variablen zuerst, dann je Restriktion eine Schlupfvariable (bei negierten
+     *            Restriktionen die der negierten)
+     * @return der Wert der rechten Seite in der Zeile der Variablen, wenn sie Basisvariable ist,
+     *         ansonsten 0
+     * @pre 0 &le; col &lt; Anzahl der Entscheidungsvariablen + Anzahl der Restriktionen
+     */
+    public Fraction getValue(int col) {
+        assert 0 <= col && col < getOffsetArtificialVariable();
+
+        int row = getBaseVarRow(col);
+        return row == INVALID_INDEX ? Fraction.ZERO : getEntry(row, getOffsetRHS());
+    }
+
+    /**
+     * Löst das LOP und liest die Sensitivitätsanalyse der optimalen Lösung in einem Durchlauf aus
+     * dem optimalen Tableau ab, statt gestörte LOPs neu zu lösen: Die Zielfunktionszeile enthält
+     * die reduzierten Kosten und in den Spalten, die im Ausgangstableau die Einheitsmatrix bilden,
+     * die dualen Werte; diese Spalten enthalten zudem die inverse Basismatrix, aus der zusammen
+     * mit der RHS die Bereiche der rechten Seiten folgen, und die Zeilen der Basisvariablen
+     * ergeben die Bereiche der Zielfunktionskoeffizienten. <br>
+     *
+     * Mit {@link SimplexOptions#setCompactArtificialVariables} fehlt einer =-Restriktion nach
+     * Phase 1 diese Spalte. Die Analyse wird dann aus einem Automaten mit allen künstlichen
+     * Variablen abgelesen, der von der optimalen Basis aus startet und daher ohne Iterationen
+     * optimal ist.
+     *
+     * @return die Sensitivitätsanalyse oder null, wenn unlösbar
+     */
+    public SensitivityAnalysis getSensitivityAnalysis() {
+        solve();
+        if (SimplexState.UNSOLVABLE.equals(this.state)) {
+            return null;
+        }
+
+        Restriction[] restrictions = this.lp.getRestrictions();
+        int[] unitCols = new int[restrictions.length];
+        Fraction[] unitSigns = new Fraction[restrictions.length];
+        for (int i = 0; i < restrictions.length; i++) {
+            Fraction slackVar =
+                    getSlackVarByRestrictionType(getTableauType(i, restrictions[i].getType()));
+            // Spalte der Schlupfvariablen (+-B^-1 * e_i) oder der künstlichen Variablen
+            unitCols[i] = slackVar.signum() != 0 ? getOffsetSlackVariable() + i
+                    : this.artificialColumns[i];
+            unitSigns[i] = slackVar.signum() != 0 ? slackVar : Fraction.ONE;
+            if (unitCols[i] == INVALID_INDEX) {
+                SimplexOptions fullOptions =
+                        new SimplexOptions().setTableauStorage(this.options.getTableauStorage());
+                return new SimplexSolver(this.lp, fullOptions, this.baseVars)
+                        .getSensitivityAnalysis();
+            }
+        }
+
+        Fraction objectiveSign =
+                SolveType.MIN.equals(this.solveType) ? Fraction.MINUS_ONE : Fraction.ONE;
+        Fraction[] shadowPrices = new Fraction[restrictions.length];
+        Range[] rightSideRanges = new Range[restrictions.length];
+        for (int i = 0; i < restrictions.length; i++) {
+            // Änderung der Basisvariablen je Einheit der rechten Seite im LOP
+            Fraction sign = this.negatedRows[i] ? unitSigns[i].multiplyBy(Fraction.MINUS_ONE)
+                    : unitSigns[i];
+            shadowPrices[i] = getEntry(getOffsetObjectiveRow(), unitCols[i])
+                    .multiplyBy(sign).multiplyBy(objectiveSign).multiplyBy(Fraction.MINUS_ONE);
+            rightSideRanges[i] = getRightSideRange(restrictions[i].getRightSide(), unitCols[i],
+                    sign);
+        }
+
+        Fraction[] objectiveTerm = this.lp.getObjectiveTerm();
+        Fraction[] reducedCosts = new Fraction[numDecisionVariables];
+        Range[] objectiveRanges = new Range[numDecisionVariables];
+        for (int j = 0; j < numDecisionVariables; j++) {
+            Fraction reducedCost = getEntry(getOffsetObjectiveRow(), j);
+            reducedCosts[j] = reducedCost.multiplyBy(objectiveSign);
+            objectiveRanges[j] = getObjectiveRange(objectiveTerm[j], j, reducedCost,
+                    SolveType.MIN.equals(this.solveType));
+        }
+        return new SensitivityAnalysis(shadowPrices, reducedCosts, rightSideRanges,
+                objectiveRanges);
+    }
+
+    /**
+     * Bestimmt den Bereich einer rechten Seite, in dem alle Basisvariablen nichtnegativ bleiben.
+     *
+     * @param rightSide rechte Seite der Restriktion im LOP
+     * @param unitCol Spalte mit der Spalte der inversen Basismatrix zur Restriktion
+     * @param sign Vorzeichen, mit dem die Spalte die Änderung der Basisvariablen je Einheit der
+     *            rechten Seite angibt
+     * @return der Bereich der rechten Seite
+     */
+    private Range getRightSideRange(Fraction rightSide, int unitCol,
+            Fraction sign) {
+        Fraction lower = null;
+        Fraction upper = null;
+        for (int k = 0; k < this.baseVars.length; k++) {
+            if (!this.table.isZero(k, unitCol)) {
+                Fraction change = getEntry(k, unitCol).multiplyBy(sign);
+                Fraction bound = getEntry(k, getOffsetRHS()).multiplyBy(Fraction.MINUS_ONE)
+                        .divideBy(change);
+                if (change.signum() > 0 && (lower == null || bound.compareTo(lower) > 0)) {
+                    lower = bound;
+                } else if (change.signum() < 0
+                        && (upper == null || bound.compareTo(upper) < 0)) {
+                    upper = bound;
+                }
+            }
+        }
+        return new Range(lower == null ? null : rightSide.add(lower),
+                upper == null ? null : rightSide.add(upper));
+    }
+
+    /**
+     * Bestimmt den Bereich eines Zielfunktionskoeffizienten, in dem kein Wert der
+     * Zielfunktionszeile positiv wird. Für eine Nichtbasisvariable ist das nur ihr eigener Wert,
+     * für eine Basisvariable ändern sich mit ihrem Koeffizienten alle Werte um das Vielfache ihrer
+     * Zeile.
+     *
+     * @param cost Koeffizient im LOP
+     * @param col Spalte der Entscheidungsvariablen
+     * @param reducedCost Wert der Zielfunktionszeile in der Spalte
+     * @param isMinSolveType true, wenn das LOP minimiert wird, d.h. im Tableau mit negierter
+     *            Zielfunktion steht
+     * @return der Bereich des Koeffizienten
+     */
+    private Range getObjectiveRange(Fraction cost, int col,
+            Fraction reducedCost, boolean isMinSolveType) {
+        // Grenzen der Änderung des Koeffizienten im Tableau
+        Fraction lower = null;
+        Fraction upper = reducedCost.multiplyBy(Fraction.MINUS_ONE);
+        int row = getBaseVarRow(col);
+        if (row != INVALID_INDEX) {
+            upper = null;
+            for (int k = this.table.nextNonZero(row, 0); k < getOffsetArtificialVariable();
+                    k = this.table.nextNonZero(row, k + 1)) {
+                if (k != col) {
+                    Fraction bound = getEntry(getOffsetObjectiveRow(), k)
+                            .divideBy(getEntry(row, k));
+                    if (getEntry(row, k).signum() > 0) {
+                        lower = lower == null || bound.compareTo(lower) > 0 ? bound : lower;
+                    } else {
+                        upper = upper == null || bound.compareTo(upper) < 0 ? bound : upper;
+                    }
+                }
+            }
+        }
+        if (isMinSolveType) {
+            Fraction negatedLower = upper == null ? null : upper.multiplyBy(Fraction.MINUS_ONE);
+            upper = lower == null ? null : lower.multiplyBy(Fraction.MINUS_ONE);
+            lower = negatedLower;
+        }
+        return new Range(lower == null ? null : cost.add(lower),
+                upper == null ? null : cost.add(upper));
+    }
+
     /**
      * @return aktueller Zustand des Simplex-Tableaus
      */
+    @Override
     public SimplexState getState() {
         return this.state;
     }
 
     /**
-     * @return Referenz auf das Simplex-Tableau
+     * @return Anzahl der bisher ausgeführten Pivotschritte
+     */
+    @Override
+    public int getIterationCount() {
+        return this.iterationCount;
+    }
+
+    /**
+     * @return Referenz auf das Simplex-Tableau, bei einem nicht als Fraction-Matrix gespeicherten
+     *         Tableau (siehe {@link SimplexOptions#setTableauStorage}) eine Momentaufnahme
      */
     public Fraction[][] getTable() {
-        return this.table;
+        return this.table.toFractions();
+    }
+
+    /**
+     * @return die gesammelten Messwerte oder null, wenn weder
+     *         {@link SimplexOptions#setCollectStatistics} noch ein Listener gesetzt ist
+     */
+    public SimplexStatistics getStatistics() {
+        return this.statistics;
     }
 
     /**
@@ -241,6 +1083,7 @@ public class SimplexSolver {
      * @return Der Endzustand des Simplex-Tableaus (SimplexState.OPTIMAL oder
      *         SimplexState.UNSOLVABLE)
      */
+    @Override
     public SimplexState solve() {
         while (!SimplexState.OPTIMAL.equals(this.state)
                 && !SimplexState.UNSOLVABLE.equals(this.state)) {
@@ -277,11 +1120,40 @@ public class SimplexSolver {
      * erfolgreich ausgeführt und befinden sich keine künstlichen Variablen in der Basis, so erhält
      * das Tableau den Zustand SimplexState.VALID_SOLUTION. <br>
      *
+     * Wird eine dual zulässige Basis nach einem Warmstart oder geänderten rechten Seiten
+     * reoptimiert, wird stattdessen ein Schritt des dualen Simplex-Algorithmus ausgeführt (siehe
+     * {@link #SimplexSolver(LinearProgram, SimplexOptions, int[])}). <br>
+     *
+     * Mit {@link SimplexOptions#setCompactArtificialVariables} werden die Spalten der künstlichen
+     * Variablen entfernt, sobald das Tableau den Zustand SimplexState.VALID_SOLUTION erreicht.
+     * <br>
+     *
      * @return Der Zustand des Simplex-Tableaus am Ende der Methode
      */
+    @Override
     public SimplexState step() {
+        if (this.statistics == null) {
+            return performStep();
+        }
 
-        if (!SimplexState.OPTIMAL.equals(this.state)
+        long start = System.nanoTime();
+        performStep();
+        this.statistics.recordStep(System.nanoTime() - start);
+        if (this.listener != null) {
+            this.listener.stepPerformed(this, this.statistics);
+        }
+        return this.state;
+    }
+
+    /**
+     * Führt einen Schritt wie {@link #step()} aus, ohne ihn zu messen.
+     *
+     * @return Der Zustand des Simplex-Tableaus am Ende der Methode
+     */
+    private SimplexState performStep() {
+        if (this.dualPhase) {
+            dualStep();
+        } else if (!SimplexState.OPTIMAL.equals(this.state)
                 && !SimplexState.UNSOLVABLE.equals(this.state)) {
 
             // 1. Auswahl der Pivotspalte
@@ -304,58 +1176,154 @@ public class SimplexSolver {
                 // => unlösbar
                 this.state = SimplexState.UNSOLVABLE;
             } else {
-                Fraction pivotElement = getEntry(pivotRowIndex, pivotColIndex);
                 // 3. Austausch der Variablen / Normierung der Pivotzeile
-                setBaseVar(pivotRowIndex, pivotColIndex);
-                scalePivotRow(pivotRowIndex, pivotElement);
-
                 // 4. Reduktion der anderen Zeilen
-                reduceNonPivotRows(pivotRowIndex, pivotColIndex);
+                this.pivotRule.beforePivot(this.table, pivotRowIndex, pivotColIndex,
+                        getOffsetArtificialVariable());
+                iterate(pivotRowIndex, pivotColIndex);
 
                 this.state = isValidSolution() ? SimplexState.VALID_SOLUTION
                         : SimplexState.INVALID_SOLUTION;
             }
         }
 
+        if (this.compactArtificialVariables && this.numArtificialVariables > 0
+                && SimplexState.VALID_SOLUTION.equals(this.state)) {
+            dropArtificialColumns();
+        }
+
         return this.state;
     }
 
     /**
-     * Reduziert alle Zeilen, außer der Pivotzeile, sodass in der Pivotspalte eine 0 entsteht
-     * 
-     * @param pivotRowIndex Index der Pivotzeile
-     * @param pivotColIndex Index der Pivotspalte
-     */
-    private void reduceNonPivotRows(int pivotRowIndex, int pivotColIndex) {
-        for (int i = 0; i < this.tableHeight; i++) {
-            // Pivotzeile auslassen
-            if (i != pivotRowIndex) {
-                // Faktor ermitteln mit dem die Pivotzeile multipliziert werden muss, sodass in der
-                // Pivotspalte eine 0 entsteht
-                Fraction factor = getEntry(i, pivotColIndex);
-                for (int j = 0; j < this.tableWidth; j++) {
-                    // Zelle mit einem Vielfachen von dem korrespondierenden Wert in der Pivotzeile
-                    // subtrahieren
-                    setEntry(i, j,
-                            getEntry(i, j).subtract(getEntry(pivotRowIndex, j).multiplyBy(factor)));
+     * Führt einen Schritt des dualen Simplex-Algorithmus aus: Die Zeile mit der kleinsten
+     * negativen rechten Seite verlässt die Basis, in die Basis kommt die Spalte mit negativem Wert
+     * in dieser Zeile, deren Quotient aus Zielfunktionszeilenwert und diesem Wert am kleinsten ist,
+     * sodass kein Wert der Zielfunktionszeile positiv wird. <br>
+     *
+     * Ist keine rechte Seite mehr negativ, ist die Basis zulässig und der Automat wechselt in den
+     * Zustand SimplexState.VALID_SOLUTION. Hat die Zeile keinen negativen Wert, gibt es keine
+     * zulässige Lösung und der Automat wechselt in den Zustand SimplexState.UNSOLVABLE.
+     */
+    private void dualStep() {
+        int pivotRowIndex = getDualPivotRowIndex();
+        if (pivotRowIndex == INVALID_INDEX) {
+            this.dualPhase = false;
+            this.state = SimplexState.VALID_SOLUTION;
+        } else {
+            int pivotColIndex = getDualPivotColIndex(pivotRowIndex);
+            if (pivotColIndex == INVALID_INDEX) {
+                this.dualPhase = false;
+                this.state = SimplexState.UNSOLVABLE;
+            } else {
+                iterate(pivotRowIndex, pivotColIndex);
+            }
+        }
+    }
+
+    /**
+     * Liefert den Index der Zeile mit der kleinsten negativen rechten Seite oder
+     * {@link #INVALID_INDEX}, wenn keine rechte Seite negativ ist
+     *
+     * @return den Index der Pivotzeile für den dualen Simplexschritt oder {@link #INVALID_INDEX}
+     */
+    private int getDualPivotRowIndex() {
+        int minIndex = INVALID_INDEX;
+        Fraction minValue = Fraction.ZERO;
+        for (int i = 0; i < getOffsetObjectiveRow(); i++) {
+            Fraction value = getEntry(i, getOffsetRHS());
+            if (value.signum() < 0 && value.compareTo(minValue) < 0) {
+                minIndex = i;
+                minValue = value;
+            }
+        }
+        return minIndex;
+    }
+
+    /**
+     * Liefert den Index der Pivotspalte für den dualen Simplexschritt oder {@link #INVALID_INDEX},
+     * wenn die Pivotzeile keinen negativen Wert hat. Bei gleichen Quotienten wird die erste
+     * Spalte gewählt.
+     *
+     * @param pivotRow der Index der Pivotzeile
+     * @return den Index der Pivotspalte oder {@link #INVALID_INDEX}
+     */
+    private int getDualPivotColIndex(int pivotRow) {
+        int minIndex = INVALID_INDEX;
+        Fraction minRatio = null;
+        for (int j = this.table.nextNonZero(pivotRow, 0); j < getOffsetArtificialVariable();
+                j = this.table.nextNonZero(pivotRow, j + 1)) {
+            Fraction entry = getEntry(pivotRow, j);
+            if (entry.signum() < 0) {
+                Fraction ratio = getEntry(getOffsetObjectiveRow(), j).divideBy(entry);
+                if (minRatio == null || ratio.compareTo(minRatio) < 0) {
+                    minIndex = j;
+                    minRatio = ratio;
                 }
             }
         }
+        return minIndex;
+    }
 
+    /**
+     * Tauscht die Variable der Pivotspalte gegen die bisherige Basisvariable der Pivotzeile,
+     * normiert die Pivotzeile und reduziert die übrigen Zeilen (bei großen Tableaus ggf.
+     * parallel).
+     *
+     * @param pivotRow der Index der Pivotzeile
+     * @param pivotCol der Index der Pivotspalte
+     */
+    private void pivot(int pivotRow, int pivotCol) {
+        setBaseVar(pivotRow, pivotCol);
+        this.table.scaleRow(pivotRow, pivotCol);
+        RowReductionTask.reduceRows(this.table, pivotRow, pivotCol, this.rowReductionPool,
+                this.parallelMinRows);
+        if (this.phase1RowValid) {
+            reducePhase1Row(pivotRow, pivotCol);
+        }
     }
 
     /**
-     * Normiert die Pivotzeile
-     * 
-     * @param pivotRowIndex Index der Pivotzeile
-     * @param pivotElement der Wert des Pivotelements
+     * Reduziert die Hilfszielfunktionszeile der Phase 1 mit der normierten Pivotzeile, sodass sie
+     * in der Pivotspalte 0 wird. Die Spaltensummen über die Zeilen mit künstlicher Basisvariable
+     * bleiben damit erhalten, ohne sie neu zu berechnen: Verlässt eine künstliche Variable die
+     * Basis, fällt ihre Zeile aus der Summe heraus.
+     *
+     * @param pivotRow der Index der normierten Pivotzeile
+     * @param pivotCol der Index der Pivotspalte
      */
-    private void scalePivotRow(int pivotRowIndex, Fraction pivotElement) {
-        for (int i = 0; i < this.tableWidth; i++) {
-            setEntry(pivotRowIndex, i, getEntry(pivotRowIndex, i).divideBy(pivotElement));
+    private void reducePhase1Row(int pivotRow, int pivotCol) {
+        Fraction factor = this.phase1Row[pivotCol];
+        if (factor.signum() != 0) {
+            int numColumns = getOffsetArtificialVariable();
+            for (int j = this.table.nextNonZero(pivotRow, 0); j < numColumns;
+                    j = this.table.nextNonZero(pivotRow, j + 1)) {
+                this.phase1Row[j] =
+                        this.phase1Row[j].subtract(factor.multiplyBy(getEntry(pivotRow, j)));
+            }
         }
     }
 
+    /**
+     * Führt einen Pivotschritt des Algorithmus aus und zählt ihn als Iteration, ggf. auch in den
+     * Messwerten.
+     *
+     * @param pivotRow der Index der Pivotzeile
+     * @param pivotCol der Index der Pivotspalte
+     */
+    private void iterate(int pivotRow, int pivotCol) {
+        if (this.statistics == null) {
+            pivot(pivotRow, pivotCol);
+        } else {
+            boolean degenerate = this.table.isZero(pivotRow, getOffsetRHS());
+            pivot(pivotRow, pivotCol);
+            this.statistics.recordPivot(SimplexState.INVALID_SOLUTION.equals(this.state),
+                    this.dualPhase, degenerate);
+            this.statistics.recordTableau(this.table);
+        }
+        this.iterationCount++;
+    }
+
     /**
      * Liefert den Index der Pivotspalte oder {@link #INVALID_INDEX} wenn keine gültige Pivotspalte
      * gefunden werden konnte
@@ -378,24 +1346,66 @@ public class SimplexSolver {
      *         gefunden werden konnte
      */
     private int getPivotColForInvalidSolution() {
-        int maxIndex = INVALID_INDEX;
-        Fraction maxValue = Fraction.ZERO;
-        // Iteration über alle möglichen Spalten
-        for (int i = 0; i < getOffsetArtificialVariable(); i++) {
-            Fraction colSum = Fraction.ZERO;
-            for (int j = 0; j < this.baseVars.length; j++) {
-                // Prüfung ob baseVar eine künstliche Variable ist
-                if (getBaseVar(j) >= getOffsetArtificialVariable()) {
-                    colSum = colSum.add(getEntry(j, i));
+        if (!this.phase1RowValid) {
+            initPhase1Row();
+        }
+        assert isPhase1RowConsistent();
+        return this.pivotRule.selectColumn(this.table, this.phase1Row,
+                getOffsetArtificialVariable());
+    }
+
+    /**
+     * Berechnet die Hilfszielfunktionszeile der Phase 1 als Spaltensummen über alle Zeilen, deren
+     * Basisvariable eine künstliche Variable ist. Die Zeilen werden dabei nur an den von 0
+     * verschiedenen Zellen durchlaufen. Danach wird sie bei jedem Pivotschritt reduziert, bis
+     * Phase 1 endet oder das Tableau neu aufgebaut wird.
+     */
+    private void initPhase1Row() {
+        this.phase1Row = this.workspace.getPhase1Row(getOffsetArtificialVariable());
+        sumArtificialRows(this.phase1Row);
+        this.phase1RowValid = true;
+    }
+
+    /**
+     * Schreibt die Spaltensummen über alle Zeilen, deren Basisvariable eine künstliche Variable
+     * ist, in die ersten Einträge des übergebenen Arrays.
+     *
+     * @param sums Array mit mindestens so vielen Einträgen wie wählbaren Spalten
+     */
+    private void sumArtificialRows(Fraction[] sums) {
+        int numColumns = getOffsetArtificialVariable();
+        Arrays.fill(sums, 0, numColumns, Fraction.ZERO);
+        for (int j = 0; j < this.baseVars.length; j++) {
+            // Prüfung ob baseVar eine künstliche Variable ist
+            if (getBaseVar(j) >= getOffsetArtificialVariable()) {
+                for (int i = this.table.nextNonZero(j, 0); i < numColumns;
+                        i = this.table.nextNonZero(j, i + 1)) {
+                    sums[i] = sums[i].add(getEntry(j, i));
                 }
             }
-            // Prüfung auf neues Maximum
-            if (colSum.compareTo(maxValue) > 0) {
-                maxIndex = i;
-                maxValue = colSum;
-            }
         }
-        return maxIndex;
+    }
+
+    /**
+     * Vergleicht die reduzierte Hilfszielfunktionszeile der Phase 1 mit neu berechneten
+     * Spaltensummen, ohne die mitgeführte Zeile zu verändern; nur für Zusicherungen.
+     *
+     * @return true, wenn beide übereinstimmen
+     */
+    private boolean isPhase1RowConsistent() {
+        int numColumns = getOffsetArtificialVariable();
+        Fraction[] sums = new Fraction[numColumns];
+        sumArtificialRows(sums);
+        return Arrays.equals(sums, Arrays.copyOf(this.phase1Row, numColumns));
+    }
+
+    /**
+     * @return Kopie der mitgeführten Hilfszielfunktionszeile der Phase 1 je wählbarer Spalte oder
+     *         null, solange sie nicht mitgeführt wird
+     */
+    Fraction[] getPhase1Row() {
+        return this.phase1RowValid
+                ? Arrays.copyOf(this.phase1Row, getOffsetArtificialVariable()) : null;
     }
 
     /**
@@ -406,21 +1416,17 @@ public class SimplexSolver {
      *         gefunden werden konnte
      */
     private int getPivotColForValidSolution() {
-        int idx = INVALID_INDEX;
-        Fraction max = Fraction.ZERO;
-        Fraction[] objectiveRow = getObjectiveRow();
-        // Iteration über alle möglichen Spalten
-        for (int i = 0; i < getOffsetArtificialVariable(); i++) {
-            Fraction other = objectiveRow[i];
-            // Prüfung auf neues Maximum
-            if (max.compareTo(other) < 0) {
-                max = other;
-                idx = i;
-            }
+        // Phase 1 ist beendet, die Hilfszielfunktionszeile wird nicht mehr benötigt
+        this.phase1RowValid = false;
+        int objectiveRow = getOffsetObjectiveRow();
+        // Werte der Zielfunktionszeile, dabei werden nur die von 0 verschiedenen Zellen gelesen
+        int numColumns = getOffsetArtificialVariable();
+        Arrays.fill(this.scores, 0, numColumns, Fraction.ZERO);
+        for (int i = this.table.nextNonZero(objectiveRow, 0); i < numColumns;
+                i = this.table.nextNonZero(objectiveRow, i + 1)) {
+            this.scores[i] = getEntry(objectiveRow, i);
         }
-        // wenn der größte Koeffizient nicht >0 ist, dann -1 zurückliefen um ungültige Pivotspalte
-        // anzudeuten
-        return max.compareTo(Fraction.ZERO) > 0 ? idx : INVALID_INDEX;
+        return this.pivotRule.selectColumn(this.table, this.scores, numColumns);
     }
 
     /**
@@ -432,31 +1438,11 @@ public class SimplexSolver {
      *         gefunden werden konnte
      */
     private int getPivotRowIndex(int pivotCol) {
-        Fraction minValue = null;
-        int minIndex = INVALID_INDEX;
-
         // Prüfung ob es eine gültige Pivotspalte gibt
         if (pivotCol != INVALID_INDEX) {
-            // Iteration über alle möglichen Reihen
-            for (int i = 0; i < getOffsetObjectiveRow(); i++) {
-                Fraction cell = getEntry(i, pivotCol);
-                Fraction quotient = null;
-                // Division durch 0 abfangen
-                if (!Fraction.ZERO.equals(cell)) {
-                    quotient = getEntry(i, getOffsetRHS()).divideBy(cell);
-                }
-
-                // Prüfung auf neues Minimum das > 0 ist
-                if (quotient != null && quotient.compareTo(Fraction.ZERO) > 0
-                        && (minValue == null || minValue.compareTo(quotient) > 0)) {
-                    minValue = quotient;
-                    minIndex = i;
-                }
-
-            }
+            return this.pivotRule.selectRow(this.table, pivotCol, this.baseVars);
         }
-
-        return minIndex;
+        return INVALID_INDEX;
     }
 
     /**
@@ -471,7 +1457,7 @@ public class SimplexSolver {
      * @param restrictionType der {@link Restriction.Type} der Restriktion
      * @return den korrespondierenden Wert für die Schlupfvariable
      */
-    private static Fraction getSlackVarByRestrictionType(Type restrictionType) {
+    static Fraction getSlackVarByRestrictionType(Type restrictionType) {
         switch (restrictionType) {
             case EQ:
                 return Fraction.ZERO;
@@ -496,7 +1482,7 @@ public class SimplexSolver {
      * @param restrictionType restrictionType der {@link Restriction.Type} der Restriktion
      * @return den korrespondierenden Wert für die künstliche Variable
      */
-    private static Fraction getArtificialVarByRestrictionType(Type restrictionType) {
+    static Fraction getArtificialVarByRestrictionType(Type restrictionType) {
         switch (restrictionType) {
             case EQ:
             case GE:
@@ -529,16 +1515,6 @@ public class SimplexSolver {
         return tableWidth - 1;
     }
 
-    /**
-     * Liefert eine Zeile des Tableaus zu einem übergebenen Index
-     * 
-     * @param index der Index der Zeile
-     * @return die Zeile des Tableaus
-     */
-    private Fraction[] getRow(int index) {
-        return this.table[index];
-    }
-
     /**
      * @return den Offset der Zielfunktion
      */
@@ -546,13 +1522,6 @@ public class SimplexSolver {
         return tableHeight - 1;
     }
 
-    /**
-     * @return die Zeile der Zielfunktion
-     */
-    private Fraction[] getObjectiveRow() {
-        return getRow(getOffsetObjectiveRow());
-    }
-
     /**
      * Ermittelt, ob das Tableau eine gültige Lösung abbildet
      * 
@@ -574,6 +1543,21 @@ public class SimplexSolver {
         return false;
     }
 
+    /**
+     * @return true, wenn kein Wert der Zielfunktionszeile in den Spalten der Entscheidungs- und
+     *         Schlupfvariablen positiv ist
+     */
+    private boolean isDualFeasible() {
+        int objectiveRow = getOffsetObjectiveRow();
+        for (int j = this.table.nextNonZero(objectiveRow, 0); j < getOffsetArtificialVariable();
+                j = this.table.nextNonZero(objectiveRow, j + 1)) {
+            if (getEntry(objectiveRow, j).signum() > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * @return true, wenn eine Restriktion eine negative RHS hat
      */
@@ -594,7 +1578,7 @@ public class SimplexSolver {
      * @return der Wert der Zelle
      */
     private Fraction getEntry(int row, int col) {
-        return this.table[row][col];
+        return this.table.getEntry(row, col);
     }
 
     /**
@@ -605,7 +1589,7 @@ public class SimplexSolver {
      * @param value der Wert, der in der Zelle gesetzt werden soll
      */
     private void setEntry(int row, int col, Fraction value) {
-        this.table[row][col] = value;
+        this.table.setEntry(row, col, value);
     }
 
     /**
@@ -618,6 +1602,17 @@ public class SimplexSolver {
         return this.baseVars[idx];
     }
 
+    /**
+     * Liefert den Index der Zeile, deren Basisvariable die übergebene Spalte ist
+     * 
+     * @param col Index der Spalte
+     * @return den Index der Zeile oder {@link #INVALID_INDEX}, wenn die Variable nicht in der
+     *         Basis ist
+     */
+    private int getBaseVarRow(int col) {
+        return this.baseVarRows[col];
+    }
+
     /**
      * Setzt den Wert einer Basisvariablen am übergebenen Index mit
      * 
@@ -625,7 +1620,11 @@ public class SimplexSolver {
      * @param baseVarIdx neuer Wert der Basisvariablen
      */
     private void setBaseVar(int idx, int baseVarIdx) {
+        if (getBaseVar(idx) != INVALID_INDEX) {
+            this.baseVarRows[getBaseVar(idx)] = INVALID_INDEX;
+        }
         this.baseVars[idx] = baseVarIdx;
+        this.baseVarRows[baseVarIdx] = idx;
     }
 
 }
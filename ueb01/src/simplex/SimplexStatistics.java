@@ -0,0 +1,231 @@
+package simplex;
+
+/**
+ * Messwerte eines {@link SimplexSolver}, die nur gesammelt werden, wenn sie mit
+ * {@link SimplexOptions#setCollectStatistics} oder durch einen {@link SimplexListener}
+ * angefordert werden. Die Bitlängen und die Dichte werden nach jedem Pivotschritt über alle von
+ * 0 verschiedenen Zellen des Tableaus bestimmt, was etwa so aufwändig ist wie die Reduktion der
+ * Zeilen selbst.
+ *
+ * @author Cedric Heinrich, Clemens Heinrich
+ */
+public final class SimplexStatistics {
+
+    /** Anzahl der Pivotschritte in Phase 1 */
+    private int phase1Iterations;
+
+    /** Anzahl der Pivotschritte in Phase 2 */
+    private int phase2Iterations;
+
+    /** Anzahl der Pivotschritte des dualen Simplex-Algorithmus */
+    private int dualIterations;
+
+    /** Anzahl der Pivotschritte, deren Pivotzeile die rechte Seite 0 hatte */
+    private int degeneratePivots;
+
+    /** Anzahl der Aufrufe von step() */
+    private int stepCount;
+
+    /** Dauer des letzten Aufrufs von step() in Nanosekunden */
+    private long lastStepNanos;
+
+    /** Dauer des längsten Aufrufs von step() in Nanosekunden */
+    private long maxStepNanos;
+
+    /** Gesamtdauer aller Aufrufe von step() in Nanosekunden */
+    private long totalStepNanos;
+
+    /** größte bisher aufgetretene Bitlänge eines Zählers */
+    private int maxNumeratorBits;
+
+    /** größte bisher aufgetretene Bitlänge eines Nenners */
+    private int maxDenominatorBits;
+
+    /** Anteil der von 0 verschiedenen Zellen des aktuellen Tableaus */
+    private double density;
+
+    /** größter bisher aufgetretener Anteil der von 0 verschiedenen Zellen */
+    private double maxDensity;
+
+    /**
+     * Erstellt leere Messwerte.
+     */
+    SimplexStatistics() {
+        // alle Messwerte beginnen bei 0
+    }
+
+    /**
+     * @return Anzahl der Pivotschritte in Phase 1 (Zustand SimplexState.INVALID_SOLUTION)
+     */
+    public int getPhase1Iterations() {
+        return this.phase1Iterations;
+    }
+
+    /**
+     * @return Anzahl der Pivotschritte in Phase 2 (Zustand SimplexState.VALID_SOLUTION)
+     */
+    public int getPhase2Iterations() {
+        return this.phase2Iterations;
+    }
+
+    /**
+     * @return Anzahl der Pivotschritte des dualen Simplex-Algorithmus
+     */
+    public int getDualIterations() {
+        return this.dualIterations;
+    }
+
+    /**
+     * @return Anzahl der entarteten Pivotschritte, d.h. der Schritte, deren Pivotzeile die rechte
+     *         Seite 0 hatte und die den Wert der Zielfunktion daher nicht verändert haben
+     */
+    public int getDegeneratePivots() {
+        return this.degeneratePivots;
+    }
+
+    /**
+     * @return Anzahl der Aufrufe von {@link SimplexSolver#step()}, einschließlich der Schritte
+     *         ohne Pivotschritt
+     */
+    public int getStepCount() {
+        return this.stepCount;
+    }
+
+    /**
+     * @return Dauer des letzten Aufrufs von {@link SimplexSolver#step()} in Nanosekunden
+     */
+    public long getLastStepNanos() {
+        return this.lastStepNanos;
+    }
+
+    /**
+     * @return Dauer des längsten Aufrufs von {@link SimplexSolver#step()} in Nanosekunden
+     */
+    public long getMaxStepNanos() {
+        return this.maxStepNanos;
+    }
+
+    /**
+     * @return Gesamtdauer aller Aufrufe von {@link SimplexSolver#step()} in Nanosekunden
+     */
+    public long getTotalStepNanos() {
+        return this.totalStepNanos;
+    }
+
+    /**
+     * @return größte Bitlänge (ohne Vorzeichen) eines Zählers im Ausgangstableau oder nach einem
+     *         Pivotschritt
+     */
+    public int getMaxNumeratorBits() {
+        return this.maxNumeratorBits;
+    }
+
+    /**
+     * @return größte Bitlänge eines Nenners im Ausgangstableau oder nach einem Pivotschritt
+     */
+    public int getMaxDenominatorBits() {
+        return this.maxDenominatorBits;
+    }
+
+    /**
+     * @return Anteil der von 0 verschiedenen Zellen des Tableaus nach dem letzten Pivotschritt
+     */
+    public double getDensity() {
+        return this.density;
+    }
+
+    /**
+     * @return größter Anteil der von 0 verschiedenen Zellen des Tableaus
+     */
+    public double getMaxDensity() {
+        return this.maxDensity;
+    }
+
+    /**
+     * Zählt einen Pivotschritt.
+     *
+     * @param phase1 true in Phase 1
+     * @param dual true im dualen Simplex-Algorithmus
+     * @param degenerate true, wenn die Pivotzeile die rechte Seite 0 hatte
+     */
+    void recordPivot(boolean phase1, boolean dual, boolean degenerate) {
+        if (dual) {
+            this.dualIterations++;
+        } else if (phase1) {
+            this.phase1Iterations++;
+        } else {
+            this.phase2Iterations++;
+        }
+        if (degenerate) {
+            this.degeneratePivots++;
+        }
+    }
+
+    /**
+     * Zählt einen Aufruf von step().
+     *
+     * @param nanos Dauer des Aufrufs in Nanosekunden
+     */
+    void recordStep(long nanos) {
+        this.stepCount++;
+        this.lastStepNanos = nanos;
+        this.maxStepNanos = Math.max(this.maxStepNanos, nanos);
+        this.totalStepNanos += nanos;
+    }
+
+    /**
+     * Bestimmt Bitlängen und Dichte aus den von 0 verschiedenen Zellen des Tableaus.
+     *
+     * @param table das Tableau
+     */
+    void recordTableau(Tableau table) {
+        long nonZeros = 0;
+        for (int i = 0; i < table.getHeight(); i++) {
+            for (int j = table.nextNonZero(i, 0); j < table.getWidth();
+                    j = table.nextNonZero(i, j + 1)) {
+                Fraction value = table.getEntry(i, j);
+                this.maxNumeratorBits = Math.max(this.maxNumeratorBits, numeratorBits(value));
+                this.maxDenominatorBits =
+                        Math.max(this.maxDenominatorBits, denominatorBits(value));
+                nonZeros++;
+            }
+        }
+        this.density = (double) nonZeros / ((long) table.getHeight() * table.getWidth());
+        this.maxDensity = Math.max(this.maxDensity, this.density);
+    }
+
+    /**
+     * @param value ein Bruch
+     * @return Bitlänge des Betrags des Zählers
+     */
+    private static int numeratorBits(Fraction value) {
+        if (value.isBig()) {
+            return value.getBigNumerator().bitLength();
+        }
+        long numerator = value.getNumerator();
+        return numerator == Long.MIN_VALUE ? Long.SIZE
+                : Long.SIZE - Long.numberOfLeadingZeros(Math.abs(numerator));
+    }
+
+    /**
+     * @param value ein Bruch
+     * @return Bitlänge des Nenners
+     */
+    private static int denominatorBits(Fraction value) {
+        if (value.isBig()) {
+            return value.getBigDenominator().bitLength();
+        }
+        return Long.SIZE - Long.numberOfLeadingZeros(value.getDenominator());
+    }
+
+    @Override
+    public String toString() {
+        return "Phase 1: " + this.phase1Iterations + ", Phase 2: " + this.phase2Iterations
+                + ", dual: " + this.dualIterations + ", entartet: " + this.degeneratePivots
+                + ", Schritte: " + this.stepCount + " in " + this.totalStepNanos
+                + " ns (max. " + this.maxStepNanos + " ns), Bits: " + this.maxNumeratorBits
+                + "/" + this.maxDenominatorBits + ", Dichte: " + this.density + " (max. "
+                + this.maxDensity + ")";
+    }
+
+}
@@ -0,0 +1,182 @@
+package simplex;
+
+import java.util.Arrays;
+
+/**
+ * Arbeitsbereich für {@link SimplexSolver}, der Tableau und Arrays über mehrere Probleme hinweg
+ * wiederverwendet. Mit {@link #load(LinearProgram)} wird jeweils ein Automat für das nächste
+ * Problem erstellt, der auf denselben Speicher zurückgreift; ist das neue Problem höchstens so
+ * groß wie das größte bisherige, wird kein neues Tableau angelegt. Die Basisvariablen werden bei
+ * gleicher Anzahl Restriktionen wiederverwendet.
+ *
+ * Der Arbeitsbereich spart nur die Speicherbereiche, die je Problem angelegt würden. Wie viele
+ * Objekte je Pivotschritt entstehen, hängt allein von der Speicherung des Tableaus ab: Mit
+ * {@link SimplexOptions.TableauStorage#FRACTION} und {@link SimplexOptions.TableauStorage#SPARSE}
+ * erzeugt jede geänderte Zelle eine neue Fraction-Instanz, sodass der Arbeitsbereich am Müll je
+ * Schritt kaum etwas ändert. Nahezu müllfrei wird das Lösen im eingeschwungenen Zustand nur mit
+ * {@link SimplexOptions.TableauStorage#PRIMITIVE}: Dann entstehen je Schritt nur noch die Brüche
+ * für die Bewertungen der Spalten und den Quotiententest, deren Anzahl mit Breite und Höhe des
+ * Tableaus statt mit seiner Fläche wächst, sowie je Problem der Automat, seine Pivotregel und
+ * die Lösung. Mit {@link SimplexOptions#setCompactArtificialVariables} wird nach Phase 1
+ * weiterhin ein schmaleres Tableau angelegt.
+ *
+ * Ein Automat ist nur bis zum nächsten Aufruf von {@link #load(LinearProgram)} gültig, da dieser
+ * Tableau und Basisvariablen überschreibt. Ein Arbeitsbereich darf daher nicht von mehreren
+ * Threads gleichzeitig verwendet werden.
+ *
+ * @author Cedric Heinrich, Clemens Heinrich
+ */
+public final class SimplexWorkspace {
+
+    /** Einstellungen der Automaten */
+    private final SimplexOptions options;
+
+    /** wiederzuverwendendes Tableau oder null, solange noch keines angelegt wurde */
+    private Tableau table;
+
+    /** Indices der Basisvariablen je Restriktion */
+    private int[] baseVars = new int[0];
+
+    /** Index der Zeile je Spalte, deren Basisvariable sie ist */
+    private int[] baseVarRows = new int[0];
+
+    /** Bewertung je wählbarer Spalte */
+    private Fraction[] scores = new Fraction[0];
+
+    /** Hilfszielfunktionszeile der Phase 1 je wählbarer Spalte */
+    private Fraction[] phase1Row = new Fraction[0];
+
+    /** je Restriktion true, wenn sie negiert im Tableau steht */
+    private boolean[] negatedRows = new boolean[0];
+
+    /** je Restriktion der Index der Spalte ihrer künstlichen Variablen */
+    private int[] artificialColumns = new int[0];
+
+    /**
+     * Erstellt einen leeren Arbeitsbereich mit den Standardeinstellungen.
+     */
+    public SimplexWorkspace() {
+        this(new SimplexOptions());
+    }
+
+    /**
+     * Erstellt einen leeren Arbeitsbereich mit den übergebenen Einstellungen.
+     *
+     * @param options Einstellungen der Automaten, werden beim Erstellen eines Automaten gelesen
+     * @pre options != null
+     */
+    public SimplexWorkspace(SimplexOptions options) {
+        assert options != null;
+
+        this.options = options;
+    }
+
+    /**
+     * Erstellt einen Automaten für das übergebene LOP wie
+     * {@link SimplexSolver#SimplexSolver(LinearProgram, SimplexOptions)}, der Tableau und Arrays
+     * dieses Arbeitsbereichs verwendet. Zuvor aus diesem Arbeitsbereich erstellte Automaten dürfen
+     * danach nicht mehr verwendet werden.
+     *
+     * @param lp lineares Problem, das optimiert werden soll
+     * @return Automat im Ausgangstableau
+     * @pre lp != null
+     */
+    public SimplexSolver load(LinearProgram lp) {
+        return new SimplexSolver(lp, this);
+    }
+
+    /**
+     * @return Einstellungen der Automaten
+     */
+    SimplexOptions getOptions() {
+        return this.options;
+    }
+
+    /**
+     * Liefert das Tableau in der übergebenen Größe. Reicht die Kapazität des vorhandenen Tableaus
+     * nicht aus, wird es durch ein neues ersetzt. Die Werte des Tableaus sind undefiniert.
+     *
+     * @param height Anzahl der Zeilen
+     * @param width Anzahl der Spalten
+     * @param nonZeros Anzahl der von 0 verschiedenen Zellen des Ausgangstableaus
+     * @return das Tableau
+     */
+    Tableau getTableau(int height, int width, long nonZeros) {
+        if (this.table == null || !this.table.reshape(height, width)) {
+            this.table = this.options.createTableau(height, width, nonZeros);
+        }
+        return this.table;
+    }
+
+    /**
+     * @param length Anzahl der Restriktionen
+     * @return Array für die Basisvariablen mit genau der übergebenen Länge
+     */
+    int[] getBaseVars(int length) {
+        if (this.baseVars.length != length) {
+            this.baseVars = new int[length];
+        }
+        return this.baseVars;
+    }
+
+    /**
+     * @param length Anzahl der Spalten ohne RHS
+     * @return Array für die Zeilen der Basisvariablen je Spalte mit mindestens der übergebenen
+     *         Länge
+     */
+    int[] getBaseVarRows(int length) {
+        if (this.baseVarRows.length < length) {
+            this.baseVarRows = new int[length];
+        }
+        return this.baseVarRows;
+    }
+
+    /**
+     * @param length Anzahl der wählbaren Spalten
+     * @return Array für die Bewertungen mit mindestens der übergebenen Länge
+     */
+    Fraction[] getScores(int length) {
+        if (this.scores.length < length) {
+            this.scores = new Fraction[length];
+        }
+        return this.scores;
+    }
+
+    /**
+     * @param length Anzahl der wählbaren Spalten
+     * @return Array für die Hilfszielfunktionszeile der Phase 1 mit mindestens der übergebenen
+     *         Länge
+     */
+    Fraction[] getPhase1Row(int length) {
+        if (this.phase1Row.length < length) {
+            this.phase1Row = new Fraction[length];
+        }
+        return this.phase1Row;
+    }
+
+    /**
+     * @param length Anzahl der Restriktionen
+     * @return Array mit mindestens der übergebenen Länge, dessen erste length Werte false sind
+     */
+    boolean[] getNegatedRows(int length) {
+        if (this.negatedRows.length < length) {
+            this.negatedRows = new boolean[length];
+        } else {
+            Arrays.fill(this.negatedRows, 0, length, false);
+        }
+        return this.negatedRows;
+    }
+
+    /**
+     * @param length Anzahl der Restriktionen
+     * @return Array für die Spalten der künstlichen Variablen mit mindestens der übergebenen
+     *         Länge
+     */
+    int[] getArtificialColumns(int length) {
+        if (this.artificialColumns.length < length) {
+            this.artificialColumns = new int[length];
+        }
+        return this.artificialColumns;
+    }
+
+}
@@ -0,0 +1,252 @@
+package simplex;
+
+import java.util.Arrays;
+
+/**
+ * Tableau, das jede Zeile komprimiert als aufsteigend sortierte Spaltenindizes mit den
+ * zugehörigen, von 0 verschiedenen Werten speichert. Speicherbedarf und Aufwand der
+ * Zeilenoperationen sind damit proportional zur Anzahl der von 0 verschiedenen Zellen statt zur
+ * Größe des Tableaus. Lohnend ist dies für Tableaus, die wie die Blöcke der Schlupf- und
+ * künstlichen Variablen überwiegend aus Nullen bestehen.
+ *
+ * @author Cedric Heinrich, Clemens Heinrich
+ */
+final class SparseTableau implements Tableau {
+
+    /** Anfängliche Kapazität einer Zeile: {@value #INITIAL_CAPACITY} */
+    private static final int INITIAL_CAPACITY = 4;
+
+    /** Breite des Tableaus */
+    private int width;
+
+    /** Anzahl der verwendeten Zeilen */
+    private int height;
+
+    /** aufsteigend sortierte Spaltenindizes der von 0 verschiedenen Zellen je Zeile */
+    private final int[][] columns;
+
+    /** Werte der von 0 verschiedenen Zellen je Zeile, parallel zu {@link #columns} */
+    private final Fraction[][] values;
+
+    /** Anzahl der von 0 verschiedenen Zellen je Zeile */
+    private final int[] sizes;
+
+    /** Zweitpuffer der Spaltenindizes je Zeile, in den beim Reduzieren geschrieben wird */
+    private final int[][] spareColumns;
+
+    /** Zweitpuffer der Werte je Zeile, in den beim Reduzieren geschrieben wird */
+    private final Fraction[][] spareValues;
+
+    /**
+     * Erstellt ein Tableau der übergebenen Größe, dessen Zellen den Wert 0 haben.
+     *
+     * @param height Anzahl der Zeilen
+     * @param width Anzahl der Spalten
+     * @pre height &gt; 0 &amp;&amp; width &gt; 0
+     */
+    SparseTableau(int height, int width) {
+        assert height > 0 && width > 0;
+
+        this.width = width;
+        this.height = height;
+        this.columns = new int[height][INITIAL_CAPACITY];
+        this.values = new Fraction[height][INITIAL_CAPACITY];
+        this.sizes = new int[height];
+        this.spareColumns = new int[height][INITIAL_CAPACITY];
+        this.spareValues = new Fraction[height][INITIAL_CAPACITY];
+    }
+
+    @Override
+    public int getHeight() {
+        return this.height;
+    }
+
+    @Override
+    public int getWidth() {
+        return this.width;
+    }
+
+    /**
+     * Die Breite ist nicht durch die Kapazität beschränkt, da die Zeilen bei Bedarf wachsen. Alle
+     * Zeilen werden geleert und behalten ihre Puffer.
+     */
+    @Override
+    public boolean reshape(int newHeight, int newWidth) {
+        assert newHeight > 0 && newWidth > 0;
+
+        if (newHeight > this.sizes.length) {
+            return false;
+        }
+        for (int i = 0; i < this.sizes.length; i++) {
+            Arrays.fill(this.values[i], 0, this.sizes[i], null);
+            this.sizes[i] = 0;
+        }
+        this.height = newHeight;
+        this.width = newWidth;
+        return true;
+    }
+
+    @Override
+    public Fraction getEntry(int row, int col) {
+        int idx = find(row, col);
+        return idx >= 0 ? this.values[row][idx] : Fraction.ZERO;
+    }
+
+    @Override
+    public void setEntry(int row, int col, Fraction value) {
+        assert value != null;
+
+        int idx = find(row, col);
+        if (idx >= 0) {
+            if (value.signum() == 0) {
+                remove(row, idx);
+            } else {
+                this.values[row][idx] = value;
+            }
+        } else if (value.signum() != 0) {
+            insert(row, -idx - 1, col, value);
+        }
+    }
+
+    @Override
+    public boolean isZero(int row, int col) {
+        return find(row, col) < 0;
+    }
+
+    @Override
+    public int nextNonZero(int row, int col) {
+        int idx = find(row, col);
+        if (idx < 0) {
+            idx = -idx - 1;
+        }
+        return idx < this.sizes[row] ? this.columns[row][idx] : this.width;
+    }
+
+    @Override
+    public void scaleRow(int row, int pivotCol) {
+        Fraction[] vals = this.values[row];
+        Fraction pivotElement = getEntry(row, pivotCol);
+        for (int k = 0; k < this.sizes[row]; k++) {
+            vals[k] = vals[k].divideBy(pivotElement);
+        }
+    }
+
+    @Override
+    public Fraction[][] toFractions() {
+        Fraction[][] fractions = new Fraction[getHeight()][this.width];
+        for (int i = 0; i < fractions.length; i++) {
+            Arrays.fill(fractions[i], Fraction.ZERO);
+            for (int k = 0; k < this.sizes[i]; k++) {
+                fractions[i][this.columns[i][k]] = this.values[i][k];
+            }
+        }
+        return fractions;
+    }
+
+    /**
+     * Beide Zeilen werden wie beim Mergesort gemeinsam durchlaufen, Zellen, die in beiden Zeilen
+     * 0 sind, werden nicht betrachtet.
+     */
+    @Override
+    public void reduceRow(int row, int pivotRow, int pivotCol) {
+        Fraction factor = getEntry(row, pivotCol);
+        if (factor.signum() == 0) {
+            return;
+        }
+
+        int size = this.sizes[row];
+        int pivotSize = this.sizes[pivotRow];
+        int[] cols = this.columns[row];
+        Fraction[] vals = this.values[row];
+        int[] pivotCols = this.columns[pivotRow];
+        Fraction[] pivotVals = this.values[pivotRow];
+
+        int capacity = size + pivotSize;
+        if (this.spareColumns[row].length < capacity) {
+            this.spareColumns[row] = new int[capacity];
+            this.spareValues[row] = new Fraction[capacity];
+        }
+        int[] newCols = this.spareColumns[row];
+        Fraction[] newVals = this.spareValues[row];
+
+        int k = 0;
+        int p = 0;
+        int n = 0;
+        while (k < size || p < pivotSize) {
+            int col = k < size ? cols[k] : this.width;
+            int pivotColIdx = p < pivotSize ? pivotCols[p] : this.width;
+            Fraction value;
+            if (col < pivotColIdx) {
+                // Pivotzeile hat hier eine 0, die Zelle bleibt unverändert
+                value = vals[k++];
+            } else if (col > pivotColIdx) {
+                // Zeile hat hier eine 0
+                col = pivotColIdx;
+                value = Fraction.ZERO.subtract(pivotVals[p++].multiplyBy(factor));
+            } else {
+                value = vals[k++].subtract(pivotVals[p++].multiplyBy(factor));
+            }
+            if (value.signum() != 0) {
+                newCols[n] = col;
+                newVals[n] = value;
+                n++;
+            }
+        }
+
+        // Puffer tauschen, der alte Inhalt wird beim nächsten Reduzieren überschrieben
+        Arrays.fill(vals, 0, size, null);
+        this.spareColumns[row] = cols;
+        this.spareValues[row] = vals;
+        this.columns[row] = newCols;
+        this.values[row] = newVals;
+        this.sizes[row] = n;
+    }
+
+    /**
+     * Sucht eine Spalte in einer Zeile.
+     *
+     * @param row Index der Zeile
+     * @param col Index der Spalte
+     * @return Position der Spalte in der Zeile oder (-(Einfügeposition) - 1), wenn die Zelle den
+     *         Wert 0 hat
+     */
+    private int find(int row, int col) {
+        return Arrays.binarySearch(this.columns[row], 0, this.sizes[row], col);
+    }
+
+    /**
+     * Fügt eine Zelle in eine Zeile ein.
+     *
+     * @param row Index der Zeile
+     * @param idx Position in der Zeile
+     * @param col Index der Spalte
+     * @param value von 0 verschiedener Wert der Zelle
+     */
+    private void insert(int row, int idx, int col, Fraction value) {
+        int size = this.sizes[row];
+        if (size == this.columns[row].length) {
+            this.columns[row] = Arrays.copyOf(this.columns[row], 2 * size);
+            this.values[row] = Arrays.copyOf(this.values[row], 2 * size);
+        }
+        System.arraycopy(this.columns[row], idx, this.columns[row], idx + 1, size - idx);
+        System.arraycopy(this.values[row], idx, this.values[row], idx + 1, size - idx);
+        this.columns[row][idx] = col;
+        this.values[row][idx] = value;
+        this.sizes[row] = size + 1;
+    }
+
+    /**
+     * Entfernt eine Zelle aus einer Zeile.
+     *
+     * @param row Index der Zeile
+     * @param idx Position in der Zeile
+     */
+    private void remove(int row, int idx) {
+        int size = this.sizes[row];
+        System.arraycopy(this.columns[row], idx + 1, this.columns[row], idx, size - idx - 1);
+        System.arraycopy(this.values[row], idx + 1, this.values[row], idx, size - idx - 1);
+        this.values[row][size - 1] = null;
+        this.sizes[row] = size - 1;
+    }
+
+}
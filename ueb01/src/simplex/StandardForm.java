@@ -0,0 +1,243 @@
+package simplex;
+
+import java.util.Arrays;
+
+import simplex.LinearProgram.Restriction;
+import simplex.LinearProgram.SolveType;
+
+/**
+ * Standardform eines linearen Optimierungsproblems mit derselben Spaltenaufteilung wie das
+ * Tableau von {@link SimplexSolver}: zuerst die Entscheidungsvariablen, dann eine Schlupf- und eine
+ * künstliche Variable je Restriktion. Die Zielfunktion wird immer maximiert, bei
+ * Minimierungsproblemen werden ihre Koeffizienten dazu negiert.
+ *
+ * Die Koeffizienten der Restriktionen werden nicht kopiert, sondern direkt aus dem
+ * {@link LinearProgram} gelesen, die Spalten der Schlupf- und künstlichen Variablen werden bei
+ * Bedarf berechnet.
+ *
+ * @author Cedric Heinrich, Clemens Heinrich
+ */
+final class StandardForm {
+
+    /** das zugrundeliegende LOP */
+    private final LinearProgram lp;
+
+    /** Restriktionen des LOP */
+    private final Restriction[] restrictions;
+
+    /** Anzahl der Entscheidungsvariablen */
+    private final int numDecisionVariables;
+
+    /** Koeffizienten der zu maximierenden Zielfunktion für die Entscheidungsvariablen */
+    private final Fraction[] costs;
+
+    /**
+     * Erstellt die Standardform zu einem LOP.
+     *
+     * @param lp das LOP
+     * @pre lp != null
+     */
+    StandardForm(LinearProgram lp) {
+        assert lp != null;
+
+        this.lp = lp;
+        this.restrictions = lp.getRestrictions();
+        this.numDecisionVariables = lp.getObjectiveTerm().length;
+        this.costs = new Fraction[this.numDecisionVariables];
+        boolean isMin = SolveType.MIN.equals(lp.getSolveType());
+        for (int j = 0; j < this.numDecisionVariables; j++) {
+            Fraction cost = lp.getObjectiveTerm()[j];
+            this.costs[j] = isMin ? cost.multiplyBy(Fraction.MINUS_ONE) : cost;
+        }
+    }
+
+    /**
+     * @return das zugrundeliegende LOP
+     */
+    LinearProgram getLinearProgram() {
+        return this.lp;
+    }
+
+    /**
+     * @return Anzahl der Restriktionen
+     */
+    int getNumRows() {
+        return this.restrictions.length;
+    }
+
+    /**
+     * @return Anzahl der Spalten (ohne rechte Seite)
+     */
+    int getNumColumns() {
+        return this.numDecisionVariables + 2 * this.restrictions.length;
+    }
+
+    /**
+     * @return Anzahl der Entscheidungsvariablen
+     */
+    int getNumDecisionVariables() {
+        return this.numDecisionVariables;
+    }
+
+    /**
+     * @return den Offset für die Schlupfvariablen
+     */
+    int getOffsetSlackVariable() {
+        return this.numDecisionVariables;
+    }
+
+    /**
+     * @return den Offset für die künstlichen Variablen
+     */
+    int getOffsetArtificialVariable() {
+        return this.numDecisionVariables + this.restrictions.length;
+    }
+
+    /**
+     * Liefert einen Koeffizienten der Restriktionen.
+     *
+     * @param row Index der Restriktion
+     * @param col Index der Spalte
+     * @return der Koeffizient
+     * @pre 0 &lt;= row &lt; getNumRows()
+     * @pre 0 &lt;= col &lt; getNumColumns()
+     */
+    Fraction getEntry(int row, int col) {
+        Restriction restriction = this.restrictions[row];
+        if (col < getOffsetSlackVariable()) {
+            return restriction.getTerm()[col];
+        } else if (col < getOffsetArtificialVariable()) {
+            return col - getOffsetSlackVariable() == row
+                    ? SimplexSolver.getSlackVarByRestrictionType(restriction.getType())
+                    : Fraction.ZERO;
+        } else {
+            return col - getOffsetArtificialVariable() == row
+                    ? SimplexSolver.getArtificialVarByRestrictionType(restriction.getType())
+                    : Fraction.ZERO;
+        }
+    }
+
+    /**
+     * Liefert eine Spalte der Restriktionen.
+     *
+     * @param col Index der Spalte
+     * @return die Koeffizienten der Spalte je Restriktion
+     */
+    Fraction[] getColumn(int col) {
+        Fraction[] column = new Fraction[this.restrictions.length];
+        if (col < getOffsetSlackVariable()) {
+            for (int i = 0; i < column.length; i++) {
+                column[i] = this.restrictions[i].getTerm()[col];
+            }
+        } else {
+            Arrays.fill(column, Fraction.ZERO);
+            int row = col < getOffsetArtificialVariable() ? col - getOffsetSlackVariable()
+                    : col - getOffsetArtificialVariable();
+            column[row] = getEntry(row, col);
+        }
+        return column;
+    }
+
+    /**
+     * Berechnet das Skalarprodukt eines Zeilenvektors mit einer Spalte der Restriktionen. Die
+     * Spalten der Schlupf- und künstlichen Variablen haben nur eine von 0 verschiedene Zelle und
+     * werden daher in konstanter Zeit berechnet.
+     *
+     * @param vector Zeilenvektor mit einem Wert je Restriktion
+     * @param col Index der Spalte
+     * @return vector * A_col
+     */
+    Fraction dot(Fraction[] vector, int col) {
+        if (col >= getOffsetSlackVariable()) {
+            int row = col < getOffsetArtificialVariable() ? col - getOffsetSlackVariable()
+                    : col - getOffsetArtificialVariable();
+            return vector[row].multiplyBy(getEntry(row, col));
+        }
+        Fraction sum = Fraction.ZERO;
+        for (int i = 0; i < this.restrictions.length; i++) {
+            Fraction entry = this.restrictions[i].getTerm()[col];
+            if (entry.signum() != 0 && vector[i].signum() != 0) {
+                sum = sum.add(vector[i].multiplyBy(entry));
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * @param row Index der Restriktion
+     * @return die rechte Seite der Restriktion
+     */
+    Fraction getRightSide(int row) {
+        return this.restrictions[row].getRightSide();
+    }
+
+    /**
+     * Liefert den Koeffizienten einer Spalte in der zu maximierenden Zielfunktion.
+     *
+     * @param col Index der Spalte
+     * @return der Koeffizient, für Schlupf- und künstliche Variablen 0
+     */
+    Fraction getCost(int col) {
+        return col < this.numDecisionVariables ? this.costs[col] : Fraction.ZERO;
+    }
+
+    /**
+     * Liefert die Basis des Ausgangstableaus wie {@link SimplexSolver}: die Schlupfvariable für
+     * &le;-Restriktionen, ansonsten die künstliche Variable.
+     *
+     * @return Indices der Basisvariablen je Restriktion
+     */
+    int[] getInitialBasis() {
+        int[] basis = new int[this.restrictions.length];
+        for (int i = 0; i < basis.length; i++) {
+            basis[i] = Fraction.ONE.equals(getEntry(i, getOffsetArtificialVariable() + i))
+                    ? getOffsetArtificialVariable() + i
+                    : getOffsetSlackVariable() + i;
+        }
+        return basis;
+    }
+
+    /**
+     * Erzeugt die Basismatrix, deren Spalten die Spalten der übergebenen Basisvariablen sind.
+     *
+     * @param basis Indices der Basisvariablen je Restriktion
+     * @return die Basismatrix mit den Zeilen in der ersten Dimension
+     */
+    Fraction[][] getBasisMatrix(int[] basis) {
+        Fraction[][] matrix = new Fraction[this.restrictions.length][basis.length];
+        for (int i = 0; i < matrix.length; i++) {
+            for (int k = 0; k < basis.length; k++) {
+                matrix[i][k] = getEntry(i, basis[k]);
+            }
+        }
+        return matrix;
+    }
+
+    /**
+     * Berechnet die Lösung (Koeffizienten der Entscheidungsvariablen und Wert der ursprünglichen
+     * Zielfunktion) aus den Werten der Basisvariablen.
+     *
+     * @param basis Indices der Basisvariablen je Restriktion
+     * @param values Werte der Basisvariablen
+     * @return Koeffizienten und Wert der Zielfunktion wie {@link SimplexSolver#getSolution()}
+     */
+    Fraction[] toSolution(int[] basis, Fraction[] values) {
+        Fraction[] solution = new Fraction[this.numDecisionVariables + 1];
+        for (int j = 0; j < this.numDecisionVariables; j++) {
+            solution[j] = Fraction.ZERO;
+        }
+        for (int k = 0; k < basis.length; k++) {
+            if (basis[k] < this.numDecisionVariables) {
+                solution[basis[k]] = values[k];
+            }
+        }
+        Fraction objectiveValue = Fraction.ZERO;
+        for (int j = 0; j < this.numDecisionVariables; j++) {
+            objectiveValue =
+                    objectiveValue.add(this.lp.getObjectiveTerm()[j].multiplyBy(solution[j]));
+        }
+        solution[this.numDecisionVariables] = objectiveValue;
+        return solution;
+    }
+
+}
@@ -0,0 +1,48 @@
+package simplex;
+
+/**
+ * Regel des steilsten Anstiegs (steepest edge): Pivotspalte ist die Spalte, deren Bewertung im
+ * Verhältnis zur Länge der Kante, entlang der sich die Lösung bewegt, am größten ist, d.h. mit
+ * dem größten Wert von score_j^2 / (1 + Summe_i a_ij^2). Die Längen werden in jedem Schritt aus
+ * den Spalten des Tableaus berechnet. Da sie nur die Wahl der Spalte beeinflussen, wird dafür mit
+ * Gleitkommazahlen gerechnet.
+ *
+ * @author Cedric Heinrich, Clemens Heinrich
+ */
+final class SteepestEdgeRule implements PivotRule {
+
+    /** Quadrate der Kantenlängen je Spalte, wird für jeden Schritt wiederverwendet */
+    private double[] weights = new double[0];
+
+    @Override
+    public int selectColumn(Tableau table, Fraction[] scores, int numColumns) {
+        if (this.weights.length < numColumns) {
+            this.weights = new double[numColumns];
+        }
+        for (int j = 0; j < numColumns; j++) {
+            this.weights[j] = 1;
+        }
+        // nur die Zeilen der Restriktionen, die letzte Zeile ist die Zielfunktion
+        for (int i = 0; i < table.getHeight() - 1; i++) {
+            for (int j = table.nextNonZero(i, 0); j < numColumns; j = table.nextNonZero(i, j + 1)) {
+                double value = table.getEntry(i, j).getAsFPN();
+                this.weights[j] += value * value;
+            }
+        }
+
+        int maxIndex = INVALID_INDEX;
+        double maxValue = 0;
+        for (int j = 0; j < numColumns; j++) {
+            if (scores[j].signum() > 0) {
+                double score = scores[j].getAsFPN();
+                double value = score * score / this.weights[j];
+                if (maxIndex == INVALID_INDEX || value > maxValue) {
+                    maxIndex = j;
+                    maxValue = value;
+                }
+            }
+        }
+        return maxIndex;
+    }
+
+}
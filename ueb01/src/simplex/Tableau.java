@@ -0,0 +1,126 @@
+package simplex;
+
+/**
+ * Speicher für die Zellen eines Simplex-Tableaus mit den Zeilen in der ersten und den Spalten in
+ * der zweiten Dimension. Neben dem Zugriff auf einzelne Zellen bietet ein Tableau die
+ * Zeilenoperationen eines Simplexschritts an, damit diese ohne Umweg über einzelne
+ * Fraction-Instanzen auf der internen Repräsentation ausgeführt werden können.
+ *
+ * @author Cedric Heinrich, Clemens Heinrich
+ */
+interface Tableau {
+
+    /**
+     * @return Anzahl der Zeilen des Tableaus
+     */
+    int getHeight();
+
+    /**
+     * @return Anzahl der Spalten des Tableaus
+     */
+    int getWidth();
+
+    /**
+     * Ändert die Größe des Tableaus innerhalb der beim Erzeugen angelegten Kapazität, sodass es
+     * für ein weiteres LOP wiederverwendet werden kann, ohne neuen Speicher anzulegen. Der Inhalt
+     * der Zellen ist danach undefiniert und muss mit {@link #setEntry} vollständig belegt werden.
+     *
+     * @param height neue Anzahl der Zeilen
+     * @param width neue Anzahl der Spalten
+     * @return true, wenn die Kapazität ausreicht, ansonsten false und das Tableau bleibt
+     *         unverändert
+     * @pre height &gt; 0 &amp;&amp; width &gt; 0
+     */
+    boolean reshape(int height, int width);
+
+    /**
+     * Liefert den Wert einer Zelle des Tableaus.
+     *
+     * @param row Index der Zeile
+     * @param col Index der Spalte
+     * @return der Wert der Zelle
+     * @pre 0 &lt;= row &lt; getHeight()
+     * @pre 0 &lt;= col &lt; getWidth()
+     */
+    Fraction getEntry(int row, int col);
+
+    /**
+     * Setzt den Wert einer Zelle des Tableaus.
+     *
+     * @param row Index der Zeile
+     * @param col Index der Spalte
+     * @param value der Wert, der in der Zelle gesetzt werden soll
+     * @pre 0 &lt;= row &lt; getHeight()
+     * @pre 0 &lt;= col &lt; getWidth()
+     * @pre value != null
+     */
+    void setEntry(int row, int col, Fraction value);
+
+    /**
+     * Liefert, ob eine Zelle des Tableaus den Wert 0 hat.
+     *
+     * @param row Index der Zeile
+     * @param col Index der Spalte
+     * @return true, wenn die Zelle den Wert 0 hat, ansonsten false
+     */
+    boolean isZero(int row, int col);
+
+    /**
+     * Liefert die nächste Spalte ab der übergebenen Spalte, in der eine Zeile keine 0 enthält.
+     * Damit lassen sich die von 0 verschiedenen Zellen einer Zeile durchlaufen:
+     * {@code for (int j = t.nextNonZero(i, 0); j < t.getWidth(); j = t.nextNonZero(i, j + 1))}
+     *
+     * @param row Index der Zeile
+     * @param col Index der ersten zu prüfenden Spalte
+     * @return Index der nächsten Spalte &gt;= col mit einem von 0 verschiedenen Wert oder
+     *         getWidth(), wenn es keine solche Spalte gibt
+     */
+    int nextNonZero(int row, int col);
+
+    /**
+     * Teilt alle Zellen einer Zeile durch den Wert der Zelle in der übergebenen Spalte, sodass
+     * dort anschließend eine 1 steht.
+     *
+     * @param row Index der zu normierenden Zeile
+     * @param pivotCol Index der Pivotspalte
+     * @pre !isZero(row, pivotCol)
+     */
+    void scaleRow(int row, int pivotCol);
+
+    /**
+     * Zieht von einer Zeile das Vielfache der Pivotzeile ab, das ihrem Wert in der Pivotspalte
+     * entspricht, sodass dort eine 0 entsteht. Dabei werden nur die Zeile selbst verändert und die
+     * Pivotzeile gelesen, verschiedene Zeilen können daher gleichzeitig reduziert werden.
+     *
+     * @param row Index der zu reduzierenden Zeile
+     * @param pivotRow Index der (bereits normierten) Pivotzeile
+     * @param pivotCol Index der Pivotspalte
+     * @pre row != pivotRow
+     */
+    void reduceRow(int row, int pivotRow, int pivotCol);
+
+    /**
+     * Reduziert alle Zeilen, außer der Pivotzeile, nacheinander mit {@link #reduceRow}, sodass in
+     * der Pivotspalte eine 0 entsteht.
+     *
+     * @param pivotRow Index der (bereits normierten) Pivotzeile
+     * @param pivotCol Index der Pivotspalte
+     */
+    default void reduceRows(int pivotRow, int pivotCol) {
+        for (int i = 0; i < getHeight(); i++) {
+            // Pivotzeile auslassen
+            if (i != pivotRow) {
+                reduceRow(i, pivotRow, pivotCol);
+            }
+        }
+    }
+
+    /**
+     * Liefert das Tableau als Fraction-Matrix. Implementierungen, die das Tableau nicht als
+     * Fraction-Matrix speichern, erzeugen dabei eine Momentaufnahme.
+     *
+     * @return das Tableau als Fraction-Matrix
+     */
+    Fraction[][] toFractions();
+
+}
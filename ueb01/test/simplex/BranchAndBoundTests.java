@@ -0,0 +1,186 @@
+package simplex;
+
+import static simplex.TestUtils.f;
+import static simplex.TestUtils.fs;
+import static simplex.TestUtils.r;
+import static simplex.TestUtils.rs;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import simplex.BranchAndBoundSolver.NodeSelection;
+import simplex.BranchAndBoundSolver.Status;
+import simplex.LinearProgram.Restriction;
+import simplex.LinearProgram.Restriction.Type;
+import simplex.LinearProgram.SolveType;
+import simplex.SimplexOptions.TableauStorage;
+
+/**
+ * Tests für das Lösen ganzzahliger LOPs mit Branch and Bound
+ *
+ * @author Cedric Heinrich, Clemens Heinrich
+ *
+ */
+public class BranchAndBoundTests {
+
+    /**
+     * max 5x + 4y mit 6x + 4y &lt;= 24, x + 2y &lt;= 6: Relaxierung (3, 3/2) mit 21, ganzzahlig
+     * (4, 0) mit 20
+     */
+    private static LinearProgram example() {
+        return new LinearProgram(
+                rs(r(fs(f(6), f(4)), Type.LE, f(24)), r(fs(f(1), f(2)), Type.LE, f(6))),
+                SolveType.MAX, fs(f(5), f(4)));
+    }
+
+    @Test
+    public void example_all_selections() {
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            for (NodeSelection selection : NodeSelection.values()) {
+                for (TableauStorage storage : TableauStorage.values()) {
+                    BranchAndBoundSolver solver = new BranchAndBoundSolver(example(),
+                            new boolean[] {true, true},
+                            new SimplexOptions().setTableauStorage(storage))
+                                    .setNodeSelection(selection).setPool(pool);
+                    Assert.assertEquals(selection + ": solve", Status.OPTIMAL, solver.solve());
+                    Assert.assertArrayEquals(selection + ": getSolution", fs(f(4), f(0), f(20)),
+                            solver.getSolution());
+                    Assert.assertTrue(selection + ": getNodeCount", solver.getNodeCount() > 1);
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void mixed_and_min() {
+        // nur x ganzzahlig: x = 3, y = 3/2 bleibt optimal
+        BranchAndBoundSolver mixed = new BranchAndBoundSolver(example(),
+                new boolean[] {true, false}, new SimplexOptions());
+        Assert.assertEquals("mixed", Status.OPTIMAL, mixed.solve());
+        Assert.assertArrayEquals("mixed", fs(f(3), f(3, 2), f(21)), mixed.getSolution());
+        Assert.assertEquals("mixed: getNodeCount", 1, mixed.getNodeCount());
+
+        // min x + y mit 2x + 2y >= 3: Relaxierung 3/2, ganzzahlig 2
+        LinearProgram min = new LinearProgram(rs(r(fs(f(2), f(2)), Type.GE, f(3))),
+                SolveType.MIN, fs(f(1), f(1)));
+        BranchAndBoundSolver solver =
+                new BranchAndBoundSolver(min, new boolean[] {true, true}, new SimplexOptions());
+        Assert.assertEquals("min", Status.OPTIMAL, solver.solve());
+        Fraction[] solution = solver.getSolution();
+        Assert.assertEquals("min", f(2), solution[2]);
+        Assert.assertEquals("min", f(2), solution[0].add(solution[1]));
+    }
+
+    @Test
+    public void unsolvable() {
+        // 2x = 1 hat keine ganzzahlige Lösung
+        LinearProgram lp = new LinearProgram(rs(r(fs(f(2), f(1)), Type.EQ, f(1))),
+                SolveType.MAX, fs(f(1), f(1)));
+        BranchAndBoundSolver solver =
+                new BranchAndBoundSolver(lp, new boolean[] {true, false}, new SimplexOptions());
+        Assert.assertEquals("solve", Status.OPTIMAL, solver.solve());
+        Assert.assertArrayEquals("x = 0", fs(f(0), f(1), f(1)), solver.getSolution());
+
+        lp = new LinearProgram(rs(r(fs(f(2), f(2)), Type.EQ, f(1))), SolveType.MAX,
+                fs(f(1), f(1)));
+        solver = new BranchAndBoundSolver(lp, new boolean[] {true, true}, new SimplexOptions());
+        Assert.assertEquals("solve", Status.UNSOLVABLE, solver.solve());
+        Assert.assertNull("getSolution", solver.getSolution());
+    }
+
+    @Test
+    public void limits() {
+        BranchAndBoundSolver solver = new BranchAndBoundSolver(example(),
+                new boolean[] {true, true}, new SimplexOptions()).setNodeLimit(1);
+        Assert.assertEquals("setNodeLimit", Status.LIMIT_REACHED, solver.solve());
+        Assert.assertNull("getSolution", solver.getSolution());
+        Assert.assertEquals("getNodeCount", 1, solver.getNodeCount());
+
+        solver = new BranchAndBoundSolver(example(), new boolean[] {true, true},
+                new SimplexOptions()).setNodeSelection(NodeSelection.DEPTH_FIRST)
+                        .setTimeLimit(1, TimeUnit.NANOSECONDS);
+        Assert.assertEquals("setTimeLimit", Status.LIMIT_REACHED, solver.solve());
+    }
+
+    @Test
+    public void matches_enumeration() {
+        Random random = new Random(21);
+        ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            for (int k = 0; k < 40; k++) {
+                int n = 2 + random.nextInt(2);
+                int m = 1 + random.nextInt(3);
+                Restriction[] restrictions = new Restriction[m];
+                for (int i = 0; i < m; i++) {
+                    Fraction[] term = new Fraction[n];
+                    for (int j = 0; j < n; j++) {
+                        term[j] = f(1 + random.nextInt(7));
+                    }
+                    restrictions[i] = r(term, Type.LE, f(5 + random.nextInt(20), 2));
+                }
+                Fraction[] objective = new Fraction[n];
+                for (int j = 0; j < n; j++) {
+                    objective[j] = f(random.nextInt(9));
+                }
+                LinearProgram lp = new LinearProgram(restrictions, SolveType.MAX, objective);
+                Fraction expected = enumerate(lp, new long[n], 0);
+
+                for (NodeSelection selection : NodeSelection.values()) {
+                    boolean[] integer = new boolean[n];
+                    Arrays.fill(integer, true);
+                    BranchAndBoundSolver solver =
+                            new BranchAndBoundSolver(lp, integer, new SimplexOptions())
+                                    .setNodeSelection(selection).setPool(pool);
+                    Assert.assertEquals(k + ", " + selection, Status.OPTIMAL, solver.solve());
+                    Fraction[] solution = solver.getSolution();
+                    Assert.assertEquals(k + ", " + selection, expected, solution[n]);
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * @return bester Wert der Zielfunktion über alle ganzzahligen Punkte, die ab Variable j die
+     *         Restriktionen erfüllen (alle Koeffizienten positiv, daher endlich)
+     */
+    private static Fraction enumerate(LinearProgram lp, long[] x, int j) {
+        Fraction value = Fraction.ZERO;
+        for (Restriction restriction : lp.getRestrictions()) {
+            Fraction lhs = Fraction.ZERO;
+            for (int i = 0; i < x.length; i++) {
+                lhs = lhs.add(restriction.getTerm()[i].multiplyBy(f(x[i])));
+            }
+            if (lhs.compareTo(restriction.getRightSide()) > 0) {
+                return null;
+            }
+        }
+        for (int i = 0; i < x.length; i++) {
+            value = value.add(lp.getObjectiveTerm()[i].multiplyBy(f(x[i])));
+        }
+        if (j == x.length) {
+            return value;
+        }
+        Fraction best = null;
+        for (long v = 0;; v++) {
+            x[j] = v;
+            Fraction candidate = enumerate(lp, x, j + 1);
+            if (candidate == null) {
+                break;
+            }
+            best = best == null || candidate.compareTo(best) > 0 ? candidate : best;
+        }
+        x[j] = 0;
+        return best;
+    }
+
+}
@@ -0,0 +1,88 @@
+package simplex;
+
+import static simplex.TestUtils.beale;
+import static simplex.TestUtils.examples;
+import static simplex.TestUtils.f;
+import static simplex.TestUtils.fs;
+import static simplex.TestUtils.fss;
+import static simplex.TestUtils.r;
+import static simplex.TestUtils.rs;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import simplex.LinearProgram.Restriction.Type;
+import simplex.LinearProgram.SolveType;
+import simplex.SimplexOptions.PivotStrategy;
+import simplex.SimplexSolver.SimplexState;
+
+/**
+ * Tests für DoubleSimplexSolver und die exakte Prüfung der Basis
+ *
+ * @author Cedric Heinrich, Clemens Heinrich
+ *
+ */
+public class DoubleSimplexTests {
+
+    @Test
+    public void examples_match_exact() {
+        for (LinearProgram lp : examples()) {
+            SimplexSolver expected = new SimplexSolver(lp);
+            DoubleSimplexSolver actual = new DoubleSimplexSolver(lp);
+            Assert.assertEquals("getState", expected.getState(), actual.getState());
+            Assert.assertArrayEquals("getSolution", expected.getSolution(), actual.getSolution());
+            Assert.assertEquals("solve", SimplexState.OPTIMAL, actual.getState());
+            Assert.assertFalse("isRepaired", actual.isRepaired());
+        }
+    }
+
+    @Test
+    public void exact_solution() {
+        // (1) 1x + 3y <= 1, (2) 3x + 1y <= 1, (3) x + y = MAX: x = y = 1/4, ohne Rundungsfehler
+        DoubleSimplexSolver s = new DoubleSimplexSolver(new LinearProgram(
+                rs(r(fs(f(1), f(3)), Type.LE, f(1)), r(fs(f(3), f(1)), Type.LE, f(1))),
+                SolveType.MAX, f(1, 3), f(1, 3)));
+        Assert.assertArrayEquals("getSolution", fs(f(1, 4), f(1, 4), f(1, 6)), s.getSolution());
+        Assert.assertFalse("isRepaired", s.isRepaired());
+    }
+
+    @Test
+    public void repair() {
+        // Toleranz so groß, dass keine Pivotspalte gefunden wird: Basis ist nicht optimal
+        LinearProgram lp = examples()[1];
+        DoubleSimplexSolver s = new DoubleSimplexSolver(lp, new SimplexOptions().setTolerance(10));
+        Assert.assertArrayEquals("getSolution", fs(f(0), f(4), f(16)), s.getSolution());
+        Assert.assertTrue("isRepaired", s.isRepaired());
+        Assert.assertEquals("getState", SimplexState.OPTIMAL, s.getState());
+    }
+
+    @Test
+    public void degenerate() {
+        // degeneriertes Beispiel von Beale, an dem die Regel von Dantzig zyklisch wird: nach
+        // einigen entarteten Schritten wird nach Bland gewählt
+        for (PivotStrategy strategy : PivotStrategy.values()) {
+            DoubleSimplexSolver s = new DoubleSimplexSolver(beale(),
+                    new SimplexOptions().setPivotStrategy(strategy));
+            Assert.assertArrayEquals(strategy + ": getSolution",
+                    fs(f(1), f(0), f(1), f(0), f(5, 4)), s.getSolution());
+            Assert.assertFalse(strategy + ": isRepaired", s.isRepaired());
+        }
+    }
+
+    @Test
+    public void factorization() {
+        // erste Spalte beginnt mit 0, erfordert Zeilentausch
+        BasisFactorization lu = new BasisFactorization(
+                fss(fs(f(0), f(2), f(1)), fs(f(1), f(1), f(0)), fs(f(2), f(0), f(3))));
+        Assert.assertFalse("isSingular", lu.isSingular());
+        // B * (1, 2, 3) = (7, 3, 11)
+        Assert.assertArrayEquals("solve", fs(f(1), f(2), f(3)), lu.solve(fs(f(7), f(3), f(11))));
+        // (1, 2, 3) * B = (8, 4, 10)
+        Assert.assertArrayEquals("solveTransposed", fs(f(1), f(2), f(3)),
+                lu.solveTransposed(fs(f(8), f(4), f(10))));
+
+        Assert.assertTrue("singulär", new BasisFactorization(
+                fss(fs(f(1), f(2)), fs(f(1, 2), f(1)))).isSingular());
+    }
+
+}
@@ -2,6 +2,9 @@ package simplex;
 
 import static simplex.TestUtils.f;
 
+import java.math.BigInteger;
+import java.util.Random;
+
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -88,4 +91,142 @@ public class FractionTests {
         Assert.assertTrue("2/3 = 2/3", f(2, 3).compareTo(f(2, 3)) == 0);
     }
 
+    @Test
+    public void compareTo_overflow() {
+        long max = Long.MAX_VALUE;
+        Assert.assertTrue("(MAX-1)/MAX > (MAX-2)/(MAX-1)",
+                f(max - 1, max).compareTo(f(max - 2, max - 1)) > 0);
+        Assert.assertTrue("-(MAX-1)/MAX < -(MAX-2)/(MAX-1)",
+                f(1 - max, max).compareTo(f(2 - max, max - 1)) < 0);
+        Assert.assertTrue("(MIN+1)/3 < MAX/3", f(Long.MIN_VALUE + 1, 3).compareTo(f(max, 3)) < 0);
+        Assert.assertTrue("MAX/2 > 3/(MAX-1)", f(max, 2).compareTo(f(3, max - 1)) > 0);
+
+        Fraction.resetCounters();
+        Assert.assertTrue("1/MAX < 1/(MAX-1)", f(1, max).compareTo(f(1, max - 1)) < 0);
+        Assert.assertEquals("getBigIntegerOperationCount", 0,
+                Fraction.getBigIntegerOperationCount());
+
+        // Vergleich mit BigInteger über den gesamten long-Bereich
+        Random random = new Random(23);
+        for (int i = 0; i < 10000; i++) {
+            long a = random.nextLong() >> random.nextInt(64);
+            long b = (random.nextLong() >>> 1 >> random.nextInt(63)) | 1;
+            long c = random.nextLong() >> random.nextInt(64);
+            long d = (random.nextLong() >>> 1 >> random.nextInt(63)) | 1;
+            Fraction left = f(a, b);
+            Fraction right = f(c, d);
+            int expected = left.getBigNumerator().multiply(right.getBigDenominator())
+                    .compareTo(right.getBigNumerator().multiply(left.getBigDenominator()));
+            Assert.assertEquals(left + " : " + right, expected,
+                    Integer.signum(left.compareTo(right)));
+            Assert.assertEquals("multiplyHigh", BigInteger.valueOf(a)
+                    .multiply(BigInteger.valueOf(c)).shiftRight(Long.SIZE).longValue(),
+                    Fraction.multiplyHigh(a, c));
+        }
+    }
+
+    @Test
+    public void overflow_add() {
+        BigInteger max = BigInteger.valueOf(Long.MAX_VALUE);
+        Fraction sum = f(Long.MAX_VALUE).add(Fraction.ONE);
+        Assert.assertTrue("MAX + 1 ist BigInteger", sum.isBig());
+        Assert.assertEquals("MAX + 1", new Fraction(max.add(BigInteger.ONE), BigInteger.ONE), sum);
+        Assert.assertEquals("(MAX + 1) - 1", f(Long.MAX_VALUE), sum.subtract(Fraction.ONE));
+        Assert.assertFalse("(MAX + 1) - 1 ist long", sum.subtract(Fraction.ONE).isBig());
+    }
+
+    @Test
+    public void overflow_multiplyBy() {
+        Fraction big = f(1, Long.MAX_VALUE).multiplyBy(f(1, Long.MAX_VALUE));
+        Assert.assertTrue("1/MAX * 1/MAX ist BigInteger", big.isBig());
+        Assert.assertEquals("1/MAX^2 * MAX", f(1, Long.MAX_VALUE),
+                big.multiplyBy(f(Long.MAX_VALUE)));
+        Assert.assertTrue("1/MAX^2 > 0", big.compareTo(Fraction.ZERO) > 0);
+        Assert.assertTrue("1/MAX^2 < 1/MAX", big.compareTo(f(1, Long.MAX_VALUE)) < 0);
+    }
+
+    @Test
+    public void overflow_min_value() {
+        Fraction f = f(1, Long.MIN_VALUE);
+        Assert.assertTrue("1/MIN ist BigInteger", f.isBig());
+        Assert.assertEquals(-1, f.signum());
+        Assert.assertEquals(BigInteger.valueOf(Long.MIN_VALUE).negate(), f.getBigDenominator());
+        Assert.assertEquals("1/MIN : 1/MIN", Fraction.ONE, f.divideBy(f));
+    }
+
+    @Test
+    public void promotion_counters() {
+        Fraction.resetCounters();
+        f(1, 2).add(f(1, 3));
+        Assert.assertEquals(0, Fraction.getPromotionCount());
+
+        Fraction big = f(Long.MAX_VALUE).multiplyBy(f(2));
+        Assert.assertEquals(1, Fraction.getPromotionCount());
+        Assert.assertEquals(1, Fraction.getBigIntegerOperationCount());
+
+        big.add(Fraction.ONE);
+        Assert.assertEquals(1, Fraction.getPromotionCount());
+        Assert.assertEquals(2, Fraction.getBigIntegerOperationCount());
+    }
+
+    @Test
+    public void reduced_intermediates() {
+        Fraction.resetCounters();
+        Assert.assertEquals("MAX/2 * 2/MAX", Fraction.ONE,
+                f(Long.MAX_VALUE, 2).multiplyBy(f(2, Long.MAX_VALUE)));
+        Assert.assertEquals("1/MAX + 1/MAX", f(2, Long.MAX_VALUE),
+                f(1, Long.MAX_VALUE).add(f(1, Long.MAX_VALUE)));
+        Assert.assertEquals("1/6 - 1/6", Fraction.ZERO, f(1, 6).subtract(f(1, 6)));
+        Assert.assertEquals("kein Überlauf", 0, Fraction.getPromotionCount());
+    }
+
+    @Test
+    public void gcd() {
+        Assert.assertEquals("gcd(12, 18)", 6, Fraction.gcd(12, 18));
+        Assert.assertEquals("gcd(-12, 18)", 6, Fraction.gcd(-12, 18));
+        Assert.assertEquals("gcd(12, -18)", 6, Fraction.gcd(12, -18));
+        Assert.assertEquals("gcd(-12, -18)", 6, Fraction.gcd(-12, -18));
+        Assert.assertEquals("gcd(0, -7)", 7, Fraction.gcd(0, -7));
+        Assert.assertEquals("gcd(7, 0)", 7, Fraction.gcd(7, 0));
+        Assert.assertEquals("gcd(0, 0)", 0, Fraction.gcd(0, 0));
+        Assert.assertEquals("gcd(17, 5)", 1, Fraction.gcd(17, 5));
+        Assert.assertEquals("gcd(MIN, 6)", 2, Fraction.gcd(Long.MIN_VALUE, 6));
+        Assert.assertEquals("gcd(MIN, MAX)", 1, Fraction.gcd(Long.MIN_VALUE, Long.MAX_VALUE));
+        Assert.assertEquals("gcd(MIN, MIN / 2)", 1L << 62,
+                Fraction.gcd(Long.MIN_VALUE, Long.MIN_VALUE / 2));
+        Assert.assertEquals("gcd(MIN, MIN)", Long.MIN_VALUE,
+                Fraction.gcd(Long.MIN_VALUE, Long.MIN_VALUE));
+    }
+
+    @Test
+    public void construct_min_value() {
+        Assert.assertEquals("MIN/MIN", Fraction.ONE, f(Long.MIN_VALUE, Long.MIN_VALUE));
+        Assert.assertEquals("0/MIN", Fraction.ZERO, f(0, Long.MIN_VALUE));
+        Assert.assertEquals("MIN/2", f(Long.MIN_VALUE / 2), f(Long.MIN_VALUE, 2));
+    }
+
+    @Test
+    public void valueOf() {
+        Assert.assertSame("0/5", Fraction.ZERO, Fraction.valueOf(0, 5));
+        Assert.assertSame("-3/-3", Fraction.ONE, Fraction.valueOf(-3, -3));
+        Assert.assertSame("2/-2", Fraction.MINUS_ONE, Fraction.valueOf(2, -2));
+        Assert.assertSame("6/8 = 3/4", Fraction.valueOf(3, 4), Fraction.valueOf(6, 8));
+        Assert.assertEquals("6/8 = 3/4", f(3, 4), Fraction.valueOf(6, 8));
+        Assert.assertEquals("1000/3", f(1000, 3), Fraction.valueOf(1000, 3));
+        Assert.assertEquals("1/MIN", f(1, Long.MIN_VALUE), Fraction.valueOf(1, Long.MIN_VALUE));
+    }
+
+    @Test
+    public void arithmetic_uses_cache() {
+        Assert.assertSame("1/2 + 1/2", Fraction.ONE, f(1, 2).add(f(1, 2)));
+        Assert.assertSame("1/2 - 1/2", Fraction.ZERO, f(1, 2).subtract(f(1, 2)));
+        Assert.assertSame("2/3 * 3/4", Fraction.valueOf(1, 2), f(2, 3).multiplyBy(f(3, 4)));
+        Assert.assertSame("1/2 : -1/2", Fraction.MINUS_ONE, f(1, 2).divideBy(f(-1, 2)));
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void divide_by_zero() {
+        f(1, 2).divideBy(Fraction.ZERO);
+    }
+
 }
@@ -0,0 +1,142 @@
+package simplex;
+
+import static simplex.TestUtils.f;
+import static simplex.TestUtils.fs;
+import static simplex.TestUtils.r;
+import static simplex.TestUtils.rs;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import simplex.LinearProgram.Restriction.Type;
+import simplex.LinearProgram.SolveType;
+
+/**
+ * Tests für das Lesen von LOPs im MPS-Format
+ *
+ * @author Cedric Heinrich, Clemens Heinrich
+ *
+ */
+public class MpsReaderTests {
+
+    /** Beispiel 1 aus SimplexTests in fester Schreibweise */
+    private static final String EXAMPLE = "NAME          EXAMPLE\n"
+            + "* 4x + 3y <= 320, 2x + 4y >= 100, 3x + 3y = 270, 2x + 8y = MIN\n"
+            + "ROWS\n"
+            + " N  COST\n"
+            + " L  LIM1\n"
+            + " G  LIM2\n"
+            + " E  MYEQN\n"
+            + "COLUMNS\n"
+            + "    X         COST         2.0   LIM1         4\n"
+            + "    X         LIM2           2   MYEQN        3\n"
+            + "    Y         COST           8   LIM1         3\n"
+            + "    Y         LIM2         4.0   MYEQN      3e0\n"
+            + "RHS\n"
+            + "    RHS       LIM1         320   LIM2       100\n"
+            + "    RHS       MYEQN        270\n"
+            + "ENDATA\n";
+
+    @Test
+    public void example() throws IOException {
+        LinearProgram lp = read(EXAMPLE);
+        LinearProgram expected = new LinearProgram(rs(r(fs(f(4), f(3)), Type.LE, f(320)),
+                r(fs(f(2), f(4)), Type.GE, f(100)), r(fs(f(3), f(3)), Type.EQ, f(270))),
+                SolveType.MIN, f(2), f(8));
+        assertEquals(expected, lp);
+        Assert.assertArrayEquals("getSolution", new SimplexSolver(expected).getSolution(),
+                new SimplexSolver(lp).getSolution());
+    }
+
+    @Test
+    public void file() throws IOException {
+        Path path = Files.createTempFile("example", ".mps");
+        try {
+            Files.write(path, EXAMPLE.replace("\n", "\r\n").getBytes(StandardCharsets.UTF_8));
+            Assert.assertEquals("getRestrictions", 3, MpsReader.read(path).getRestrictions().length);
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    public void objsense_bounds_and_decimals() throws IOException {
+        LinearProgram lp = read("NAME\n"
+                + "OBJSENSE\n"
+                + "    MAX\n"
+                + "ROWS\n"
+                + " N obj\n"
+                + " N free\n"
+                + " L c1\n"
+                + "COLUMNS\n"
+                + " MARKER 'MARKER' 'INTORG'\n"
+                + " x obj 0.5 c1 1\n"
+                + " x free 7\n"
+                + " MARKER 'MARKER' 'INTEND'\n"
+                + " y obj 1.5 c1 1\n"
+                + "RHS\n"
+                + " c1 -2.25\n"
+                + "BOUNDS\n"
+                + " UP BND x 4\n"
+                + " LO BND y 1\n"
+                + " FX y 3\n"
+                + " PL BND x\n"
+                + "ENDATA\n");
+        assertEquals(new LinearProgram(rs(r(fs(f(1), f(1)), Type.LE, f(-9, 4)),
+                r(fs(f(1), f(0)), Type.LE, f(4)), r(fs(f(0), f(1)), Type.GE, f(1)),
+                r(fs(f(0), f(1)), Type.EQ, f(3))), SolveType.MAX, f(1, 2), f(3, 2)), lp);
+        // 0 und kleine ganze Zahlen sind kanonische Instanzen
+        Assert.assertSame("Fraction.ZERO", Fraction.ZERO, lp.getRestrictions()[1].getTerm()[1]);
+    }
+
+    @Test
+    public void errors() {
+        assertError("NAME\nROWS\n N obj\nCOLUMNS\n x obj 1 c1 1\nENDATA\n", "Zeile 5");
+        assertError("ROWS\n N obj\n L c1\nRANGES\n R c1 4\n", "RANGES");
+        assertError("ROWS\n N obj\n L c1\nCOLUMNS\n x c1 1/2\n", "ungültige Zahl");
+        assertError("ROWS\n N obj\n L c1\nCOLUMNS\n x c1 1\nBOUNDS\n FR BND x\n", "FR");
+        assertError("ROWS\n L c1\nCOLUMNS\n x c1 1\n", "Zielfunktion");
+    }
+
+    /** Liest ein LOP aus dem übergebenen Text */
+    private static LinearProgram read(String mps) throws IOException {
+        return MpsReader.read(Channels.newChannel(
+                new ByteArrayInputStream(mps.getBytes(StandardCharsets.UTF_8))));
+    }
+
+    /** Prüft, ob das Lesen mit einer Meldung scheitert, die den übergebenen Text enthält */
+    private static void assertError(String mps, String message) {
+        try {
+            read(mps);
+            Assert.fail("keine Ausnahme: " + message);
+        } catch (IOException e) {
+            Assert.assertTrue(e.getMessage(), e.getMessage().contains(message));
+        }
+    }
+
+    /** Prüft, ob zwei LOPs gleich sind */
+    private static void assertEquals(LinearProgram expected, LinearProgram actual) {
+        Assert.assertEquals("getSolveType", expected.getSolveType(), actual.getSolveType());
+        Assert.assertArrayEquals("getObjectiveTerm", expected.getObjectiveTerm(),
+                actual.getObjectiveTerm());
+        Assert.assertEquals("Anzahl Restriktionen", expected.getRestrictions().length,
+                actual.getRestrictions().length);
+        for (int i = 0; i < expected.getRestrictions().length; i++) {
+            Assert.assertArrayEquals("getTerm " + i, expected.getRestrictions()[i].getTerm(),
+                    actual.getRestrictions()[i].getTerm());
+            Assert.assertEquals("getType " + i, expected.getRestrictions()[i].getType(),
+                    actual.getRestrictions()[i].getType());
+            Assert.assertEquals("getRightSide " + i,
+                    expected.getRestrictions()[i].getRightSide(),
+                    actual.getRestrictions()[i].getRightSide());
+        }
+    }
+
+}
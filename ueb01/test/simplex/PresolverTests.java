@@ -0,0 +1,137 @@
+package simplex;
+
+import static simplex.TestUtils.examples;
+import static simplex.TestUtils.f;
+import static simplex.TestUtils.fs;
+import static simplex.TestUtils.r;
+import static simplex.TestUtils.rs;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import simplex.LinearProgram.Restriction.Type;
+import simplex.LinearProgram.SolveType;
+
+/**
+ * Tests für das Vereinfachen linearer Optimierungsprobleme vor dem Lösen
+ *
+ * @author Cedric Heinrich, Clemens Heinrich
+ *
+ */
+public class PresolverTests {
+
+    @Test
+    public void examples_match_exact() {
+        for (LinearProgram lp : examples()) {
+            Fraction[] expected = new SimplexSolver(lp).getSolution();
+            Fraction[] actual = new Presolver(lp).solve(new SimplexOptions());
+            Assert.assertEquals("Zielwert", expected[expected.length - 1],
+                    actual[actual.length - 1]);
+        }
+    }
+
+    @Test
+    public void reductions() {
+        // (1) x0 + x1 + x2 <= 10, (2) 2x0 + 2x1 + 2x2 <= 30 (parallel), (3) x2 = 2 (fixiert),
+        // (4) x1 >= 1 (verschoben), (5) 0 <= 5 (leer), (6) x0 <= 4 (bleibt),
+        // 3x0 + 2x1 + x2 - x3 = MAX (x3 kommt in keiner Restriktion vor)
+        LinearProgram lp = new LinearProgram(rs(r(fs(f(1), f(1), f(1), f(0)), Type.LE, f(10)),
+                r(fs(f(2), f(2), f(2), f(0)), Type.LE, f(30)),
+                r(fs(f(0), f(0), f(1), f(0)), Type.EQ, f(2)),
+                r(fs(f(0), f(1), f(0), f(0)), Type.GE, f(1)),
+                r(fs(f(0), f(0), f(0), f(0)), Type.LE, f(5)),
+                r(fs(f(1), f(0), f(0), f(0)), Type.LE, f(4))), SolveType.MAX, f(3), f(2), f(1),
+                f(-1));
+        Presolver presolver = new Presolver(lp);
+        Assert.assertFalse("isUnsolvable", presolver.isUnsolvable());
+        Assert.assertEquals("getRemovedRows", 4, presolver.getRemovedRows());
+        Assert.assertEquals("getRemovedColumns", 2, presolver.getRemovedColumns());
+        Assert.assertEquals("toString", "Presolve: 6 x 4 -> 2 x 2", presolver.toString());
+
+        LinearProgram reduced = presolver.getReducedProgram();
+        Assert.assertEquals("Restriktionen", 2, reduced.getRestrictions().length);
+        // x0 + x1' <= 10 - 2 - 1 mit x1 = x1' + 1
+        Assert.assertEquals("rechte Seite", f(7), reduced.getRestrictions()[0].getRightSide());
+
+        Fraction[] expected = fs(f(4), f(4), f(2), f(0), f(22));
+        Assert.assertArrayEquals("postsolve", expected,
+                presolver.postsolve(new SimplexSolver(reduced).getSolution()));
+        Assert.assertArrayEquals("getSolution", expected, new SimplexSolver(lp).getSolution());
+    }
+
+    @Test
+    public void unsolvable() {
+        // leere Restriktion 0 >= 1
+        Assert.assertTrue("leer", new Presolver(new LinearProgram(
+                rs(r(fs(f(0), f(0)), Type.GE, f(1)), r(fs(f(1), f(1)), Type.LE, f(2))),
+                SolveType.MAX, f(1), f(1))).isUnsolvable());
+        // x0 = -1
+        Assert.assertTrue("Singleton", new Presolver(new LinearProgram(
+                rs(r(fs(f(1), f(0)), Type.EQ, f(-1)), r(fs(f(1), f(1)), Type.LE, f(2))),
+                SolveType.MAX, f(1), f(1))).isUnsolvable());
+        // x0 + x1 <= 2 und 2x0 + 2x1 >= 6
+        Presolver parallel = new Presolver(new LinearProgram(
+                rs(r(fs(f(1), f(1)), Type.LE, f(2)), r(fs(f(2), f(2)), Type.GE, f(6))),
+                SolveType.MAX, f(1), f(1)));
+        Assert.assertTrue("parallel", parallel.isUnsolvable());
+        Assert.assertNull("solve", parallel.solve(new SimplexOptions()));
+        // x1 kommt in keiner Restriktion vor und erhöht den Wert: unbeschränkt
+        Assert.assertTrue("unbeschränkt", new Presolver(new LinearProgram(
+                rs(r(fs(f(1), f(0)), Type.LE, f(2)), r(fs(f(1), f(0)), Type.LE, f(3))),
+                SolveType.MAX, f(1), f(1))).isUnsolvable());
+    }
+
+    @Test
+    public void fully_reduced() {
+        // x0 = 3, x1 >= 2, 2x0 + x1 = MIN: keine Restriktion und keine Variable bleibt
+        Presolver presolver = new Presolver(new LinearProgram(
+                rs(r(fs(f(1), f(0)), Type.EQ, f(3)), r(fs(f(0), f(1)), Type.GE, f(2))),
+                SolveType.MIN, f(2), f(1)));
+        Assert.assertEquals("toString", "Presolve: 2 x 2 -> 0 x 0", presolver.toString());
+        Assert.assertArrayEquals("solve", fs(f(3), f(2), f(8)),
+                presolver.solve(new SimplexOptions()));
+    }
+
+    @Test
+    public void emptied_by_singleton() {
+        // x0 = 3 fixiert x0 und leert damit 2x0 <= 10, x1 <= 4 bleibt: x0 + x1 = MAX
+        LinearProgram lp = new LinearProgram(rs(r(fs(f(1), f(0)), Type.EQ, f(3)),
+                r(fs(f(2), f(0)), Type.LE, f(10)), r(fs(f(0), f(1)), Type.LE, f(4))),
+                SolveType.MAX, f(1), f(1));
+        Presolver presolver = new Presolver(lp);
+        Assert.assertFalse("isUnsolvable", presolver.isUnsolvable());
+        Assert.assertEquals("toString", "Presolve: 3 x 2 -> 1 x 1", presolver.toString());
+        Assert.assertArrayEquals("solve", fs(f(3), f(4), f(7)),
+                presolver.solve(new SimplexOptions()));
+        Assert.assertArrayEquals("getSolution", fs(f(3), f(4), f(7)),
+                new SimplexSolver(lp).getSolution());
+
+        // x0 = 3 leert 2x0 >= 10, die damit verletzt ist
+        Assert.assertTrue("verletzt", new Presolver(new LinearProgram(
+                rs(r(fs(f(1), f(0)), Type.EQ, f(3)), r(fs(f(2), f(0)), Type.GE, f(10)),
+                        r(fs(f(0), f(1)), Type.LE, f(4))),
+                SolveType.MAX, f(1), f(1))).isUnsolvable());
+    }
+
+    @Test
+    public void negative_right_sides() {
+        // x0 >= 3 verschiebt x0 um 3, x0 + x1 >= 1 wird zu x0 + x1 >= -2: x0 + x1 = MIN
+        LinearProgram shifted = new LinearProgram(rs(r(fs(f(1), f(0)), Type.GE, f(3)),
+                r(fs(f(1), f(1)), Type.GE, f(1))), SolveType.MIN, f(1), f(1));
+        Assert.assertArrayEquals("getSolution", fs(f(3), f(0), f(3)),
+                new SimplexSolver(shifted).getSolution());
+        Assert.assertArrayEquals("verschoben", fs(f(3), f(0), f(3)),
+                new Presolver(shifted).solve(new SimplexOptions()));
+
+        // -x0 + x1 <= 2 und -x0 + x1 <= 5 werden durch -1 normiert zu x0 - x1 >= -2,
+        // x0 + x1 <= 4: x0 + 2x1 = MAX
+        LinearProgram normalized = new LinearProgram(rs(r(fs(f(-1), f(1)), Type.LE, f(2)),
+                r(fs(f(-1), f(1)), Type.LE, f(5)), r(fs(f(1), f(1)), Type.LE, f(4))),
+                SolveType.MAX, f(1), f(2));
+        Assert.assertArrayEquals("getSolution", fs(f(1), f(3), f(7)),
+                new SimplexSolver(normalized).getSolution());
+        Assert.assertArrayEquals("normiert", fs(f(1), f(3), f(7)),
+                new Presolver(normalized).solve(new SimplexOptions()));
+    }
+
+}
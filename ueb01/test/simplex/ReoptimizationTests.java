@@ -0,0 +1,212 @@
+package simplex;
+
+import static simplex.TestUtils.examples;
+import static simplex.TestUtils.f;
+import static simplex.TestUtils.fs;
+import static simplex.TestUtils.r;
+import static simplex.TestUtils.rs;
+
+import java.util.Arrays;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import simplex.LinearProgram.Restriction;
+import simplex.LinearProgram.Restriction.Type;
+import simplex.LinearProgram.SolveType;
+import simplex.SimplexOptions.TableauStorage;
+import simplex.SimplexSolver.SimplexState;
+
+/**
+ * Tests für den Warmstart von einer gegebenen Basis und das Reoptimieren nach Änderungen
+ *
+ * @author Cedric Heinrich, Clemens Heinrich
+ *
+ */
+public class ReoptimizationTests {
+
+    /**
+     * (1) x + y &lt;= 4, (2) x + 3y &lt;= 9, (3) x &lt;= 3, 3x + 2y = MAX, optimal bei x = 3,
+     * y = 1
+     *
+     * @param rhs3 rechte Seite der dritten Restriktion
+     * @return das LOP
+     */
+    private static LinearProgram production(int rhs3) {
+        return new LinearProgram(rs(r(fs(f(1), f(1)), Type.LE, f(4)),
+                r(fs(f(1), f(3)), Type.LE, f(9)), r(fs(f(1), f(0)), Type.LE, f(rhs3))),
+                SolveType.MAX, f(3), f(2));
+    }
+
+    @Test
+    public void warm_start_optimal_basis() {
+        for (LinearProgram lp : examples()) {
+            SimplexSolver cold = new SimplexSolver(lp);
+            Fraction[] expected = cold.getSolution();
+            SimplexSolver warm = new SimplexSolver(lp, new SimplexOptions(), cold.getBaseVars());
+            Assert.assertEquals("getState", SimplexState.VALID_SOLUTION, warm.getState());
+            Assert.assertArrayEquals("getSolution", expected, warm.getSolution());
+            Assert.assertEquals("getIterationCount", 0, warm.getIterationCount());
+        }
+    }
+
+    @Test
+    public void warm_start_scaled_rhs() {
+        // doppelte rechte Seiten: die optimale Basis bleibt optimal
+        for (LinearProgram lp : examples()) {
+            Restriction[] restrictions = lp.getRestrictions();
+            Restriction[] scaled = new Restriction[restrictions.length];
+            for (int i = 0; i < scaled.length; i++) {
+                scaled[i] = r(restrictions[i].getTerm(), restrictions[i].getType(),
+                        restrictions[i].getRightSide().multiplyBy(f(2)));
+            }
+            LinearProgram changed =
+                    new LinearProgram(scaled, lp.getSolveType(), lp.getObjectiveTerm());
+            SimplexSolver cold = new SimplexSolver(lp);
+            cold.solve();
+            SimplexSolver warm =
+                    new SimplexSolver(changed, new SimplexOptions(), cold.getBaseVars());
+            Assert.assertArrayEquals("getSolution", new SimplexSolver(changed).getSolution(),
+                    warm.getSolution());
+            Assert.assertEquals("getIterationCount", 0, warm.getIterationCount());
+        }
+    }
+
+    @Test
+    public void dual_simplex_after_rhs_change() {
+        SimplexSolver previous = new SimplexSolver(production(3));
+        Assert.assertArrayEquals("getSolution", fs(f(3), f(1), f(11)), previous.getSolution());
+
+        // x <= 5: die bisherige Basis liefert y = -1 und wird dual reoptimiert
+        SimplexSolver warm =
+                new SimplexSolver(production(5), new SimplexOptions(), previous.getBaseVars());
+        Assert.assertEquals("getState", SimplexState.INVALID_SOLUTION, warm.getState());
+        Assert.assertArrayEquals("getSolution", fs(f(4), f(0), f(12)), warm.getSolution());
+        Assert.assertEquals("getIterationCount", 1, warm.getIterationCount());
+        Assert.assertArrayEquals("kalt", new SimplexSolver(production(5)).getSolution(),
+                warm.getSolution());
+
+        // dieselbe Änderung ohne neues Tableau
+        Assert.assertEquals("setRightSides", SimplexState.INVALID_SOLUTION,
+                previous.setRightSides(f(4), f(9), f(5)));
+        Assert.assertArrayEquals("getSolution", fs(f(4), f(0), f(12)), previous.getSolution());
+        // zurück zu x <= 3: der Schlupf von (3) wird negativ
+        Assert.assertEquals("setRightSides", SimplexState.INVALID_SOLUTION,
+                previous.setRightSides(f(4), f(9), f(3)));
+        Assert.assertArrayEquals("getSolution", fs(f(3), f(1), f(11)), previous.getSolution());
+    }
+
+    @Test
+    public void infeasible_after_rhs_change() {
+        // (1) x + y <= 4, (2) x >= 1, x + y = MAX; mit x >= 5 unzulässig
+        LinearProgram lp = new LinearProgram(
+                rs(r(fs(f(1), f(1)), Type.LE, f(4)), r(fs(f(1), f(0)), Type.GE, f(1))),
+                SolveType.MAX, f(1), f(1));
+        SimplexSolver s = new SimplexSolver(lp);
+        Assert.assertEquals("solve", SimplexState.OPTIMAL, s.solve());
+        s.setRightSides(f(4), f(5));
+        Assert.assertNull("getSolution", s.getSolution());
+        Assert.assertEquals("getState", SimplexState.UNSOLVABLE, s.getState());
+    }
+
+    @Test
+    public void objective_change() {
+        SimplexSolver s = new SimplexSolver(production(3));
+        s.solve();
+        // 1x + 2y = MAX: optimal bei x = 3/2, y = 5/2
+        Assert.assertEquals("setObjectiveTerm", SimplexState.VALID_SOLUTION,
+                s.setObjectiveTerm(f(1), f(2)));
+        LinearProgram changed = new LinearProgram(production(3).getRestrictions(),
+                SolveType.MAX, f(1), f(2));
+        Assert.assertArrayEquals("getSolution", new SimplexSolver(changed).getSolution(),
+                s.getSolution());
+        Assert.assertArrayEquals("getSolution", fs(f(3, 2), f(5, 2), f(13, 2)), s.getSolution());
+    }
+
+    @Test
+    public void singular_start_basis() {
+        // x und 2x sind linear abhängig: Start im Ausgangstableau
+        LinearProgram lp = new LinearProgram(
+                rs(r(fs(f(1), f(0)), Type.LE, f(2)), r(fs(f(2), f(0)), Type.LE, f(6))),
+                SolveType.MAX, f(1), f(0));
+        SimplexSolver s = new SimplexSolver(lp, new SimplexOptions(), new int[] { 0, 1 });
+        Assert.assertArrayEquals("getBaseVars", new int[] { 2, 3 }, s.getBaseVars());
+        Assert.assertArrayEquals("getSolution", fs(f(2), f(0), f(2)), s.getSolution());
+    }
+
+    @Test
+    public void add_restriction_cut() {
+        SimplexSolver s = new SimplexSolver(production(3));
+        Assert.assertEquals("solve", SimplexState.OPTIMAL, s.solve());
+        int iterations = s.getIterationCount();
+
+        // x + y <= 3 schneidet die optimale Ecke (3, 1) ab
+        Assert.assertEquals("addRestriction", SimplexState.INVALID_SOLUTION,
+                s.addRestriction(r(fs(f(1), f(1)), Type.LE, f(3))));
+        Assert.assertArrayEquals("getSolution", fs(f(3), f(0), f(9)), s.getSolution());
+        Assert.assertEquals("getIterationCount", iterations + 1, s.getIterationCount());
+        Assert.assertEquals("getBaseVars", 4, s.getBaseVars().length);
+
+        // bereits erfüllte Restriktion: weiterhin optimal
+        Assert.assertEquals("erfüllt", SimplexState.VALID_SOLUTION,
+                s.addRestriction(r(fs(f(0), f(1)), Type.LE, f(5))));
+        Assert.assertArrayEquals("getSolution", fs(f(3), f(0), f(9)), s.getSolution());
+
+        // unerfüllbar
+        s.addRestriction(r(fs(f(1), f(1)), Type.GE, f(4)));
+        Assert.assertNull("unlösbar", s.getSolution());
+    }
+
+    @Test
+    public void add_restriction_matches_new_solver() {
+        for (TableauStorage storage : TableauStorage.values()) {
+            for (boolean compact : new boolean[] {false, true}) {
+                SimplexOptions options = new SimplexOptions().setTableauStorage(storage)
+                        .setCompactArtificialVariables(compact);
+                for (LinearProgram lp : examples()) {
+                    for (Type type : Type.values()) {
+                        assertAddRestriction(lp, type, options);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Fügt nacheinander zwei Restriktionen für die erste Variable hinzu und vergleicht den Wert
+     * der Zielfunktion mit einem neuen Automaten für das erweiterte LOP.
+     *
+     * @param lp das LOP
+     * @param type Typ der Restriktionen
+     * @param options Einstellungen der Automaten
+     */
+    private static void assertAddRestriction(LinearProgram lp, Type type,
+            SimplexOptions options) {
+        SimplexSolver s = new SimplexSolver(lp, options);
+        Restriction[] restrictions = lp.getRestrictions();
+        for (int k = 0; k < 2 && s.solve() == SimplexState.OPTIMAL; k++) {
+            Fraction x = s.getSolution()[0];
+            Fraction[] term = new Fraction[lp.getObjectiveTerm().length];
+            Arrays.fill(term, f(0));
+            term[0] = f(1);
+            Restriction restriction = r(term, type,
+                    Type.GE.equals(type) ? x.add(f(1)) : x.multiplyBy(f(1, 2)));
+            restrictions = Arrays.copyOf(restrictions, restrictions.length + 1);
+            restrictions[restrictions.length - 1] = restriction;
+
+            s.addRestriction(restriction);
+            Fraction[] expected = new SimplexSolver(
+                    new LinearProgram(restrictions, lp.getSolveType(), lp.getObjectiveTerm()),
+                    options).getSolution();
+            Fraction[] actual = s.getSolution();
+            String message = options.getTableauStorage() + ", " + type + ", " + k;
+            if (expected == null) {
+                Assert.assertNull(message, actual);
+            } else {
+                Assert.assertEquals(message, expected[expected.length - 1],
+                        actual[actual.length - 1]);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,96 @@
+package simplex;
+
+import static simplex.TestUtils.beale;
+import static simplex.TestUtils.examples;
+import static simplex.TestUtils.f;
+import static simplex.TestUtils.fs;
+import static simplex.TestUtils.r;
+import static simplex.TestUtils.rs;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import simplex.LinearProgram.Restriction.Type;
+import simplex.LinearProgram.SolveType;
+import simplex.SimplexOptions.PivotStrategy;
+import simplex.SimplexSolver.SimplexState;
+
+/**
+ * Tests für RevisedSimplexSolver und die Aktualisierung der Basiszerlegung
+ *
+ * @author Cedric Heinrich, Clemens Heinrich
+ *
+ */
+public class RevisedSimplexTests {
+
+    @Test
+    public void examples_match_exact() {
+        for (LinearProgram lp : examples()) {
+            SimplexSolver expected = new SimplexSolver(lp);
+            RevisedSimplexSolver actual = new RevisedSimplexSolver(lp);
+            Assert.assertEquals("getState", expected.getState(), actual.getState());
+            Assert.assertArrayEquals("getSolution", expected.getSolution(), actual.getSolution());
+            Assert.assertEquals("solve", SimplexState.OPTIMAL, actual.getState());
+        }
+    }
+
+    @Test
+    public void refactorization_interval() {
+        for (LinearProgram lp : examples()) {
+            Fraction[] expected = new RevisedSimplexSolver(lp,
+                    new SimplexOptions().setRefactorizationInterval(Integer.MAX_VALUE))
+                            .getSolution();
+            Assert.assertArrayEquals("getSolution", expected, new RevisedSimplexSolver(lp,
+                    new SimplexOptions().setRefactorizationInterval(1)).getSolution());
+        }
+    }
+
+    @Test
+    public void degenerate() {
+        // degeneriertes Beispiel von Beale, an dem die Regel von Dantzig zyklisch wird: nach
+        // einigen entarteten Austauschen wird nach Bland gewählt
+        for (PivotStrategy strategy : PivotStrategy.values()) {
+            RevisedSimplexSolver s = new RevisedSimplexSolver(beale(),
+                    new SimplexOptions().setPivotStrategy(strategy));
+            Assert.assertArrayEquals(strategy + ": getSolution",
+                    fs(f(1), f(0), f(1), f(0), f(5, 4)), s.getSolution());
+        }
+    }
+
+    @Test
+    public void redundant_restriction() {
+        // (1) 1x + 1y = 2, (2) 2x + 2y = 4 (redundant), (3) x + 2y = MAX
+        RevisedSimplexSolver s = new RevisedSimplexSolver(new LinearProgram(
+                rs(r(fs(f(1), f(1)), Type.EQ, f(2)), r(fs(f(2), f(2)), Type.EQ, f(4))),
+                SolveType.MAX, f(1), f(2)));
+        Assert.assertArrayEquals("getSolution", fs(f(0), f(2), f(4)), s.getSolution());
+    }
+
+    @Test
+    public void unbounded_and_infeasible() {
+        // x - y <= 1, x + y = MAX ist unbeschränkt
+        Assert.assertNull("unbeschränkt", new RevisedSimplexSolver(new LinearProgram(
+                rs(r(fs(f(1), f(-1)), Type.LE, f(1))), SolveType.MAX, f(1), f(1)))
+                        .getSolution());
+        // x + y <= 1, x + y >= 2 ist unzulässig
+        RevisedSimplexSolver s = new RevisedSimplexSolver(new LinearProgram(
+                rs(r(fs(f(1), f(1)), Type.LE, f(1)), r(fs(f(1), f(1)), Type.GE, f(2))),
+                SolveType.MIN, f(1), f(1)));
+        Assert.assertEquals("unzulässig", SimplexState.UNSOLVABLE, s.solve());
+    }
+
+    @Test
+    public void factorization_update() {
+        // Basis (e1, e2) -> Spalte 0 gegen (2, 1) tauschen: B = ((2, 0), (1, 1))
+        BasisFactorization lu = new BasisFactorization(
+                TestUtils.fss(fs(f(1), f(0)), fs(f(0), f(1))));
+        lu.update(0, lu.solve(fs(f(2), f(1))));
+        Assert.assertEquals("getUpdateCount", 1, lu.getUpdateCount());
+        // B * (1, 3) = (2, 4)
+        Assert.assertArrayEquals("solve", fs(f(1), f(3)), lu.solve(fs(f(2), f(4))));
+        // (1, 3) * B = (5, 3)
+        Assert.assertArrayEquals("solveTransposed", fs(f(1), f(3)),
+                lu.solveTransposed(fs(f(5), f(3))));
+    }
+
+}
@@ -0,0 +1,195 @@
+package simplex;
+
+import static simplex.TestUtils.examples;
+import static simplex.TestUtils.f;
+import static simplex.TestUtils.fs;
+import static simplex.TestUtils.r;
+import static simplex.TestUtils.rs;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import simplex.LinearProgram.Restriction;
+import simplex.LinearProgram.Restriction.Type;
+import simplex.LinearProgram.SolveType;
+import simplex.SensitivityAnalysis.Range;
+import simplex.SimplexOptions.TableauStorage;
+
+/**
+ * Tests für die aus dem optimalen Tableau abgelesene Sensitivitätsanalyse
+ *
+ * @author Cedric Heinrich, Clemens Heinrich
+ *
+ */
+public class SensitivityAnalysisTests {
+
+    @Test
+    public void textbook_example() {
+        // max 3x + 5y mit x <= 4, 2y <= 12, 3x + 2y <= 18: optimal (2, 6) mit 36
+        LinearProgram lp = new LinearProgram(
+                rs(r(fs(f(1), f(0)), Type.LE, f(4)), r(fs(f(0), f(2)), Type.LE, f(12)),
+                        r(fs(f(3), f(2)), Type.LE, f(18))),
+                SolveType.MAX, fs(f(3), f(5)));
+        SensitivityAnalysis analysis = new SimplexSolver(lp).getSensitivityAnalysis();
+
+        Assert.assertArrayEquals("getShadowPrices", fs(f(0), f(3, 2), f(1)),
+                analysis.getShadowPrices());
+        Assert.assertArrayEquals("getReducedCosts", fs(f(0), f(0)), analysis.getReducedCosts());
+        Range[] rightSides = analysis.getRightSideRanges();
+        assertRange("b1", f(2), null, rightSides[0]);
+        assertRange("b2", f(6), f(18), rightSides[1]);
+        assertRange("b3", f(12), f(24), rightSides[2]);
+        Range[] objective = analysis.getObjectiveRanges();
+        assertRange("c1", f(0), f(15, 2), objective[0]);
+        assertRange("c2", f(2), null, objective[1]);
+    }
+
+    @Test
+    public void nonbasic_and_min() {
+        // min 2x + 3y mit x + y >= 4: optimal (4, 0), y nichtbasisch mit reduzierten Kosten 1
+        LinearProgram lp = new LinearProgram(rs(r(fs(f(1), f(1)), Type.GE, f(4))),
+                SolveType.MIN, fs(f(2), f(3)));
+        SensitivityAnalysis analysis = new SimplexSolver(lp).getSensitivityAnalysis();
+
+        Assert.assertArrayEquals("getShadowPrices", fs(f(2)), analysis.getShadowPrices());
+        Assert.assertArrayEquals("getReducedCosts", fs(f(0), f(1)), analysis.getReducedCosts());
+        assertRange("b1", f(0), null, analysis.getRightSideRanges()[0]);
+        assertRange("c1", f(0), f(3), analysis.getObjectiveRanges()[0]);
+        assertRange("c2", f(2), null, analysis.getObjectiveRanges()[1]);
+        Assert.assertTrue("contains", analysis.getObjectiveRanges()[1].contains(f(100)));
+        Assert.assertFalse("contains", analysis.getObjectiveRanges()[1].contains(f(1)));
+
+        Assert.assertNull("unlösbar", new SimplexSolver(new LinearProgram(
+                rs(r(fs(f(1)), Type.GE, f(2)), r(fs(f(1)), Type.LE, f(1))), SolveType.MAX,
+                fs(f(1)))).getSensitivityAnalysis());
+    }
+
+    @Test
+    public void matches_perturbed_solves() {
+        for (TableauStorage storage : TableauStorage.values()) {
+            for (boolean compact : new boolean[] {false, true}) {
+                SimplexOptions options = new SimplexOptions().setTableauStorage(storage)
+                        .setCompactArtificialVariables(compact).setDualSimplex(compact);
+                for (LinearProgram lp : examples()) {
+                    String message = storage + ", " + compact + ", " + lp;
+                    SimplexSolver solver = new SimplexSolver(lp, options);
+                    Fraction[] solution = solver.getSolution();
+                    SensitivityAnalysis analysis = solver.getSensitivityAnalysis();
+                    assertReducedCosts(message, lp, analysis);
+                    assertRightSides(message, lp, solution, analysis);
+                    assertObjective(message, lp, solution, analysis);
+                }
+            }
+        }
+    }
+
+    /**
+     * Prüft c_j - y * A_j für alle Entscheidungsvariablen.
+     */
+    private static void assertReducedCosts(String message, LinearProgram lp,
+            SensitivityAnalysis analysis) {
+        Fraction[] shadowPrices = analysis.getShadowPrices();
+        Restriction[] restrictions = lp.getRestrictions();
+        for (int j = 0; j < lp.getObjectiveTerm().length; j++) {
+            Fraction expected = lp.getObjectiveTerm()[j];
+            for (int i = 0; i < restrictions.length; i++) {
+                expected = expected
+                        .subtract(shadowPrices[i].multiplyBy(restrictions[i].getTerm()[j]));
+            }
+            Assert.assertEquals(message + ": getReducedCosts " + j, expected,
+                    analysis.getReducedCosts()[j]);
+        }
+    }
+
+    /**
+     * Prüft, dass der optimale Wert an den Grenzen der Bereiche der rechten Seiten wie mit den
+     * Schattenpreisen vorhergesagt ist.
+     */
+    private static void assertRightSides(String message, LinearProgram lp, Fraction[] solution,
+            SensitivityAnalysis analysis) {
+        Restriction[] restrictions = lp.getRestrictions();
+        Fraction value = solution[solution.length - 1];
+        for (int i = 0; i < restrictions.length; i++) {
+            Range range = analysis.getRightSideRanges()[i];
+            Fraction rightSide = restrictions[i].getRightSide();
+            Assert.assertTrue(message + ": contains " + i, range.contains(rightSide));
+            for (Fraction bound : new Fraction[] {range.getLower(), range.getUpper(),
+                    rightSide.add(f(1, 2))}) {
+                if (bound != null && range.contains(bound)) {
+                    Fraction[] rightSides = new Fraction[restrictions.length];
+                    for (int k = 0; k < rightSides.length; k++) {
+                        rightSides[k] = k == i ? bound : restrictions[k].getRightSide();
+                    }
+                    SimplexSolver perturbed = new SimplexSolver(lp);
+                    perturbed.solve();
+                    perturbed.setRightSides(rightSides);
+                    Fraction[] perturbedSolution = perturbed.getSolution();
+                    Assert.assertEquals(message + ": b" + i + " = " + bound,
+                            value.add(analysis.getShadowPrices()[i]
+                                    .multiplyBy(bound.subtract(rightSide))),
+                            perturbedSolution[perturbedSolution.length - 1]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Prüft, dass die Lösung an den Grenzen der Bereiche der Zielfunktionskoeffizienten optimal
+     * bleibt und außerhalb nicht mehr.
+     */
+    private static void assertObjective(String message, LinearProgram lp, Fraction[] solution,
+            SensitivityAnalysis analysis) {
+        Fraction[] objectiveTerm = lp.getObjectiveTerm();
+        for (int j = 0; j < objectiveTerm.length; j++) {
+            Range range = analysis.getObjectiveRanges()[j];
+            Assert.assertTrue(message + ": contains " + j, range.contains(objectiveTerm[j]));
+            Fraction[][] bounds = {{range.getLower(), f(-1)}, {range.getUpper(), f(1)}};
+            for (Fraction[] bound : bounds) {
+                if (bound[0] != null) {
+                    // an der Grenze bleibt die Lösung optimal
+                    Assert.assertEquals(message + ": c" + j + " = " + bound[0],
+                            evaluate(solution, objectiveTerm, j, bound[0]),
+                            solveWith(lp, j, bound[0]));
+                    // dahinter gibt es eine bessere Lösung (null: unbeschränkt)
+                    Fraction outside = bound[0].add(bound[1]);
+                    Fraction better = solveWith(lp, j, outside);
+                    Fraction current = evaluate(solution, objectiveTerm, j, outside);
+                    Assert.assertTrue(message + ": c" + j + " = " + outside, better == null
+                            || (SolveType.MAX.equals(lp.getSolveType())
+                                    ? better.compareTo(current) > 0
+                                    : better.compareTo(current) < 0));
+                }
+            }
+        }
+    }
+
+    /**
+     * @return Wert der Zielfunktion in der Lösung, wenn Koeffizient j ersetzt wird
+     */
+    private static Fraction evaluate(Fraction[] solution, Fraction[] objectiveTerm, int j,
+            Fraction cost) {
+        Fraction value = Fraction.ZERO;
+        for (int k = 0; k < objectiveTerm.length; k++) {
+            value = value.add((k == j ? cost : objectiveTerm[k]).multiplyBy(solution[k]));
+        }
+        return value;
+    }
+
+    /**
+     * @return optimaler Wert, wenn Koeffizient j ersetzt wird, oder null, wenn unlösbar
+     */
+    private static Fraction solveWith(LinearProgram lp, int j, Fraction cost) {
+        Fraction[] term = lp.getObjectiveTerm().clone();
+        term[j] = cost;
+        Fraction[] solution = new SimplexSolver(
+                new LinearProgram(lp.getRestrictions(), lp.getSolveType(), term)).getSolution();
+        return solution == null ? null : solution[solution.length - 1];
+    }
+
+    private static void assertRange(String message, Fraction lower, Fraction upper,
+            Range range) {
+        Assert.assertEquals(message + ": getLower", lower, range.getLower());
+        Assert.assertEquals(message + ": getUpper", upper, range.getUpper());
+    }
+
+}
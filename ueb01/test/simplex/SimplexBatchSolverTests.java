@@ -0,0 +1,72 @@
+package simplex;
+
+import static simplex.TestUtils.examples;
+import static simplex.TestUtils.f;
+import static simplex.TestUtils.fs;
+import static simplex.TestUtils.r;
+import static simplex.TestUtils.rs;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import simplex.LinearProgram.Restriction.Type;
+import simplex.LinearProgram.SolveType;
+import simplex.SimplexOptions.TableauStorage;
+import simplex.SimplexSolver.SimplexState;
+
+/**
+ * Tests für das gleichzeitige Lösen vieler LOPs
+ *
+ * @author Cedric Heinrich, Clemens Heinrich
+ *
+ */
+public class SimplexBatchSolverTests {
+
+    @Test
+    public void results_in_input_order() {
+        // unterschiedlich große LOPs, darunter ein unlösbares
+        List<LinearProgram> lps = new ArrayList<>();
+        for (int k = 0; k < 20; k++) {
+            Collections.addAll(lps, examples());
+            lps.add(new LinearProgram(rs(r(fs(f(1), f(-1)), Type.LE, f(k))), SolveType.MAX,
+                    f(1), f(1)));
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (TableauStorage storage : TableauStorage.values()) {
+                List<SimplexBatchSolver.Result> results = new SimplexBatchSolver(pool,
+                        new SimplexOptions().setTableauStorage(storage)).solve(lps);
+                Assert.assertEquals("size", lps.size(), results.size());
+                for (int i = 0; i < lps.size(); i++) {
+                    SimplexSolver expected = new SimplexSolver(lps.get(i));
+                    Fraction[] solution = expected.getSolution();
+                    Assert.assertEquals(storage + ": getState", expected.getState(),
+                            results.get(i).getState());
+                    Assert.assertArrayEquals(storage + ": getSolution", solution,
+                            results.get(i).getSolution());
+                    Assert.assertEquals(storage + ": getIterationCount",
+                            expected.getIterationCount(), results.get(i).getIterationCount());
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void empty_batch() {
+        Assert.assertTrue("leer",
+                new SimplexBatchSolver().solve(new ArrayList<LinearProgram>()).isEmpty());
+        Assert.assertEquals("unbeschränkt", SimplexState.UNSOLVABLE,
+                new SimplexBatchSolver().solve(Collections.singletonList(new LinearProgram(
+                        rs(r(fs(f(1), f(-1)), Type.LE, f(1))), SolveType.MAX, f(1), f(1))))
+                        .get(0).getState());
+    }
+
+}
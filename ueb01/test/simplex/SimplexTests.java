@@ -1,5 +1,7 @@
 package simplex;
 
+import static simplex.TestUtils.beale;
+import static simplex.TestUtils.examples;
 import static simplex.TestUtils.f;
 import static simplex.TestUtils.fs;
 import static simplex.TestUtils.fss;
@@ -7,11 +9,18 @@ import static simplex.TestUtils.ints;
 import static simplex.TestUtils.r;
 import static simplex.TestUtils.rs;
 
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
 import org.junit.Assert;
 import org.junit.Test;
 
+import simplex.LinearProgram.Restriction;
 import simplex.LinearProgram.Restriction.Type;
 import simplex.LinearProgram.SolveType;
+import simplex.SimplexOptions.PivotStrategy;
+import simplex.SimplexOptions.TableauStorage;
 import simplex.SimplexSolver.SimplexState;
 
 /**
@@ -22,6 +31,13 @@ import simplex.SimplexSolver.SimplexState;
  */
 public class SimplexTests {
 
+    /**
+     * Beispiele aus phase1_row, in denen die Regel von Dantzig nicht das Ergebnis von Bland
+     * liefert: Gemäß Aufgabenstellung wählt sie keine Zeilen mit rechter Seite 0, meldet daher in
+     * 5, 10 und 14 unlösbar und übergeht in 20 eine solche Restriktion, die ihre Lösung verletzt.
+     */
+    private static final int[] DANTZIG_DIVERGES = ints(5, 10, 14, 20);
+
     @Test
     public void simplex_1() {
         // (1) 4x + 3y <= 320
@@ -120,4 +136,371 @@ public class SimplexTests {
         Assert.assertArrayEquals("getSolution", fs(f(0), f(5), f(15, 2)), s.getSolution());
     }
 
+    @Test
+    public void primitive_tableau() {
+        assertSameSteps(TableauStorage.PRIMITIVE);
+    }
+
+    @Test
+    public void sparse_tableau() {
+        assertSameSteps(TableauStorage.SPARSE);
+    }
+
+    @Test
+    public void primitive_tableau_fractional_solution() {
+        // LOP aus Beispiel 5
+        SimplexSolver s = new SimplexSolver(
+                new LinearProgram(rs(r(fs(f(1), f(1)), Type.LE, f(3)),
+                        r(fs(f(1), f(1)), Type.LE, f(2)), r(fs(f(1), f(-1)), Type.GE, f(1))),
+                        SolveType.MAX, f(1), f(1)),
+                new SimplexOptions().setTableauStorage(TableauStorage.PRIMITIVE));
+        Assert.assertArrayEquals("getSolution", fs(f(3, 2), f(1, 2), f(2)), s.getSolution());
+    }
+
+    @Test
+    public void sparse_tableau_auto() {
+        // (i) x_i <= i für i = 1..30, (31) Summe x_i <= 1000, (32) Summe x_i = MAX
+        int n = 30;
+        Restriction[] restrictions = new Restriction[n + 1];
+        Fraction[] ones = new Fraction[n];
+        for (int i = 0; i < n; i++) {
+            Fraction[] term = new Fraction[n];
+            Arrays.fill(term, Fraction.ZERO);
+            term[i] = Fraction.ONE;
+            restrictions[i] = r(term, Type.LE, f(i + 1));
+            ones[i] = Fraction.ONE;
+        }
+        restrictions[n] = r(ones, Type.LE, f(1000));
+        LinearProgram lp = new LinearProgram(restrictions, SolveType.MAX, ones);
+
+        SimplexSolver dense = new SimplexSolver(lp,
+                new SimplexOptions().setTableauStorage(TableauStorage.FRACTION));
+        SimplexSolver auto = new SimplexSolver(lp,
+                new SimplexOptions().setTableauStorage(TableauStorage.AUTO));
+        SimplexSolver standard = new SimplexSolver(lp);
+        Assert.assertSame("Standard FRACTION (Referenz)", standard.getTable(),
+                standard.getTable());
+        Assert.assertNotSame("AUTO wählt SPARSE (Momentaufnahme)", auto.getTable(),
+                auto.getTable());
+        Assert.assertArrayEquals("getSolution", dense.getSolution(), auto.getSolution());
+        Assert.assertEquals("MAX", f(n * (n + 1) / 2), auto.getSolution()[n]);
+    }
+
+    @Test
+    public void parallel_row_reduction() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (TableauStorage storage : TableauStorage.values()) {
+                LinearProgram lp = new LinearProgram(rs(r(fs(f(4), f(3)), Type.LE, f(320)),
+                        r(fs(f(2), f(4)), Type.GE, f(100)), r(fs(f(3), f(3)), Type.EQ, f(270))),
+                        SolveType.MIN, f(2), f(8));
+                SimplexSolver expected = new SimplexSolver(lp,
+                        new SimplexOptions().setTableauStorage(TableauStorage.FRACTION));
+                SimplexSolver actual = new SimplexSolver(lp, new SimplexOptions()
+                        .setTableauStorage(storage).setRowReductionPool(pool).setParallelMinRows(0));
+                while (!SimplexState.OPTIMAL.equals(expected.getState())) {
+                    Assert.assertEquals("step", expected.step(), actual.step());
+                    assertSameTableau(expected, actual);
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void pivot_strategies() {
+        for (PivotStrategy strategy : PivotStrategy.values()) {
+            for (LinearProgram lp : examples()) {
+                Fraction[] expected = new SimplexSolver(lp).getSolution();
+                SimplexSolver s =
+                        new SimplexSolver(lp, new SimplexOptions().setPivotStrategy(strategy));
+                Fraction[] actual = s.getSolution();
+                // Beispiel 5 hat mehrere optimale Lösungen, verglichen wird daher der Zielwert
+                Assert.assertEquals(strategy + ": Zielwert", expected[expected.length - 1],
+                        actual[actual.length - 1]);
+                Assert.assertTrue(strategy + ": getIterationCount", s.getIterationCount() > 0);
+            }
+        }
+    }
+
+    @Test
+    public void phase1_row() {
+        // viele Schritte in Phase 1; die mitgeführte Hilfszielfunktionszeile wird nach jedem
+        // Schritt mit im Test berechneten Spaltensummen verglichen und die Lösung mit der Regel
+        // von Bland
+        Random random = new Random(24);
+        int compared = 0;
+        for (int k = 0; k < 30; k++) {
+            int n = 2 + random.nextInt(4);
+            Restriction[] restrictions = new Restriction[2 + random.nextInt(4)];
+            for (int i = 0; i < restrictions.length; i++) {
+                Fraction[] term = new Fraction[n];
+                for (int j = 0; j < n; j++) {
+                    term[j] = f(random.nextInt(7) - 1, 1 + random.nextInt(3));
+                }
+                Type type = Type.values()[random.nextInt(Type.values().length)];
+                restrictions[i] = r(term, type, f(random.nextInt(20)));
+            }
+            Fraction[] objective = new Fraction[n];
+            for (int j = 0; j < n; j++) {
+                objective[j] = f(random.nextInt(9) - 4);
+            }
+            LinearProgram lp = new LinearProgram(restrictions, SolveType.MIN, objective);
+
+            Fraction[] expected = new SimplexSolver(lp,
+                    new SimplexOptions().setPivotStrategy(PivotStrategy.BLAND)).getSolution();
+            for (PivotStrategy strategy : PivotStrategy.values()) {
+                for (TableauStorage storage : TableauStorage.values()) {
+                    String message = k + ", " + strategy + ", " + storage;
+                    SimplexSolver s = new SimplexSolver(lp, new SimplexOptions()
+                            .setPivotStrategy(strategy).setTableauStorage(storage)
+                            .setCompactArtificialVariables(k % 2 == 1));
+                    while (s.getState() == SimplexState.INVALID_SOLUTION) {
+                        s.step();
+                        compared += assertPhase1Row(message, s, n + restrictions.length);
+                    }
+                    s.solve();
+                    Fraction[] actual = s.getSolution();
+                    if (PivotStrategy.DANTZIG.equals(strategy)
+                            && Arrays.binarySearch(DANTZIG_DIVERGES, k) >= 0) {
+                        Assert.assertFalse(message + ": weicht von Bland ab",
+                                Arrays.equals(expected, actual));
+                    } else if (expected == null) {
+                        Assert.assertNull(message, actual);
+                    } else {
+                        Assert.assertNotNull(message, actual);
+                        Assert.assertEquals(message, expected[expected.length - 1],
+                                actual[actual.length - 1]);
+                    }
+                }
+            }
+        }
+        Assert.assertTrue("Schritte in Phase 1", compared > 0);
+    }
+
+    /**
+     * Vergleicht die mitgeführte Hilfszielfunktionszeile der Phase 1, sofern sie mitgeführt wird,
+     * mit den Spaltensummen über alle Zeilen mit künstlicher Basisvariable.
+     *
+     * @return 1, wenn verglichen wurde, sonst 0
+     */
+    private static int assertPhase1Row(String message, SimplexSolver s, int numColumns) {
+        Fraction[] maintained = s.getPhase1Row();
+        if (maintained == null) {
+            return 0;
+        }
+        int[] baseVars = s.getBaseVars();
+        Fraction[][] table = s.getTable();
+        Fraction[] sums = new Fraction[numColumns];
+        Arrays.fill(sums, Fraction.ZERO);
+        for (int i = 0; i < baseVars.length; i++) {
+            if (baseVars[i] >= numColumns) {
+                for (int j = 0; j < numColumns; j++) {
+                    sums[j] = sums[j].add(table[i][j]);
+                }
+            }
+        }
+        Assert.assertArrayEquals(message + ": getPhase1Row", sums, maintained);
+        return 1;
+    }
+
+    @Test
+    public void get_value() {
+        for (TableauStorage storage : TableauStorage.values()) {
+            for (boolean compact : new boolean[] {false, true}) {
+                SimplexOptions options = new SimplexOptions().setTableauStorage(storage)
+                        .setCompactArtificialVariables(compact);
+                for (LinearProgram lp : examples()) {
+                    int n = lp.getObjectiveTerm().length;
+                    int m = lp.getRestrictions().length;
+                    SimplexSolver s = new SimplexSolver(lp, options);
+                    assertValues(s, n + m);
+                    SimplexState state = s.getState();
+                    while (state != SimplexState.OPTIMAL && state != SimplexState.UNSOLVABLE) {
+                        state = s.step();
+                        assertValues(s, n + m);
+                    }
+                    Assert.assertEquals("Beispiele sind lösbar", SimplexState.OPTIMAL, state);
+                    Fraction[] solution = s.getSolution();
+                    for (int j = 0; j < n; j++) {
+                        Assert.assertEquals("getValue", solution[j], s.getValue(j));
+                    }
+
+                    // Zuordnung nach Warmstart und angehängter Zeile mit eigener Schlupfvariable
+                    SimplexSolver warm = new SimplexSolver(lp, options, s.getBaseVars().clone());
+                    assertValues(warm, n + m);
+                    s.addRestriction(r(fs(f(1), f(0)), Type.LE, solution[0]));
+                    assertValues(s, n + m + 1);
+                }
+            }
+        }
+    }
+
+    /**
+     * Vergleicht getValue für alle Entscheidungs- und Schlupfvariablen mit der Suche in den
+     * Basisvariablen.
+     *
+     * @param columns Anzahl der Entscheidungs- und Schlupfvariablen
+     */
+    private static void assertValues(SimplexSolver s, int columns) {
+        int[] baseVars = s.getBaseVars();
+        Fraction[][] table = s.getTable();
+        for (int col = 0; col < columns; col++) {
+            Fraction expected = Fraction.ZERO;
+            for (int i = 0; i < baseVars.length; i++) {
+                if (baseVars[i] == col) {
+                    expected = table[i][table[i].length - 1];
+                }
+            }
+            Assert.assertEquals("getValue(" + col + ")", expected, s.getValue(col));
+        }
+    }
+
+    @Test
+    public void bland_degenerate() {
+        // degeneriertes Beispiel von Beale, an dem die Regel von Dantzig zyklisch werden kann
+        SimplexSolver s = new SimplexSolver(beale(),
+                new SimplexOptions().setPivotStrategy(PivotStrategy.BLAND));
+        Assert.assertArrayEquals("getSolution", fs(f(1), f(0), f(1), f(0), f(5, 4)),
+                s.getSolution());
+    }
+
+    @Test
+    public void dual_simplex() {
+        for (LinearProgram lp : examples()) {
+            Fraction[] expected = new SimplexSolver(lp).getSolution();
+            Fraction[] actual =
+                    new SimplexSolver(lp, new SimplexOptions().setDualSimplex(true)).getSolution();
+            Assert.assertEquals("Zielwert", expected[expected.length - 1],
+                    actual[actual.length - 1]);
+        }
+
+        // (1) x + 2y >= 4, (2) 3x + 2y >= 3, 2x + 5y = MIN ist von Beginn an dual zulässig
+        SimplexSolver s = new SimplexSolver(examples()[3],
+                new SimplexOptions().setDualSimplex(true));
+        Assert.assertEquals("getState", SimplexState.INVALID_SOLUTION, s.getState());
+        Assert.assertArrayEquals("getBaseVars", ints(2, 3), s.getBaseVars());
+        Assert.assertArrayEquals("getSolution", fs(f(4), f(0), f(8)), s.getSolution());
+        Assert.assertEquals("getIterationCount", 1, s.getIterationCount());
+    }
+
+    @Test
+    public void dual_simplex_negative_rhs() {
+        // (1) -x - y <= -2, (2) x <= 5, x + y = MIN: dual zulässig
+        LinearProgram lp = new LinearProgram(
+                rs(r(fs(f(-1), f(-1)), Type.LE, f(-2)), r(fs(f(1), f(0)), Type.LE, f(5))),
+                SolveType.MIN, f(1), f(1));
+        Fraction[] solution =
+                new SimplexSolver(lp, new SimplexOptions().setDualSimplex(true)).getSolution();
+        Assert.assertEquals("Zielwert", f(2), solution[solution.length - 1]);
+
+        // (1) -x <= -1, (2) x + y <= 4, x + y = MAX: nicht dual zulässig, (1) wird negiert
+        lp = new LinearProgram(
+                rs(r(fs(f(-1), f(0)), Type.LE, f(-1)), r(fs(f(1), f(1)), Type.LE, f(4))),
+                SolveType.MAX, f(1), f(1));
+        solution =
+                new SimplexSolver(lp, new SimplexOptions().setDualSimplex(true)).getSolution();
+        Assert.assertEquals("Zielwert", f(4), solution[solution.length - 1]);
+    }
+
+    @Test
+    public void compact_artificial_variables() {
+        SimplexOptions options = new SimplexOptions().setCompactArtificialVariables(true);
+        for (LinearProgram lp : examples()) {
+            Assert.assertArrayEquals("getSolution", new SimplexSolver(lp).getSolution(),
+                    new SimplexSolver(lp, options).getSolution());
+        }
+
+        // Beispiel 1 (<=, >=, =): künstliche Variablen nur für (2) und (3)
+        LinearProgram lp = examples()[0];
+        SimplexSolver s = new SimplexSolver(lp, options);
+        Assert.assertEquals("Breite", 2 + 3 + 2 + 1, s.getTable()[0].length);
+        Assert.assertArrayEquals("getBaseVars", ints(2, 5, 6), s.getBaseVars());
+        Assert.assertEquals("solve", SimplexState.OPTIMAL, s.solve());
+        Assert.assertEquals("Breite nach Phase 1", 2 + 3 + 1, s.getTable()[0].length);
+
+        // Beispiel 2 (nur <=): keine künstlichen Variablen
+        s = new SimplexSolver(examples()[1], options);
+        Assert.assertEquals("Breite", 2 + 2 + 1, s.getTable()[0].length);
+
+        // neue rechte Seiten nach dem Entfernen: Neustart im Ausgangstableau
+        s = new SimplexSolver(lp, options);
+        s.solve();
+        s.setRightSides(f(320), f(100), f(300));
+        Assert.assertArrayEquals("setRightSides", new SimplexSolver(new LinearProgram(
+                rs(r(fs(f(4), f(3)), Type.LE, f(320)), r(fs(f(2), f(4)), Type.GE, f(100)),
+                        r(fs(f(3), f(3)), Type.EQ, f(300))),
+                SolveType.MIN, f(2), f(8))).getSolution(), s.getSolution());
+    }
+
+    @Test
+    public void statistics() {
+        LinearProgram lp = examples()[0];
+        Assert.assertNull("ohne Messwerte", new SimplexSolver(lp).getStatistics());
+
+        final int[] calls = new int[1];
+        SimplexSolver s = new SimplexSolver(lp, new SimplexOptions().setListener(
+                new SimplexListener() {
+                    @Override
+                    public void stepPerformed(SimplexSolver solver,
+                            SimplexStatistics statistics) {
+                        calls[0]++;
+                    }
+                }));
+        Assert.assertEquals("solve", SimplexState.OPTIMAL, s.solve());
+        SimplexStatistics statistics = s.getStatistics();
+        Assert.assertEquals("Listener", calls[0], statistics.getStepCount());
+        // der letzte Schritt stellt nur die Optimalität fest
+        Assert.assertEquals("getStepCount", s.getIterationCount() + 1, statistics.getStepCount());
+        Assert.assertEquals("Iterationen", s.getIterationCount(),
+                statistics.getPhase1Iterations() + statistics.getPhase2Iterations());
+        Assert.assertTrue("Phase 1", statistics.getPhase1Iterations() > 0);
+        Assert.assertTrue("Bits", statistics.getMaxNumeratorBits() >= 9);
+        Assert.assertTrue("Dichte",
+                statistics.getDensity() > 0 && statistics.getDensity() <= 1);
+        Assert.assertTrue("Dauer", statistics.getTotalStepNanos() >= statistics.getMaxStepNanos());
+
+        // Beispiel von Beale: alle rechten Seiten außer einer sind 0
+        s = new SimplexSolver(new LinearProgram(
+                rs(r(fs(f(1, 4), f(-8), f(-1), f(9)), Type.LE, f(0)),
+                        r(fs(f(1, 2), f(-12), f(-1, 2), f(3)), Type.LE, f(0)),
+                        r(fs(f(0), f(0), f(1), f(0)), Type.LE, f(1))),
+                SolveType.MAX, f(3, 4), f(-20), f(1, 2), f(-6)), new SimplexOptions()
+                        .setPivotStrategy(PivotStrategy.BLAND).setCollectStatistics(true));
+        s.solve();
+        Assert.assertTrue("getDegeneratePivots", s.getStatistics().getDegeneratePivots() > 0);
+
+        s = new SimplexSolver(examples()[3],
+                new SimplexOptions().setDualSimplex(true).setCollectStatistics(true));
+        s.solve();
+        Assert.assertEquals("getDualIterations", 1, s.getStatistics().getDualIterations());
+    }
+
+    /** Prüft, ob zwei Automaten dasselbe Tableau abbilden */
+    private static void assertSameTableau(SimplexSolver expected, SimplexSolver actual) {
+        Assert.assertEquals("getState", expected.getState(), actual.getState());
+        Assert.assertArrayEquals("getBaseVars", expected.getBaseVars(), actual.getBaseVars());
+        Assert.assertArrayEquals("getTable", expected.getTable(), actual.getTable());
+    }
+
+    /** Löst das LOP aus Beispiel 1 schrittweise mit der übergebenen Speicherart */
+    private static void assertSameSteps(TableauStorage storage) {
+        LinearProgram lp = new LinearProgram(rs(r(fs(f(4), f(3)), Type.LE, f(320)),
+                r(fs(f(2), f(4)), Type.GE, f(100)), r(fs(f(3), f(3)), Type.EQ, f(270))),
+                SolveType.MIN, f(2), f(8));
+        SimplexSolver expected = new SimplexSolver(lp,
+                new SimplexOptions().setTableauStorage(TableauStorage.FRACTION));
+        SimplexSolver actual = new SimplexSolver(lp,
+                new SimplexOptions().setTableauStorage(storage));
+
+        assertSameTableau(expected, actual);
+        while (!SimplexState.OPTIMAL.equals(expected.getState())) {
+            Assert.assertEquals("step", expected.step(), actual.step());
+            assertSameTableau(expected, actual);
+        }
+
+        Assert.assertArrayEquals("getSolution", fs(f(50), f(40), f(420)), actual.getSolution());
+    }
+
 }
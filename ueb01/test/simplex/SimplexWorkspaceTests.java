@@ -0,0 +1,67 @@
+package simplex;
+
+import static simplex.TestUtils.examples;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import simplex.SimplexOptions.TableauStorage;
+
+/**
+ * Tests für das Wiederverwenden von Tableau und Arrays über mehrere LOPs
+ *
+ * @author Cedric Heinrich, Clemens Heinrich
+ *
+ */
+public class SimplexWorkspaceTests {
+
+    @Test
+    public void matches_fresh_solver() {
+        // absteigend und wieder aufsteigend sortiert, sodass kleinere und größere LOPs folgen
+        List<LinearProgram> lps = new ArrayList<>();
+        Collections.addAll(lps, examples());
+        List<LinearProgram> reversed = new ArrayList<>(lps);
+        Collections.reverse(reversed);
+        lps.addAll(reversed);
+        lps.addAll(reversed);
+
+        for (TableauStorage storage : TableauStorage.values()) {
+            for (boolean compact : new boolean[] {false, true}) {
+                SimplexOptions options = new SimplexOptions().setTableauStorage(storage)
+                        .setCompactArtificialVariables(compact).setDualSimplex(compact);
+                SimplexWorkspace workspace = new SimplexWorkspace(options);
+                for (LinearProgram lp : lps) {
+                    SimplexSolver expected = new SimplexSolver(lp, options);
+                    SimplexSolver solver = workspace.load(lp);
+                    Assert.assertEquals(storage + ": getState", expected.getState(),
+                            solver.getState());
+                    Assert.assertArrayEquals(storage + ": getTable", expected.getTable(),
+                            solver.getTable());
+                    Assert.assertArrayEquals(storage + ": getSolution", expected.getSolution(),
+                            solver.getSolution());
+                    Assert.assertEquals(storage + ": getIterationCount",
+                            expected.getIterationCount(), solver.getIterationCount());
+                    Assert.assertArrayEquals(storage + ": getBaseVars", expected.getBaseVars(),
+                            solver.getBaseVars());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void reuses_arrays() {
+        LinearProgram lp = examples()[0];
+        SimplexWorkspace workspace = new SimplexWorkspace(
+                new SimplexOptions().setTableauStorage(TableauStorage.PRIMITIVE));
+        int[] baseVars = workspace.load(lp).getBaseVars();
+        SimplexSolver solver = workspace.load(lp);
+        Assert.assertSame("getBaseVars", baseVars, solver.getBaseVars());
+        Assert.assertArrayEquals("getSolution", new SimplexSolver(lp).getSolution(),
+                solver.getSolution());
+    }
+
+}
@@ -0,0 +1,105 @@
+package simplex;
+
+import static simplex.TestUtils.f;
+import static simplex.TestUtils.fs;
+import static simplex.TestUtils.fss;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests für die Speicherarten des Simplex-Tableaus
+ * 
+ * @author Cedric Heinrich, Clemens Heinrich
+ *
+ */
+public class TableauTests {
+
+    @Test
+    public void primitive_overflow_matches_fraction() {
+        Fraction[][] cells = fss(fs(f(2), f(Long.MAX_VALUE, 3), f(1, Long.MAX_VALUE)),
+                fs(f(Long.MAX_VALUE), f(Long.MAX_VALUE - 1), f(5, 7)),
+                fs(f(-3, 4), f(Long.MIN_VALUE), f(1)));
+        Tableau expected = fill(new FractionTableau(3, 3), cells);
+        Tableau actual = fill(new PrimitiveTableau(3, 3), cells);
+
+        expected.scaleRow(0, 0);
+        actual.scaleRow(0, 0);
+        Assert.assertArrayEquals("scaleRow", expected.toFractions(), actual.toFractions());
+
+        expected.reduceRows(0, 0);
+        actual.reduceRows(0, 0);
+        Assert.assertArrayEquals("reduceRows", expected.toFractions(), actual.toFractions());
+
+        expected.scaleRow(2, 1);
+        actual.scaleRow(2, 1);
+        expected.reduceRows(2, 1);
+        actual.reduceRows(2, 1);
+        Assert.assertArrayEquals("zweiter Pivotschritt", expected.toFractions(),
+                actual.toFractions());
+    }
+
+    @Test
+    public void sparse_matches_fraction() {
+        Fraction[][] cells = fss(fs(f(2), f(0), f(1, 3), f(0), f(4)),
+                fs(f(0), f(5), f(0), f(0), f(0)), fs(f(-1), f(0), f(0), f(7, 2), f(1)),
+                fs(f(3), f(1), f(0), f(0), f(0)));
+        Tableau expected = fill(new FractionTableau(4, 5), cells);
+        Tableau actual = fill(new SparseTableau(4, 5), cells);
+
+        expected.scaleRow(0, 0);
+        actual.scaleRow(0, 0);
+        expected.reduceRows(0, 0);
+        actual.reduceRows(0, 0);
+        Assert.assertArrayEquals("reduceRows", expected.toFractions(), actual.toFractions());
+
+        for (int i = 0; i < 4; i++) {
+            for (int j = 0; j < 5; j++) {
+                Assert.assertEquals("nextNonZero", expected.nextNonZero(i, j),
+                        actual.nextNonZero(i, j));
+                Assert.assertEquals("isZero", expected.isZero(i, j), actual.isZero(i, j));
+            }
+        }
+
+        actual.setEntry(1, 1, Fraction.ZERO);
+        actual.setEntry(1, 4, f(2));
+        actual.setEntry(1, 0, f(3));
+        Assert.assertArrayEquals("setEntry", fs(f(3), f(0), f(0), f(0), f(2)),
+                actual.toFractions()[1]);
+    }
+
+    @Test
+    public void reshape() {
+        Fraction[][] large = fss(fs(f(1), f(2), f(3)), fs(f(4), f(5), f(6)), fs(f(7), f(8), f(9)));
+        Fraction[][] small = fss(fs(f(2), f(0)), fs(f(1), f(3, 2)));
+        Tableau expected = fill(new FractionTableau(2, 2), small);
+        expected.scaleRow(0, 0);
+        expected.reduceRows(0, 0);
+        Tableau[] tableaus = { new FractionTableau(3, 3), new PrimitiveTableau(3, 3),
+            new SparseTableau(3, 3) };
+        for (Tableau tableau : tableaus) {
+            fill(tableau, large);
+            Assert.assertFalse("Kapazität", tableau.reshape(4, 3));
+            Assert.assertTrue("reshape", tableau.reshape(2, 2));
+            fill(tableau, small);
+            Assert.assertEquals("getHeight", 2, tableau.getHeight());
+            Assert.assertEquals("getWidth", 2, tableau.getWidth());
+            Assert.assertEquals("nextNonZero", 2, tableau.nextNonZero(0, 1));
+            tableau.scaleRow(0, 0);
+            tableau.reduceRows(0, 0);
+            Assert.assertArrayEquals("toFractions", expected.toFractions(),
+                    tableau.toFractions());
+        }
+    }
+
+    /** Belegt alle Zellen des Tableaus mit den übergebenen Werten */
+    private static Tableau fill(Tableau tableau, Fraction[][] cells) {
+        for (int i = 0; i < cells.length; i++) {
+            for (int j = 0; j < cells[i].length; j++) {
+                tableau.setEntry(i, j, cells[i][j]);
+            }
+        }
+        return tableau;
+    }
+
+}
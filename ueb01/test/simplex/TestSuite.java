@@ -4,7 +4,10 @@ import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 
 /* Angabe der Test-Klassen die zu dieser Test-Suite gehören sollen: */
-@Suite.SuiteClasses({ FractionTests.class, SimplexTests.class })
+@Suite.SuiteClasses({ FractionTests.class, SimplexTests.class, TableauTests.class,
+    DoubleSimplexTests.class, RevisedSimplexTests.class, ReoptimizationTests.class,
+    PresolverTests.class, SimplexBatchSolverTests.class, SimplexWorkspaceTests.class,
+    MpsReaderTests.class, BranchAndBoundTests.class, SensitivityAnalysisTests.class })
 /* Tests über eine Test-Suite ausführen */
 @RunWith(Suite.class)
 /* Die eigentliche Test-Suite-Klasse für JUnit */
@@ -2,6 +2,7 @@ package simplex;
 
 import simplex.LinearProgram.Restriction;
 import simplex.LinearProgram.Restriction.Type;
+import simplex.LinearProgram.SolveType;
 
 class TestUtils {
 
@@ -44,4 +45,36 @@ class TestUtils {
         return ints;
     }
 
+    /** Hilfsmethode mit dem degenerierten LOP von Beale */
+    static LinearProgram beale() {
+        return new LinearProgram(
+                rs(r(fs(f(1, 4), f(-8), f(-1), f(9)), Type.LE, f(0)),
+                        r(fs(f(1, 2), f(-12), f(-1, 2), f(3)), Type.LE, f(0)),
+                        r(fs(f(0), f(0), f(1), f(0)), Type.LE, f(1))),
+                SolveType.MAX, f(3, 4), f(-20), f(1, 2), f(-6));
+    }
+
+    /** Hilfsmethode mit den LOPs aus SimplexTests als gemeinsame Beispiele */
+    static LinearProgram[] examples() {
+        return new LinearProgram[] {
+            new LinearProgram(rs(r(fs(f(4), f(3)), Type.LE, f(320)),
+                    r(fs(f(2), f(4)), Type.GE, f(100)), r(fs(f(3), f(3)), Type.EQ, f(270))),
+                    SolveType.MIN, f(2), f(8)),
+            new LinearProgram(
+                    rs(r(fs(f(1), f(1)), Type.LE, f(4)), r(fs(f(2), f(1)), Type.LE, f(5))),
+                    SolveType.MAX, f(3), f(4)),
+            new LinearProgram(
+                    rs(r(fs(f(1), f(2)), Type.LE, f(6)), r(fs(f(3), f(2)), Type.LE, f(12))),
+                    SolveType.MIN, f(-2), f(1)),
+            new LinearProgram(
+                    rs(r(fs(f(1), f(2)), Type.GE, f(4)), r(fs(f(3), f(2)), Type.GE, f(3))),
+                    SolveType.MIN, f(2), f(5)),
+            new LinearProgram(rs(r(fs(f(1), f(1)), Type.LE, f(3)),
+                    r(fs(f(1), f(1)), Type.LE, f(2)), r(fs(f(1), f(-1)), Type.GE, f(1))),
+                    SolveType.MAX, f(1), f(1)),
+            new LinearProgram(rs(r(fs(f(1), f(1)), Type.LE, f(6)),
+                    r(fs(f(3), f(1)), Type.LE, f(15)), r(fs(f(1), f(3)), Type.LE, f(15))),
+                    SolveType.MAX, f(1, 2), f(3, 2)) };
+    }
+
 }